@@ -0,0 +1,153 @@
+package com.safetynet.alerts.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.safetynet.alerts.AlertsApplication;
+import com.safetynet.alerts.web.serialization.Serialization;
+import com.safetynet.alerts.web.service.FirestationService;
+import com.safetynet.alerts.web.service.HouseHoldService;
+import com.safetynet.alerts.web.service.MedicalRecordService;
+import com.safetynet.alerts.web.service.PersonService;
+import com.safetynet.alerts.web.service.URLSService;
+
+/**
+ * Some javadoc.
+ *
+ * Application started on a synthetic dataset, shared by the benchmarks.
+ *
+ * The dataset has the given number of persons, living by 4 in households, one
+ * in 4 of them being a minor. Each station covers 250 households (1000
+ * persons), with at least 4 stations, and each city 2500 households (10000
+ * persons). The alert cache is disabled, so each query is computed.
+ */
+@State(Scope.Benchmark)
+public class AlertsState {
+  static final int PERSONS_BY_HOUSEHOLD = 4;
+  static final int HOUSEHOLDS_BY_STATION = 250;
+  static final int HOUSEHOLDS_BY_CITY = 2500;
+
+  @Param({ "1000", "100000", "1000000" })
+  public int persons;
+
+  int households;
+  int stations;
+  int cities;
+
+  URLSService urlsService;
+  PersonService personService;
+  FirestationService firestationService;
+  MedicalRecordService medicalRecordService;
+  HouseHoldService houseHoldService;
+  Serialization serialization;
+
+  private Path dataset;
+  private ConfigurableApplicationContext context;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    households = Math.max(1, persons / PERSONS_BY_HOUSEHOLD);
+    stations = Math.max(4, households / HOUSEHOLDS_BY_STATION);
+    cities = Math.max(1, households / HOUSEHOLDS_BY_CITY);
+    dataset = Files.createTempFile("alerts-benchmark-", ".json");
+    writeDataset(dataset);
+
+    SpringApplication application = new SpringApplication(AlertsApplication.class);
+    application.setWebApplicationType(WebApplicationType.NONE);
+    context = application.run("--alerts.data.path=" + dataset, "--alerts.cache.size=0",
+        "--alerts.snapshot.path=", "--alerts.wal.path=");
+    urlsService = context.getBean(URLSService.class);
+    personService = context.getBean(PersonService.class);
+    firestationService = context.getBean(FirestationService.class);
+    medicalRecordService = context.getBean(MedicalRecordService.class);
+    houseHoldService = context.getBean(HouseHoldService.class);
+    serialization = context.getBean(Serialization.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    context.close();
+    Files.deleteIfExists(dataset);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Picks the next value in a cycle, so the queries spread over the dataset.
+   *
+   * @param bound The number of values.
+   * @return A value between 0 and bound (excluded).
+   */
+  int next(int bound) {
+    next = (next + 7919) & Integer.MAX_VALUE;
+    return next % bound;
+  }
+
+  static String firstName(int person) {
+    return "First" + person;
+  }
+
+  static String lastName(int person) {
+    return "Last" + person / PERSONS_BY_HOUSEHOLD;
+  }
+
+  static String address(int household) {
+    return household + " Benchmark St";
+  }
+
+  static String station(int household, int stations) {
+    return Integer.toString(household % stations + 1);
+  }
+
+  static String city(int household, int cities) {
+    return "City" + household % cities;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes the synthetic dataset in the format of data.json.
+   *
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  private void writeDataset(Path path) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writer.write("{\n\"persons\": [\n");
+      for (int person = 0; person < persons; person++) {
+        int household = person / PERSONS_BY_HOUSEHOLD;
+        writer.write((person == 0 ? "" : ",\n") + "{\"firstName\":\"" + firstName(person) + "\", \"lastName\":\""
+            + lastName(person) + "\", \"address\":\"" + address(household) + "\", \"city\":\""
+            + city(household, cities) + "\", \"zip\":\"97451\", \"phone\":\"841-874-" + person % 10000
+            + "\", \"email\":\"" + firstName(person) + "@email.com\"}");
+      }
+      writer.write("\n],\n\"firestations\": [\n");
+      for (int household = 0; household < households; household++) {
+        writer.write((household == 0 ? "" : ",\n") + "{\"address\":\"" + address(household) + "\", \"station\":\""
+            + station(household, stations) + "\"}");
+      }
+      writer.write("\n],\n\"medicalrecords\": [\n");
+      for (int person = 0; person < persons; person++) {
+        String birthdate = person % PERSONS_BY_HOUSEHOLD == 3 ? "03/06/2015" : "03/06/1984";
+        writer.write((person == 0 ? "" : ",\n") + "{\"firstName\":\"" + firstName(person) + "\", \"lastName\":\""
+            + lastName(person) + "\", \"birthdate\":\"" + birthdate
+            + "\", \"medications\":[\"aznol:350mg\", \"hydrapermazol:100mg\"], \"allergies\":[\"nillacilan\"]}");
+      }
+      writer.write("\n]\n}\n");
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.safetynet.alerts.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
+import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+
+/**
+ * Some javadoc.
+ *
+ * Benchmarks the PersonService, FirestationService, MedicalRecordService and
+ * HouseHoldService: a lookup and a change for each of them. The changes leave
+ * the dataset as it was, so every invocation does the same work.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Dtinylog.writer.level=off", "-Dtinylog.writer3.level=off" })
+public class CrudServiceBenchmark {
+
+  @Benchmark
+  public List<Person> getPersonsByCity(AlertsState state) {
+    return state.personService.getPersonsByCity(AlertsState.city(state.next(state.cities), state.cities));
+  }
+
+  @Benchmark
+  public ResponseEntity<String> updatePerson(AlertsState state) {
+    int person = state.next(state.persons);
+    int household = person / AlertsState.PERSONS_BY_HOUSEHOLD;
+    PersonDeserialization update = new PersonDeserialization(0, AlertsState.firstName(person),
+        AlertsState.lastName(person), AlertsState.address(household), AlertsState.city(household, state.cities),
+        "97451", "841-874-" + person % 10000, AlertsState.firstName(person) + "@email.com");
+    return state.personService.updateByFirstAndLastName(AlertsState.firstName(person), AlertsState.lastName(person),
+        update, Endpoint.UPDATE_PERSON_BY_FIRST_AND_LAST_NAME.getMethodName());
+  }
+
+  @Benchmark
+  public ResponseEntity<String> addAndDeletePerson(AlertsState state) {
+    int household = state.next(state.households);
+    PersonDeserialization person = new PersonDeserialization(0, "Benchmark", "Person",
+        AlertsState.address(household), AlertsState.city(household, state.cities), "97451", "841-874-0000",
+        "benchmark@email.com");
+    state.personService.addPerson(person, Endpoint.ADD_PERSON.getMethodName());
+    return state.personService.deleteByFirstAndLastName("Benchmark", "Person",
+        Endpoint.DELETE_BY_FIRST_AND_LAST_NAME.getMethodName());
+  }
+
+  @Benchmark
+  public List<Firestation> getFirestationsByHousehold(AlertsState state) {
+    Household household = state.houseHoldService
+        .getHouseholdByAddress(AlertsState.address(state.next(state.households)));
+    return state.firestationService.getFirestationsByHousehold(household);
+  }
+
+  @Benchmark
+  public ResponseEntity<String> updateStationByAddress(AlertsState state) {
+    int household = state.next(state.households);
+    FirestationDeserialization firestation = new FirestationDeserialization(0, AlertsState.address(household),
+        AlertsState.station(household, state.stations));
+    return state.firestationService.updateStationByAddress(firestation, AlertsState.address(household),
+        Endpoint.UPDATE_STATION_BY_ADDRESS.getMethodName());
+  }
+
+  @Benchmark
+  public List<MedicalRecord> getMedicalRecordsByPersons(AlertsState state) {
+    Household household = state.houseHoldService
+        .getHouseholdByAddress(AlertsState.address(state.next(state.households)));
+    return state.medicalRecordService.getMedicalRecordsByPersons(
+        state.personService.getPersonsByHousehold(household));
+  }
+
+  @Benchmark
+  public ResponseEntity<String> updateMedicalRecord(AlertsState state) {
+    int person = state.next(state.persons);
+    String birthdate = person % AlertsState.PERSONS_BY_HOUSEHOLD == 3 ? "03/06/2015" : "03/06/1984";
+    MedicalRecordDeserialization medicalRecord = new MedicalRecordDeserialization(0, AlertsState.firstName(person),
+        AlertsState.lastName(person), birthdate, List.of("aznol:350mg", "hydrapermazol:100mg"),
+        List.of("nillacilan"));
+    return state.medicalRecordService.updateMedicalRecord(AlertsState.firstName(person),
+        AlertsState.lastName(person), medicalRecord, Endpoint.UPDATE_MEDICAL_RECORD.getMethodName());
+  }
+
+  @Benchmark
+  public Household getHouseholdByAddress(AlertsState state) {
+    return state.houseHoldService.getHouseholdByAddress(AlertsState.address(state.next(state.households)));
+  }
+
+  @Benchmark
+  public List<Household> getHouseholdsByFirestation(AlertsState state) {
+    Firestation firestation = state.firestationService
+        .getFirestationByStation(Integer.toString(state.next(state.stations) + 1));
+    return state.houseHoldService.getHouseholdsByFirestation(firestation);
+  }
+}
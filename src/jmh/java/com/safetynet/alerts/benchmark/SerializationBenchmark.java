@@ -0,0 +1,82 @@
+package com.safetynet.alerts.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.serialization.Serialization;
+import com.safetynet.alerts.web.serialization.model.FireAlert;
+import com.safetynet.alerts.web.serialization.model.FloodAlertByHousehold;
+import com.safetynet.alerts.web.serialization.service.FireService;
+import com.safetynet.alerts.web.serialization.service.FloodService;
+
+/**
+ * Some javadoc.
+ *
+ * Benchmarks the Serialization of the answers of the first station and city
+ * of the dataset, built once: each invocation builds the AlertResponse and
+ * encodes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Dtinylog.writer.level=off", "-Dtinylog.writer3.level=off" })
+public class SerializationBenchmark {
+  private static final String STATION = "1";
+
+  private Serialization serialization;
+  private List<Person> stationPersons;
+  private List<FloodAlertByHousehold> floods;
+  private List<FireAlert> fires;
+  private List<Person> cityPersons;
+  private String city;
+
+  @Setup(Level.Trial)
+  public void setUp(AlertsState state) {
+    serialization = state.serialization;
+    List<Household> households = state.houseHoldService
+        .getHouseholdsByFirestation(state.firestationService.getFirestationByStation(STATION));
+    stationPersons = state.personService.getPersonsByHouseholds(households);
+    List<MedicalRecord> medicalRecords = state.medicalRecordService.getMedicalRecordsByPersons(stationPersons);
+    floods = new FloodService().getFloodAlertByHousehold(stationPersons, medicalRecords, households);
+    fires = new FireService().getFireList(stationPersons, medicalRecords);
+    city = AlertsState.city(0, state.cities);
+    cityPersons = state.personService.getPersonsByCity(city);
+  }
+
+  @Benchmark
+  public byte[] phoneAlertSerialization() {
+    return serialization.phoneAlertSerialization(stationPersons, "benchmark", STATION).getBody().toBytes();
+  }
+
+  @Benchmark
+  public byte[] floodSerialization() {
+    return serialization.floodSerialization(floods, "benchmark", STATION).getBody().toBytes();
+  }
+
+  @Benchmark
+  public byte[] fireSerialization() {
+    return serialization.fireSerialization(fires, STATION, "benchmark", STATION).getBody().toBytes();
+  }
+
+  @Benchmark
+  public byte[] communityEmailSerialization() {
+    return serialization.communityEmailSerialization(cityPersons, "benchmark", city).getBody().toBytes();
+  }
+}
@@ -0,0 +1,73 @@
+package com.safetynet.alerts.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.safetynet.alerts.web.serialization.AlertResponse;
+
+/**
+ * Some javadoc.
+ *
+ * Benchmarks the seven alert queries of the URLSService, computed without
+ * cache. Each answer is encoded, as it would be for the HTTP response.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Dtinylog.writer.level=off", "-Dtinylog.writer3.level=off" })
+public class URLSServiceBenchmark {
+
+  private static byte[] encode(ResponseEntity<AlertResponse> answer) {
+    return answer.getBody() == null ? null : answer.getBody().toBytes();
+  }
+
+  @Benchmark
+  public byte[] personCoveredByFireStation(AlertsState state) {
+    return encode(state.urlsService.personCoveredByFireStation(Integer.toString(state.next(state.stations) + 1)));
+  }
+
+  @Benchmark
+  public byte[] childrenLivingAtThisAddress(AlertsState state) {
+    return encode(state.urlsService.childrenLivingAtThisAddress(AlertsState.address(state.next(state.households))));
+  }
+
+  @Benchmark
+  public byte[] personsPhoneNumbersCoveredByStation(AlertsState state) {
+    return encode(
+        state.urlsService.personsPhoneNumbersCoveredByStation(Integer.toString(state.next(state.stations) + 1)));
+  }
+
+  @Benchmark
+  public byte[] stationAndPersonsByAddress(AlertsState state) {
+    return encode(state.urlsService.stationAndPersonsByAddress(AlertsState.address(state.next(state.households))));
+  }
+
+  @Benchmark
+  public byte[] personsByHouseholdsFromStation(AlertsState state) {
+    int first = state.next(state.stations - 3) + 1;
+    return encode(state.urlsService.personsByHouseholdsFromStation(first + "," + (first + 1) + "," + (first + 2)
+        + "," + (first + 3)));
+  }
+
+  @Benchmark
+  public byte[] personInfoByFirstAndLastName(AlertsState state) {
+    int person = state.next(state.persons);
+    return encode(state.urlsService.personInfoByFirstAndLastName(AlertsState.firstName(person),
+        AlertsState.lastName(person)));
+  }
+
+  @Benchmark
+  public byte[] allResidentsEmailsFromCity(AlertsState state) {
+    return encode(state.urlsService.allResidentsEmailsFromCity(AlertsState.city(state.next(state.cities),
+        state.cities)));
+  }
+}
@@ -1,29 +1,26 @@
 package com.safetynet.alerts;
 
-import java.io.InputStream;
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.tinylog.Logger;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.safetynet.alerts.web.deserialization.Deserialization;
-import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
-import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
-import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
-import com.safetynet.alerts.web.model.Firestation;
-import com.safetynet.alerts.web.model.Household;
-import com.safetynet.alerts.web.model.MedicalRecord;
-import com.safetynet.alerts.web.model.Person;
-import com.safetynet.alerts.web.service.ConvertModelService;
+import com.safetynet.alerts.web.communUtilts.ProcessMemory;
+import com.safetynet.alerts.web.communUtilts.StageTimer;
+import com.safetynet.alerts.web.deserialization.DataSource;
+import com.safetynet.alerts.web.deserialization.StreamingDataLoader;
+import com.safetynet.alerts.web.model.Dataset;
+import com.safetynet.alerts.web.repository.VersionedStore;
 import com.safetynet.alerts.web.service.FirestationService;
 import com.safetynet.alerts.web.service.HouseHoldService;
 import com.safetynet.alerts.web.service.MedicalRecordService;
+import com.safetynet.alerts.web.service.MutationReplayService;
 import com.safetynet.alerts.web.service.PersonService;
+import com.safetynet.alerts.web.service.SnapshotService;
 
 /**
  * Some javadoc.
@@ -31,8 +28,10 @@ import com.safetynet.alerts.web.service.PersonService;
  * Main class of the Safetynet Alerts application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class AlertsApplication {
-	private ConvertModelService convertModel = new ConvertModelService();
+	@Value("${alerts.data.path:}")
+	private String dataPath;
 
 	@Autowired
 	PersonService personService;
@@ -46,6 +45,15 @@ public class AlertsApplication {
 	@Autowired
 	HouseHoldService houseHoldService;
 
+	@Autowired
+	SnapshotService snapshotService;
+
+	@Autowired
+	MutationReplayService mutationReplayService;
+
+	@Autowired
+	VersionedStore versionedStore;
+
 	public static void main(String[] args) {
 		SpringApplication.run(AlertsApplication.class, args);
 	}
@@ -53,31 +61,54 @@ public class AlertsApplication {
 	@Bean
 	CommandLineRunner runner() {
 		return args -> {
-			ObjectMapper objectMapper = new ObjectMapper();
-			InputStream jsonPath = TypeReference.class.getResourceAsStream("/data.json");
-			Deserialization modelWrapper = objectMapper.readValue(jsonPath, Deserialization.class);
+			StageTimer startupTimer = new StageTimer("Startup");
 			try {
-				// Deserialization :
-				List<PersonDeserialization> personsDeserialization = modelWrapper.getPersons();
-				List<FirestationDeserialization> firestationsDeserialization = modelWrapper.getFirestations();
-				List<MedicalRecordDeserialization> medicalrecordsDeserialization = modelWrapper.getMedicalrecords();
-
-				// Convert model :
-				List<Household> households = convertModel.getHouseholds(personsDeserialization, firestationsDeserialization);
-				List<Firestation> firestations = convertModel.getFirestations(firestationsDeserialization, households);
-				List<Person> persons = convertModel.getPersons(personsDeserialization, households);
-				List<MedicalRecord> medicalRecords = convertModel.getMedicalRecords(medicalrecordsDeserialization, persons);
+				// Restore the snapshot, or deserialization and convert model :
+				DataSource dataSource = new DataSource(dataPath);
+				String fingerprint = dataSource.getFingerprint();
+				Dataset dataset = snapshotService.restore(fingerprint);
+				boolean restored = dataset != null;
+				if (restored) {
+					startupTimer.stage("restore the snapshot");
+				} else {
+					startupTimer.stage("look up the snapshot");
+					StreamingDataLoader dataLoader = new StreamingDataLoader(startupTimer);
+					dataSource.loadInto(dataLoader);
+					dataset = dataLoader.getDataset();
+					startupTimer.stage("join the firestations to their households");
+					Logger.info("Startup - dataset read : " + dataSource.getBytesRead() + " bytes.");
+				}
 
 				// Get data in memory :
-				personService.setPersons(persons);
-				medicalRecordService.setMedicalRecords(medicalRecords);
-				firestationService.setFirestations(firestations);
-				houseHoldService.setHouseholds(households);
+				Dataset loadedDataset = dataset;
+				versionedStore.write(() -> {
+					personService.setPersons(loadedDataset.getPersons(), loadedDataset.getLastPersonId());
+					medicalRecordService.setMedicalRecords(loadedDataset.getMedicalRecords(),
+							loadedDataset.getLastMedicalRecordId());
+					firestationService.setFirestations(loadedDataset.getFirestations(),
+							loadedDataset.getLastFirestationId());
+					houseHoldService.setHouseholds(loadedDataset.getHouseholds(), loadedDataset.getLastHouseholdId());
+				});
+				startupTimer.stage("index data in memory");
+
+				// Replay the mutations made since the loaded data :
+				int replayed = mutationReplayService.replayAndOpen(dataset.getLastSequence());
+				startupTimer.stage("replay the mutation log (" + replayed + " mutations)");
+
+				boolean upToDate = restored && replayed == 0;
+				snapshotService.start(fingerprint, upToDate);
+				if (!upToDate && snapshotService.isEnabled()) {
+					startupTimer.stage("write the snapshot");
+				}
 
 			} catch (Exception e) {
-				System.out.println("Unable to start application : " + e.getMessage());
+				// The data would be missing or not logged, so the application must not start :
+				Logger.error(e, "Unable to start application : " + e.getMessage());
+				throw e;
 			}
+			startupTimer.report();
+			Logger.info("Startup - peak RSS : " + ProcessMemory.getPeakResidentSetSize() / (1024 * 1024) + " MB.");
 			System.out.println("Application started: ");
 		};
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Some javadoc.
+ *
+ * Provides the current date, computed once per day and cached until midnight,
+ * with the epoch day from which a person born after it is considered as a
+ * minor.
+ *
+ * The clock can be replaced to pin the current date, for example in the tests.
+ */
+public final class CurrentDate {
+  public static final int MINOR_MAX_AGE = 18;
+
+  private static volatile Clock clock = Clock.systemDefaultZone();
+  private static volatile Day day;
+
+  private CurrentDate() {
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * The cached values of one day.
+   */
+  private static final class Day {
+    private final LocalDate date;
+    private final long minorsBirthdateEpochDay;
+    private final long validUntilMillis;
+
+    private Day(LocalDate date, ZoneId zone) {
+      this.date = date;
+      this.minorsBirthdateEpochDay = date.minusYears(MINOR_MAX_AGE + 1).toEpochDay();
+      this.validUntilMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the cached values of the current day, and computes them again when
+   * the day has changed.
+   *
+   * @return The values of the current day.
+   */
+  private static Day getDay() {
+    Clock currentClock = clock;
+    Day currentDay = day;
+    if (currentDay == null || currentClock.millis() >= currentDay.validUntilMillis) {
+      currentDay = new Day(LocalDate.now(currentClock), currentClock.getZone());
+      day = currentDay;
+    }
+    return currentDay;
+  }
+
+  public static LocalDate today() {
+    return getDay().date;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the epoch day of the birthdate from which a person is a minor: a
+   * person born after this day is at most MINOR_MAX_AGE years old.
+   *
+   * @return The epoch day of the minors birthdate limit.
+   */
+  public static long getMinorsBirthdateEpochDay() {
+    return getDay().minorsBirthdateEpochDay;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Replaces the clock giving the current date and clears the cached day.
+   *
+   * @param newClock The new clock.
+   */
+  public static void setClock(Clock newClock) {
+    clock = newClock;
+    day = null;
+  }
+}
@@ -8,6 +8,8 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 
+import com.safetynet.alerts.web.model.MedicalRecord;
+
 /**
  * Some javadoc.
  * 
@@ -15,6 +17,14 @@ import java.time.format.DateTimeFormatter;
  * strings.
  */
 public class DataManipulationUtils {
+  private static final DateTimeFormatter BIRTHDATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+  /**
+   * Some javadoc.
+   * 
+   * Age of a person whose birthdate is unknown.
+   */
+  public static final int UNKNOWN_AGE = -1;
 
   /**
    * Some javadoc.
@@ -73,6 +83,17 @@ public class DataManipulationUtils {
         .toLowerCase();
   }
 
+  /**
+   * Some javadoc.
+   * Converts a birthdate string in the format "MM/dd/yyyy" to its epoch day.
+   *
+   * @param birthdate The birthdate string to convert.
+   * @return The number of days from 01/01/1970 to the birthdate.
+   */
+  public static long convertBirthdateToEpochDay(String birthdate) {
+    return LocalDate.parse(birthdate, BIRTHDATE_FORMATTER).toEpochDay();
+  }
+
   /**
    * Some javadoc.
    * Converts a birthdate string in the format "MM/dd/yyyy" to the age in years.
@@ -81,10 +102,47 @@ public class DataManipulationUtils {
    * @return The age in years calculated from the birthdate.
    */
   public int convertBirthdateToAge(String birthdate) {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-    LocalDate dateOfBirth = LocalDate.parse(birthdate, formatter);
-    LocalDate currentDate = LocalDate.now();
-    return Period.between(dateOfBirth, currentDate).getYears();
+    return convertEpochDayToAge(convertBirthdateToEpochDay(birthdate));
+  }
+
+  /**
+   * Some javadoc.
+   * Converts a birthdate epoch day to the age in years at the current date.
+   *
+   * @param birthdateEpochDay The epoch day of the birthdate.
+   * @return The age in years calculated from the birthdate, or UNKNOWN_AGE if
+   *         the birthdate is unknown.
+   */
+  public int convertEpochDayToAge(long birthdateEpochDay) {
+    if (birthdateEpochDay == MedicalRecord.UNKNOWN_BIRTHDATE) {
+      return UNKNOWN_AGE;
+    }
+    return Period.between(LocalDate.ofEpochDay(birthdateEpochDay), CurrentDate.today()).getYears();
+  }
+
+  /**
+   * Some javadoc.
+   * Checks if a person born at this epoch day is a minor at the current date.
+   *
+   * @param birthdateEpochDay The epoch day of the birthdate.
+   * @return true if the person is a minor, false otherwise or if the birthdate
+   *         is unknown.
+   */
+  public boolean isMinor(long birthdateEpochDay) {
+    return birthdateEpochDay > CurrentDate.getMinorsBirthdateEpochDay();
+  }
+
+  /**
+   * Some javadoc.
+   * Checks if a person born at this epoch day is an adult at the current date.
+   *
+   * @param birthdateEpochDay The epoch day of the birthdate.
+   * @return true if the person is an adult, false otherwise or if the birthdate
+   *         is unknown.
+   */
+  public boolean isAdult(long birthdateEpochDay) {
+    return birthdateEpochDay != MedicalRecord.UNKNOWN_BIRTHDATE
+        && birthdateEpochDay <= CurrentDate.getMinorsBirthdateEpochDay();
   }
 
   /**
@@ -156,15 +214,4 @@ public class DataManipulationUtils {
     }
     return false;
   }
-
-  /**
-   * Some javadoc.
-   * Retrieves the name of the current method being executed.
-   *
-   * @return The name of the current method.
-   */
-  public static String getCurrentMethodName() {
-    StackTraceElement stackTraceElement = Thread.currentThread().getStackTrace()[2];
-    return stackTraceElement.getMethodName();
-  }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Some javadoc.
+ *
+ * InputStream reading a file through memory-mapped regions of a FileChannel.
+ * The bytes are copied from the page cache without a read system call per
+ * buffer, and files larger than 2 GB are mapped region by region.
+ */
+public class MappedFileInputStream extends InputStream {
+  public static final long DEFAULT_REGION_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long regionSize;
+  private long mappedPosition;
+  private MappedByteBuffer region;
+
+  public MappedFileInputStream(Path path) throws IOException {
+    this(path, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Opens a file to read it through mapped regions of a given size.
+   *
+   * @param path       The path of the file.
+   * @param regionSize The maximum size of a mapped region, in bytes.
+   * @throws IOException If the file cannot be opened.
+   */
+  public MappedFileInputStream(Path path, long regionSize) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.regionSize = Math.min(regionSize, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Maps the next region of the file when the current one has been read.
+   *
+   * @return false if the whole file has been read.
+   * @throws IOException If the region cannot be mapped.
+   */
+  private boolean nextRegion() throws IOException {
+    if (region != null && region.hasRemaining()) {
+      return true;
+    }
+    if (mappedPosition >= size) {
+      return false;
+    }
+    long length = Math.min(regionSize, size - mappedPosition);
+    region = channel.map(FileChannel.MapMode.READ_ONLY, mappedPosition, length);
+    mappedPosition += length;
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextRegion()) {
+      return -1;
+    }
+    return region.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextRegion()) {
+      return -1;
+    }
+    int count = Math.min(length, region.remaining());
+    region.get(buffer, offset, count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    long remaining = size - mappedPosition + (region == null ? 0 : region.remaining());
+    return (int) Math.min(remaining, Integer.MAX_VALUE);
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public void close() throws IOException {
+    region = null;
+    channel.close();
+  }
+}
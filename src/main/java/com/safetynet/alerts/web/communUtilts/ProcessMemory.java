@@ -0,0 +1,42 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Some javadoc.
+ *
+ * Reads the memory used by the running process.
+ */
+public class ProcessMemory {
+  private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+  private ProcessMemory() {
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the peak resident set size of the process, from /proc on Linux.
+   * On other systems, falls back to the memory currently used by the Java heap.
+   *
+   * @return The peak resident set size in bytes.
+   */
+  public static long getPeakResidentSetSize() {
+    try {
+      List<String> lines = Files.readAllLines(PROC_STATUS);
+      for (String line : lines) {
+        if (line.startsWith("VmHWM:")) {
+          String kilobytes = line.substring("VmHWM:".length()).replace("kB", "").trim();
+          return Long.parseLong(kilobytes) * 1024;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // No /proc file system, use the Java heap below.
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,96 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import java.util.Arrays;
+
+/**
+ * Some javadoc.
+ *
+ * Measures the duration of the stages of a request on the thread handling it.
+ * Each stage is identified by an index, and its duration is the time elapsed
+ * since the end of the previous stage, so the stages always add up to the
+ * duration of the request.
+ *
+ * A trace is kept by its thread and reused from one request to the next, so
+ * tracing a request allocates nothing. Outside of a request, the stages are
+ * ignored.
+ *
+ * The stages of tasks run in parallel for the request are traced on their own
+ * threads and merged into it. They are then summed over the tasks, so they can
+ * add up to more than the duration of the request.
+ */
+public class RequestTrace {
+  private final long[] durations;
+  private long mark;
+  private boolean active;
+
+  public RequestTrace(int stages) {
+    this.durations = new long[stages];
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Starts tracing a request.
+   */
+  public void begin() {
+    Arrays.fill(durations, 0);
+    active = true;
+    mark = System.nanoTime();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends the current stage of the traced request.
+   *
+   * @param stage The index of the ended stage.
+   */
+  public void stage(int stage) {
+    if (!active) {
+      return;
+    }
+    long now = System.nanoTime();
+    durations[stage] += now - mark;
+    mark = now;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends tracing a request. Its durations are kept until the next one begins.
+   */
+  public void end() {
+    active = false;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Adds the stages of a task run for the traced request on another thread. The
+   * tasks of a request may end at the same time, so their merges are
+   * serialized.
+   *
+   * @param task The trace of the task.
+   */
+  public synchronized void merge(RequestTrace task) {
+    for (int stage = 0; stage < durations.length; stage++) {
+      durations[stage] += task.durations[stage];
+    }
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the duration of a stage of the last traced request.
+   *
+   * @param stage The index of the stage.
+   * @return The duration in nanoseconds.
+   */
+  public long getDuration(int stage) {
+    return durations[stage];
+  }
+}
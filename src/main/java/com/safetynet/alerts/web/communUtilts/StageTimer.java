@@ -0,0 +1,69 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.tinylog.Logger;
+
+/**
+ * Some javadoc.
+ *
+ * Measures the duration of the successive stages of a process, such as the
+ * application startup, and logs them as a report.
+ */
+public class StageTimer {
+  private final String processName;
+  private final Map<String, Long> durations = new LinkedHashMap<>();
+  private final long startTime;
+  private long stageStartTime;
+
+  public StageTimer(String processName) {
+    this.processName = processName;
+    this.startTime = System.nanoTime();
+    this.stageStartTime = startTime;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends the current stage and starts the next one.
+   *
+   * @param stageName The name of the ended stage.
+   */
+  public void stage(String stageName) {
+    long now = System.nanoTime();
+    durations.merge(stageName, now - stageStartTime, Long::sum);
+    stageStartTime = now;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the duration of the stages ended so far.
+   *
+   * @return The durations in nanoseconds by stage name.
+   */
+  public Map<String, Long> getDurations() {
+    return durations;
+  }
+
+  public long getTotalDuration() {
+    return stageStartTime - startTime;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Logs the duration of each stage and the total duration.
+   */
+  public void report() {
+    for (Map.Entry<String, Long> duration : durations.entrySet()) {
+      Logger.info(processName + " - " + duration.getKey() + " : " + toMillis(duration.getValue()) + " ms.");
+    }
+    Logger.info(processName + " - total : " + toMillis(getTotalDuration()) + " ms.");
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format("%.3f", nanos / 1_000_000.0);
+  }
+}
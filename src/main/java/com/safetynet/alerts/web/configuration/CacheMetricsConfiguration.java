@@ -0,0 +1,81 @@
+package com.safetynet.alerts.web.configuration;
+
+import java.util.Collections;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.safetynet.alerts.web.service.AlertCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Some javadoc.
+ *
+ * Configuration class exposing the statistics of the {@link AlertCache} on the
+ * metrics actuator, under the standard cache meters (cache.gets with a hit or
+ * miss result, cache.puts, cache.evictions and cache.size) tagged with the
+ * "alerts" cache name.
+ */
+@Configuration
+public class CacheMetricsConfiguration {
+
+  /**
+   * Creates the binder of the {@link AlertCache} meters.
+   *
+   * @param alertCache The cache of the alert answers.
+   * @return A {@link MeterBinder} instance.
+   */
+  @Bean
+  public MeterBinder alertCacheMetrics(AlertCache alertCache) {
+    return new AlertCacheMeterBinder(alertCache);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads the counters of the {@link AlertCache}.
+   */
+  static class AlertCacheMeterBinder extends CacheMeterBinder<AlertCache> {
+
+    AlertCacheMeterBinder(AlertCache alertCache) {
+      super(alertCache, "alerts", Collections.emptyList());
+    }
+
+    @Override
+    protected Long size() {
+      AlertCache alertCache = getCache();
+      return alertCache == null ? null : alertCache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+      AlertCache alertCache = getCache();
+      return alertCache == null ? 0 : alertCache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+      AlertCache alertCache = getCache();
+      return alertCache == null ? null : alertCache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+      AlertCache alertCache = getCache();
+      return alertCache == null ? null : alertCache.getEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+      AlertCache alertCache = getCache();
+      return alertCache == null ? 0 : alertCache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+  }
+}
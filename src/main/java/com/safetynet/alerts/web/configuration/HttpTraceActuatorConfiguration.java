@@ -1,27 +1,36 @@
 package com.safetynet.alerts.web.configuration;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
-import org.springframework.boot.actuate.web.exchanges.InMemoryHttpExchangeRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.safetynet.alerts.web.logging.SampledHttpExchangeRepository;
+
 /**
  * Some javadoc.
  * 
  * Configuration class for customizing the HTTP trace actuator feature.
- * Provides a bean for creating an {@link InMemoryHttpExchangeRepository}
- * instance to store and manage HTTP exchange information.
+ * Provides a bean for creating a {@link SampledHttpExchangeRepository}
+ * instance to store and manage a sample of the HTTP exchange information.
  */
 @Configuration
 public class HttpTraceActuatorConfiguration {
 
   /**
-   * Creates an {@link InMemoryHttpExchangeRepository} bean instance.
+   * Creates a {@link SampledHttpExchangeRepository} bean instance.
    *
-   * @return An {@link InMemoryHttpExchangeRepository} instance.
+   * @param capacity   The maximum number of exchanges kept.
+   * @param sampleRate The probability to keep an exchange.
+   * @param threshold  The minimum time taken by a kept exchange, in ms.
+   * @return A {@link SampledHttpExchangeRepository} instance.
    */
   @Bean
-  public HttpExchangeRepository httpTraceRepository() {
-    return new InMemoryHttpExchangeRepository();
+  public HttpExchangeRepository httpTraceRepository(@Value("${alerts.exchanges.size:100}") int capacity,
+      @Value("${alerts.exchanges.sample-rate:1}") double sampleRate,
+      @Value("${alerts.exchanges.threshold:0}") long threshold) {
+    return new SampledHttpExchangeRepository(capacity, sampleRate, Duration.ofMillis(threshold));
   }
-}
\ No newline at end of file
+}
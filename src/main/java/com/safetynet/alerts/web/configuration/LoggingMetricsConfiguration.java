@@ -0,0 +1,40 @@
+package com.safetynet.alerts.web.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.safetynet.alerts.web.logging.EndpointsLogger;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Some javadoc.
+ *
+ * Configuration class exposing on the metrics actuator the number of log events
+ * the {@link EndpointsLogger} dropped because its buffer was full, as the
+ * "alerts.log.dropped" counter, and the number of the ones which failed to be
+ * written, as the "alerts.log.failed" counter.
+ */
+@Configuration
+public class LoggingMetricsConfiguration {
+
+  /**
+   * Creates the binder of the dropped and failed log events counters.
+   *
+   * @return A {@link MeterBinder} instance.
+   */
+  @Bean
+  public MeterBinder endpointsLoggerMetrics() {
+    return registry -> {
+      FunctionCounter
+          .builder("alerts.log.dropped", EndpointsLogger.class, endpointsLogger -> EndpointsLogger.getDroppedCount())
+          .description("Log events dropped because the buffer of the writer thread was full")
+          .register(registry);
+      FunctionCounter
+          .builder("alerts.log.failed", EndpointsLogger.class, endpointsLogger -> EndpointsLogger.getFailedCount())
+          .description("Log events which failed to be written by the writer thread")
+          .register(registry);
+    };
+  }
+}
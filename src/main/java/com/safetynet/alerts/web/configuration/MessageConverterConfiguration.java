@@ -0,0 +1,31 @@
+package com.safetynet.alerts.web.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import com.safetynet.alerts.web.serialization.AlertResponse;
+import com.safetynet.alerts.web.serialization.AlertResponseMessageConverter;
+import com.safetynet.alerts.web.service.AlertMetrics;
+
+/**
+ * Some javadoc.
+ *
+ * Configuration class registering the converter writing the encoded bytes of
+ * the {@link AlertResponse} bodies. Spring Boot puts it before its default
+ * converters. It tells the {@link AlertMetrics} when a response is encoded.
+ */
+@Configuration
+public class MessageConverterConfiguration {
+
+  /**
+   * Creates the {@link AlertResponseMessageConverter} bean instance.
+   *
+   * @param alertMetrics The metrics of the alert endpoints.
+   * @return An {@link HttpMessageConverter} instance.
+   */
+  @Bean
+  public HttpMessageConverter<AlertResponse> alertResponseMessageConverter(AlertMetrics alertMetrics) {
+    return new AlertResponseMessageConverter(alertMetrics::encoded);
+  }
+}
@@ -0,0 +1,35 @@
+package com.safetynet.alerts.web.configuration;
+
+import java.io.IOException;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.safetynet.alerts.web.repository.MutationLog;
+
+/**
+ * Some javadoc.
+ *
+ * Configuration class reporting the state of the {@link MutationLog} on the
+ * health actuator, under the "mutationLog" component. It is down once a write
+ * or fsync of the log has failed, since the store then refuses every mutation.
+ */
+@Configuration
+public class MutationLogHealthConfiguration {
+
+  /**
+   * Creates the health indicator of the {@link MutationLog}.
+   *
+   * @param mutationLog The log of the CRUD mutations.
+   * @return A {@link HealthIndicator} instance.
+   */
+  @Bean
+  public HealthIndicator mutationLogHealthIndicator(MutationLog mutationLog) {
+    return () -> {
+      IOException failure = mutationLog.getFailure();
+      return failure == null ? Health.up().build() : Health.down(failure).build();
+    };
+  }
+}
@@ -0,0 +1,45 @@
+package com.safetynet.alerts.web.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.safetynet.alerts.web.service.AlertMetrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Some javadoc.
+ *
+ * Configuration class delimiting the HTTP requests for the
+ * {@link AlertMetrics}: a request begins before its handler and ends once it
+ * completes and its response is written, even with an exception. Its latency
+ * is recorded at its end, and its stages are traced when tracing is enabled.
+ */
+@Configuration
+public class TracingConfiguration implements WebMvcConfigurer {
+  private final AlertMetrics alertMetrics;
+
+  public TracingConfiguration(AlertMetrics alertMetrics) {
+    this.alertMetrics = alertMetrics;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new HandlerInterceptor() {
+      @Override
+      public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        alertMetrics.begin();
+        return true;
+      }
+
+      @Override
+      public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+          Exception ex) {
+        alertMetrics.end();
+      }
+    });
+  }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
 import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.service.FirestationService;
@@ -49,7 +50,7 @@ public class FirestationController {
   @PostMapping("")
   public ResponseEntity<String> addFirestation(@RequestBody FirestationDeserialization firestationDeserialization) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.ADD_FIRESTATION.getMethodName();
     log.request(methodeName);
 
     // Check the request content :
@@ -75,7 +76,7 @@ public class FirestationController {
   public ResponseEntity<String> updateStationByAddress(@PathVariable("address") String address,
       @RequestBody FirestationDeserialization firestationDeserialization) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.UPDATE_STATION_BY_ADDRESS.getMethodName();
     log.request(methodeName, address);
 
     // Check the request content :
@@ -97,7 +98,7 @@ public class FirestationController {
   @DeleteMapping("/address/{address}")
   public ResponseEntity<String> deleteStationAtThisAddress(@PathVariable("address") String address) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.DELETE_STATION_AT_THIS_ADDRESS.getMethodName();
     log.request(methodeName);
     return firestationService.deleteStationAtThisAddress(address, methodeName);
   }
@@ -112,7 +113,7 @@ public class FirestationController {
   @DeleteMapping("/station/{station}")
   public ResponseEntity<String> deleteFirestationByStation(@PathVariable("station") String station) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.DELETE_FIRESTATION_BY_STATION.getMethodName();
     log.request(methodeName);
     return firestationService.deleteFirestationByStation(station, methodeName);
   }
@@ -125,7 +126,7 @@ public class FirestationController {
   @GetMapping("/all")
   public List<Firestation> getAllFirestations() {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_ALL_FIRESTATIONS.getMethodName();
     log.request(methodeName);
     return firestationService.getAllFirestations();
   }
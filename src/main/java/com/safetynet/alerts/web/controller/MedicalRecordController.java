@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
 import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.MedicalRecord;
 import com.safetynet.alerts.web.service.MedicalRecordService;
@@ -50,7 +51,7 @@ public class MedicalRecordController {
   public ResponseEntity<String> addMedicalRecord(
       @RequestBody MedicalRecordDeserialization medicalrecordDeserialize) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.ADD_MEDICAL_RECORD.getMethodName();
     log.request(methodeName);
 
     // Check the content request :
@@ -77,7 +78,7 @@ public class MedicalRecordController {
       @PathVariable("lastName") String lastName,
       @RequestBody MedicalRecordDeserialization medicalrecordDeserialization) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.UPDATE_MEDICAL_RECORD.getMethodName();
     log.request(methodeName, firstName, lastName);
 
     // Check the request content :
@@ -103,7 +104,7 @@ public class MedicalRecordController {
   public ResponseEntity<String> deleteMedicalRecord(@PathVariable("firstName") String firstName,
       @PathVariable("lastName") String lastName) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.DELETE_MEDICAL_RECORD.getMethodName();
     log.request(methodeName, firstName, lastName);
 
     return medicalRecordService.deleteMedicalRecord(firstName, lastName, methodeName);
@@ -117,7 +118,7 @@ public class MedicalRecordController {
   @GetMapping("/all")
   public List<MedicalRecord> getAllMedicalRecords() {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_ALL_MEDICAL_RECORDS.getMethodName();
     log.request(methodeName);
     return medicalRecordService.getAllMedicalRecords();
   }
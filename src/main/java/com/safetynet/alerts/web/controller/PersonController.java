@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
 import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.Person;
 import com.safetynet.alerts.web.service.PersonService;
@@ -41,7 +42,7 @@ public class PersonController {
   @PostMapping(value = "")
   public ResponseEntity<String> addPerson(@RequestBody PersonDeserialization personDeserialize) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.ADD_PERSON.getMethodName();
     log.request(methodeName);
 
     // Check the request content :
@@ -65,7 +66,7 @@ public class PersonController {
   public ResponseEntity<String> updatePersonByFirstAndLastName(@PathVariable("firstName") String firstName,
       @PathVariable("lastName") String lastName, @RequestBody PersonDeserialization personDeserialize) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.UPDATE_PERSON_BY_FIRST_AND_LAST_NAME.getMethodName();
     log.request(methodeName, firstName, lastName);
 
     // Check the request content :
@@ -89,7 +90,7 @@ public class PersonController {
   public ResponseEntity<String> deleteByFirstAndLastName(@PathVariable("firstName") String firstName,
       @PathVariable("lastName") String lastName) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.DELETE_BY_FIRST_AND_LAST_NAME.getMethodName();
     log.request(methodeName);
 
     return personService.deleteByFirstAndLastName(firstName, lastName, methodeName);
@@ -1,13 +1,18 @@
 package com.safetynet.alerts.web.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
+import com.safetynet.alerts.web.deserialization.model.BatchQueryDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
+import com.safetynet.alerts.web.serialization.AlertResponse;
 import com.safetynet.alerts.web.service.URLSService;
 
 /**
@@ -34,9 +39,9 @@ public class URLSController {
    * @param station The station number for which to retrieve fire station data.
    */
   @GetMapping("firestation")
-  public ResponseEntity<ObjectNode> getPersonCoveredByFirestation(@RequestParam("stationNumber") String station) {
+  public ResponseEntity<AlertResponse> getPersonCoveredByFirestation(@RequestParam("stationNumber") String station) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_PERSON_COVERED_BY_FIRESTATION.getMethodName();
     log.request(methodeName);
 
     return urlsService.personCoveredByFireStation(station);
@@ -50,9 +55,9 @@ public class URLSController {
    * @param address for which to retrieve children and family members.
    */
   @GetMapping("childAlert")
-  public ResponseEntity<ObjectNode> getChildrenLivingAtThisAddress(@RequestParam("address") String address) {
+  public ResponseEntity<AlertResponse> getChildrenLivingAtThisAddress(@RequestParam("address") String address) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_CHILDREN_LIVING_AT_THIS_ADDRESS.getMethodName();
     log.request(methodeName);
 
     return urlsService.childrenLivingAtThisAddress(address);
@@ -66,10 +71,10 @@ public class URLSController {
    * @param station number for which to retrieve phone numbers.
    */
   @GetMapping("phoneAlert")
-  public ResponseEntity<ObjectNode> getPersonsPhoneNumbersCoveredByStation(
+  public ResponseEntity<AlertResponse> getPersonsPhoneNumbersCoveredByStation(
       @RequestParam("firestation") String station) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_PERSONS_PHONE_NUMBERS_COVERED_BY_STATION.getMethodName();
     log.request(methodeName);
 
     return urlsService.personsPhoneNumbersCoveredByStation(station);
@@ -84,9 +89,9 @@ public class URLSController {
    *                persons.
    */
   @GetMapping("fire")
-  public ResponseEntity<ObjectNode> getStationAndPersonsByAddress(@RequestParam("address") String address) {
+  public ResponseEntity<AlertResponse> getStationAndPersonsByAddress(@RequestParam("address") String address) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_STATION_AND_PERSONS_BY_ADDRESS.getMethodName();
     log.request(methodeName);
 
     return urlsService.stationAndPersonsByAddress(address);
@@ -95,14 +100,14 @@ public class URLSController {
   /**
    * Some javadoc.
    * 
-   * Retrieves persons with their medical records covered by specific station.
+   * Retrieves persons with their medical records covered by specific stations.
    *
-   * @param station number for which to retrieve persons.
+   * @param station numbers, separated by commas, for which to retrieve persons.
    */
   @GetMapping("flood/stations")
-  public ResponseEntity<ObjectNode> getPersonsByHouseholdsFromStration(@RequestParam("stations") String station) {
+  public ResponseEntity<AlertResponse> getPersonsByHouseholdsFromStration(@RequestParam("stations") String station) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_PERSONS_BY_HOUSEHOLDS_FROM_STATION.getMethodName();
     log.request(methodeName);
 
     return urlsService.personsByHouseholdsFromStation(station);
@@ -117,10 +122,10 @@ public class URLSController {
    * @param lastName  of the person.
    */
   @GetMapping("personInfo")
-  public ResponseEntity<ObjectNode> getPersonInfoByFirstAndLastName(@RequestParam("firstName") String firstName,
+  public ResponseEntity<AlertResponse> getPersonInfoByFirstAndLastName(@RequestParam("firstName") String firstName,
       @RequestParam("lastName") String lastName) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_PERSON_INFO_BY_FIRST_AND_LAST_NAME.getMethodName();
     log.request(methodeName);
 
     return urlsService.personInfoByFirstAndLastName(firstName, lastName);
@@ -134,11 +139,33 @@ public class URLSController {
    * @param city for which to retrieve all residents' emails.
    */
   @GetMapping("communityEmail")
-  public ResponseEntity<ObjectNode> getAllResidentsEmails(@RequestParam("city") String city) {
+  public ResponseEntity<AlertResponse> getAllResidentsEmails(@RequestParam("city") String city) {
     // Log the request :
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+    String methodeName = Endpoint.GET_ALL_RESIDENTS_EMAILS.getMethodName();
     log.request(methodeName);
 
     return urlsService.allResidentsEmailsFromCity(city);
   }
-}
\ No newline at end of file
+
+  /**
+   * Some javadoc.
+   * 
+   * Answers a list of alert queries in one request, all on the same version of
+   * the data.
+   *
+   * @param queries The alert queries, each naming a GET endpoint and its
+   *                parameters.
+   */
+  @PostMapping("batch")
+  public ResponseEntity<?> postBatch(@RequestBody List<BatchQueryDeserialization> queries) {
+    // Log the request :
+    String methodeName = Endpoint.POST_BATCH.getMethodName();
+    log.request(methodeName);
+
+    // Check the request content :
+    if (queries == null || queries.isEmpty() || !queries.stream().allMatch(urlsService::isAnswerable)) {
+      return log.incorrectContent(methodeName);
+    }
+    return urlsService.batch(queries);
+  }
+}
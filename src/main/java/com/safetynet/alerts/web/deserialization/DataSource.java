@@ -0,0 +1,125 @@
+package com.safetynet.alerts.web.deserialization;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.tinylog.Logger;
+
+import com.safetynet.alerts.web.communUtilts.MappedFileInputStream;
+
+/**
+ * Some javadoc.
+ *
+ * Source of the dataset loaded at startup, configured by the
+ * "alerts.data.path" property. It is either a JSON file, or a directory whose
+ * JSON files are loaded in name order. Files are read through memory-mapped
+ * regions. When no path is configured, the "/data.json" classpath resource is
+ * loaded.
+ */
+public class DataSource {
+  public static final String CLASSPATH_RESOURCE = "/data.json";
+
+  private final String path;
+  private long bytesRead;
+
+  public DataSource(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Loads every file of the source into a data loader.
+   *
+   * @param dataLoader The loader converting the data.
+   * @throws IOException If a file cannot be read or is not a valid data file.
+   */
+  public void loadInto(StreamingDataLoader dataLoader) throws IOException {
+    if (path == null || path.isBlank()) {
+      try (InputStream inputStream = DataSource.class.getResourceAsStream(CLASSPATH_RESOURCE)) {
+        if (inputStream == null) {
+          throw new FileNotFoundException("Missing classpath resource " + CLASSPATH_RESOURCE + ".");
+        }
+        dataLoader.load(inputStream);
+      }
+      Logger.info("Dataset loaded from the classpath resource " + CLASSPATH_RESOURCE + ".");
+      return;
+    }
+    for (Path file : getFiles()) {
+      try (MappedFileInputStream inputStream = new MappedFileInputStream(file)) {
+        dataLoader.load(inputStream);
+        bytesRead += inputStream.getSize();
+      }
+      Logger.info("Dataset loaded from " + file + ".");
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the files of the source.
+   *
+   * @return The configured file, or the JSON files of the configured directory.
+   * @throws IOException If the path does not exist or cannot be listed.
+   */
+  public List<Path> getFiles() throws IOException {
+    Path sourcePath = Path.of(path);
+    if (!Files.exists(sourcePath)) {
+      throw new FileNotFoundException("Missing dataset " + sourcePath + ".");
+    }
+    List<Path> files = new ArrayList<>();
+    if (Files.isDirectory(sourcePath)) {
+      try (Stream<Path> directoryFiles = Files.list(sourcePath)) {
+        directoryFiles.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(".json"))
+            .sorted()
+            .forEach(files::add);
+      }
+    } else {
+      files.add(sourcePath);
+    }
+    return files;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Computes a fingerprint of the source from the path, size and last
+   * modification time of its files. It changes whenever a file is replaced,
+   * edited, added or removed, which makes a snapshot built from an older version
+   * stale.
+   *
+   * @return The fingerprint of the source.
+   * @throws IOException If the files cannot be read.
+   */
+  public String getFingerprint() throws IOException {
+    StringBuilder fingerprint = new StringBuilder();
+    if (path == null || path.isBlank()) {
+      URL resource = DataSource.class.getResource(CLASSPATH_RESOURCE);
+      if (resource == null) {
+        throw new FileNotFoundException("Missing classpath resource " + CLASSPATH_RESOURCE + ".");
+      }
+      URLConnection connection = resource.openConnection();
+      fingerprint.append(resource).append('|').append(connection.getContentLengthLong()).append('|')
+          .append(connection.getLastModified());
+      connection.getInputStream().close();
+      return fingerprint.toString();
+    }
+    for (Path file : getFiles()) {
+      fingerprint.append(file.toAbsolutePath()).append('|').append(Files.size(file)).append('|')
+          .append(Files.getLastModifiedTime(file).toMillis()).append(';');
+    }
+    return fingerprint.toString();
+  }
+
+  public long getBytesRead() {
+    return bytesRead;
+  }
+}
@@ -0,0 +1,240 @@
+package com.safetynet.alerts.web.deserialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.safetynet.alerts.web.communUtilts.StageTimer;
+import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
+import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.model.Dataset;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+
+/**
+ * Some javadoc.
+ *
+ * Loads the data file with a streaming JsonParser. Each person, firestation and
+ * medical record is read on its own and converted right away into the domain
+ * models, so the deserialization lists of the whole file are never held in
+ * memory.
+ *
+ * Households are created on the fly for each new address. A medical record read
+ * before its person is linked at the end of the file. Several files can be
+ * loaded in turn, the IDs then keep increasing from one file to the next.
+ *
+ * Each array read and the linking of the medical records end a stage of the
+ * given timer, summed over the files.
+ */
+public class StreamingDataLoader {
+  private final ObjectReader personReader;
+  private final ObjectReader firestationReader;
+  private final ObjectReader medicalRecordReader;
+  private final ObjectMapper objectMapper;
+  private final StageTimer stageTimer;
+
+  private final Map<String, Household> householdsByAddress = new LinkedHashMap<>();
+  private final Map<String, Firestation> firestationsByStation = new LinkedHashMap<>();
+  private final Map<String, Set<Integer>> idHouseholdsByStation = new HashMap<>();
+  private final List<Person> persons = new ArrayList<>();
+  private final Map<List<String>, Integer> idPersonsByName = new HashMap<>();
+  private final List<MedicalRecord> medicalRecords = new ArrayList<>();
+  private final Map<Integer, List<String>> unlinkedMedicalRecords = new LinkedHashMap<>();
+
+  public StreamingDataLoader() {
+    this(new StageTimer("Data loading"));
+  }
+
+  public StreamingDataLoader(StageTimer stageTimer) {
+    this.stageTimer = stageTimer;
+    objectMapper = new ObjectMapper();
+    personReader = objectMapper.readerFor(PersonDeserialization.class);
+    firestationReader = objectMapper.readerFor(FirestationDeserialization.class);
+    medicalRecordReader = objectMapper.readerFor(MedicalRecordDeserialization.class);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads a data file and converts its content into the domain models.
+   *
+   * @param inputStream The data file content.
+   * @throws IOException If the content is not a valid data file.
+   */
+  public void load(InputStream inputStream) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("The data file must contain a JSON object.");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        switch (fieldName) {
+          case "persons" -> {
+            readArray(parser, personReader, this::addPerson);
+            stageTimer.stage("read and convert persons");
+          }
+          case "firestations" -> {
+            readArray(parser, firestationReader, this::addFirestation);
+            stageTimer.stage("read and convert firestations");
+          }
+          case "medicalrecords" -> {
+            readArray(parser, medicalRecordReader, this::addMedicalRecord);
+            stageTimer.stage("read and convert medical records");
+          }
+          default -> parser.skipChildren();
+        }
+      }
+    }
+    linkMedicalRecords();
+    stageTimer.stage("link medical records");
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads the elements of a JSON array one by one.
+   *
+   * @param parser   The parser positioned on the start of the array.
+   * @param reader   The reader of the element type.
+   * @param consumer The consumer of each element read.
+   * @param <T>      The element type.
+   * @throws IOException If an element is not valid.
+   */
+  private <T> void readArray(JsonParser parser, ObjectReader reader, Consumer<T> consumer) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      T element = reader.readValue(parser);
+      consumer.accept(element);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the household at an address, or creates it.
+   *
+   * @param address The address.
+   * @return The household at this address.
+   */
+  private Household getOrCreateHousehold(String address) {
+    Household household = householdsByAddress.get(address);
+    if (household == null) {
+      household = new Household(householdsByAddress.size() + 1, address);
+      householdsByAddress.put(address, household);
+    }
+    return household;
+  }
+
+  private void addPerson(PersonDeserialization personDeserialization) {
+    Person person = new Person();
+    person.setId(persons.size() + 1);
+    person.setIdHousehold(getOrCreateHousehold(personDeserialization.getAddress()).getId());
+    person.setFirstName(personDeserialization.getFirstName());
+    person.setLastName(personDeserialization.getLastName());
+    person.setCity(personDeserialization.getCity());
+    person.setEmail(personDeserialization.getEmail());
+    person.setPhone(personDeserialization.getPhone());
+    person.setZip(personDeserialization.getZip());
+    persons.add(person);
+    idPersonsByName.putIfAbsent(Arrays.asList(person.getFirstName(), person.getLastName()), person.getId());
+  }
+
+  private void addFirestation(FirestationDeserialization firestationDeserialization) {
+    String station = firestationDeserialization.getStation();
+    if (!firestationsByStation.containsKey(station)) {
+      Firestation firestation = new Firestation();
+      firestation.setId(firestationsByStation.size() + 1);
+      firestation.setStation(station);
+      firestationsByStation.put(station, firestation);
+      idHouseholdsByStation.put(station, new LinkedHashSet<>());
+    }
+    Household household = getOrCreateHousehold(firestationDeserialization.getAddress());
+    idHouseholdsByStation.get(station).add(household.getId());
+  }
+
+  private void addMedicalRecord(MedicalRecordDeserialization medicalRecordDeserialization) {
+    MedicalRecord medicalRecord = new MedicalRecord();
+    medicalRecord.setId(medicalRecords.size() + 1);
+    medicalRecord.setBirthdate(medicalRecordDeserialization.getBirthdate());
+    medicalRecord.setMedications(medicalRecordDeserialization.getMedications());
+    medicalRecord.setAllergies(medicalRecordDeserialization.getAllergies());
+    List<String> name = Arrays.asList(medicalRecordDeserialization.getFirstName(),
+        medicalRecordDeserialization.getLastName());
+    Integer idPerson = idPersonsByName.get(name);
+    if (idPerson != null) {
+      medicalRecord.setIdPerson(idPerson);
+    } else {
+      unlinkedMedicalRecords.put(medicalRecord.getId(), name);
+    }
+    medicalRecords.add(medicalRecord);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Links the medical records read before their person. Those whose person is
+   * still unknown are kept for the next file.
+   */
+  private void linkMedicalRecords() {
+    Iterator<Map.Entry<Integer, List<String>>> entries = unlinkedMedicalRecords.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<Integer, List<String>> entry = entries.next();
+      Integer idPerson = idPersonsByName.get(entry.getValue());
+      if (idPerson != null) {
+        medicalRecords.get(entry.getKey() - 1).setIdPerson(idPerson);
+        entries.remove();
+      }
+    }
+  }
+
+  public List<Household> getHouseholds() {
+    return new ArrayList<>(householdsByAddress.values());
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the firestations read, with the IDs of the households they cover.
+   *
+   * @return A list of firestations.
+   */
+  public List<Firestation> getFirestations() {
+    List<Firestation> firestations = new ArrayList<>(firestationsByStation.values());
+    for (Firestation firestation : firestations) {
+      firestation.setIdHouseholds(new ArrayList<>(idHouseholdsByStation.get(firestation.getStation())));
+    }
+    return firestations;
+  }
+
+  public List<Person> getPersons() {
+    return persons;
+  }
+
+  public List<MedicalRecord> getMedicalRecords() {
+    return medicalRecords;
+  }
+
+  public Dataset getDataset() {
+    return new Dataset(getHouseholds(), getFirestations(), getPersons(), getMedicalRecords());
+  }
+}
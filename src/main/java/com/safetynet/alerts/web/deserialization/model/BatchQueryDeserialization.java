@@ -0,0 +1,24 @@
+package com.safetynet.alerts.web.deserialization.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Some javadoc.
+ * 
+ * This class represents one alert query of a batch request.
+ * 
+ * The endpoint is the path of the corresponding GET endpoint, such as "fire" or
+ * "flood/stations", and the parameters are its request parameters.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchQueryDeserialization {
+
+    private String endpoint;
+    private Map<String, String> parameters;
+}
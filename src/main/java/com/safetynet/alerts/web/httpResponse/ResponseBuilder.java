@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.safetynet.alerts.web.serialization.AlertResponse;
 
 /**
  * Some javadoc.
@@ -114,7 +115,7 @@ public class ResponseBuilder {
    *         and
    *         status code OK.
    */
-  public ResponseEntity<ObjectNode> successfullyGenerated(ObjectNode mainObject) {
+  public ResponseEntity<AlertResponse> successfullyGenerated(AlertResponse mainObject) {
     return ResponseEntity.ok(mainObject);
   }
 
@@ -0,0 +1,129 @@
+package com.safetynet.alerts.web.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.tinylog.provider.ProviderRegistry;
+
+/**
+ * Some javadoc.
+ *
+ * Writes the events of the EndpointsLogger on a single background thread, so
+ * the request threads never wait for the log files. The request threads push
+ * the events into a bounded ring buffer; the writer thread takes them by
+ * batches and passes them to tinylog, then sleeps until the next batch when the
+ * buffer is empty. An event pushed while the buffer is full is dropped and
+ * counted. An event failing to be written is counted as well, and the writer
+ * thread goes on with the next ones.
+ *
+ * At shutdown, the remaining events are written before tinylog itself is shut
+ * down, so its automatic shutdown is disabled in tinylog.properties.
+ */
+final class AsyncLogWriter implements Runnable {
+  private static final int BATCH_SIZE = 256;
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+  private final LogRingBuffer<LogEvent> buffer;
+  private final Consumer<LogEvent> sink;
+  private final LongAdder failed = new LongAdder();
+  private final Thread writer;
+  private volatile boolean closed;
+
+  /**
+   * Some javadoc.
+   *
+   * Creates the buffer and starts the writer thread.
+   *
+   * @param capacity The number of events the buffer holds, a power of two.
+   */
+  AsyncLogWriter(int capacity) {
+    this(capacity, event -> event.getMessage().write(event));
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close, "endpoints-logger-shutdown"));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates the buffer and starts the writer thread, passing the events to a
+   * sink instead of tinylog.
+   *
+   * @param capacity The number of events the buffer holds, a power of two.
+   * @param sink     The writer of an event.
+   */
+  AsyncLogWriter(int capacity, Consumer<LogEvent> sink) {
+    this.buffer = new LogRingBuffer<>(capacity);
+    this.sink = sink;
+    writer = new Thread(this, "endpoints-logger-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Pushes an event to write, or drops it if the buffer is full.
+   *
+   * @param message    The message.
+   * @param methodName The method name.
+   * @param argument1  The first argument, or null.
+   * @param argument2  The second argument, or null.
+   */
+  void log(LogMessage message, String methodName, String argument1, String argument2) {
+    buffer.offer(new LogEvent(message, methodName, argument1, argument2));
+  }
+
+  long getDroppedCount() {
+    return buffer.getDroppedCount();
+  }
+
+  long getFailedCount() {
+    return failed.sum();
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      if (buffer.drain(this::write, BATCH_SIZE) == 0) {
+        if (closed) {
+          return;
+        }
+        LockSupport.parkNanos(this, IDLE_NANOS);
+      }
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes an event, counting it if it fails so the other events are still
+   * written.
+   *
+   * @param event The event.
+   */
+  private void write(LogEvent event) {
+    try {
+      sink.accept(event);
+    } catch (RuntimeException e) {
+      failed.increment();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes the remaining events, then shuts tinylog down.
+   */
+  private void close() {
+    closed = true;
+    LockSupport.unpark(writer);
+    try {
+      writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+      ProviderRegistry.getLoggingProvider().shutdown();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
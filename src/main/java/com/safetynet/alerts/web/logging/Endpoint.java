@@ -0,0 +1,58 @@
+package com.safetynet.alerts.web.logging;
+
+/**
+ * Some javadoc.
+ *
+ * Static identity of each endpoint and URLS service method. The names are the
+ * ones written in the logs and passed to the serialization methods, and are
+ * resolved at compile time instead of by walking the stack on each request.
+ */
+public enum Endpoint {
+  // FirestationController :
+  ADD_FIRESTATION("addFirestation"),
+  UPDATE_STATION_BY_ADDRESS("updateStationByAddress"),
+  DELETE_STATION_AT_THIS_ADDRESS("deleteStationAtThisAddress"),
+  DELETE_FIRESTATION_BY_STATION("deleteFirestationByStation"),
+  GET_ALL_FIRESTATIONS("getAllFirestations"),
+
+  // PersonController :
+  ADD_PERSON("addPerson"),
+  UPDATE_PERSON_BY_FIRST_AND_LAST_NAME("updatePersonByFirstAndLastName"),
+  DELETE_BY_FIRST_AND_LAST_NAME("deleteByFirstAndLastName"),
+
+  // MedicalRecordController :
+  ADD_MEDICAL_RECORD("addMedicalRecord"),
+  UPDATE_MEDICAL_RECORD("updateMedicalRecord"),
+  DELETE_MEDICAL_RECORD("deleteMedicalRecord"),
+  GET_ALL_MEDICAL_RECORDS("getAllMedicalRecords"),
+
+  // URLSController :
+  GET_PERSON_COVERED_BY_FIRESTATION("getPersonCoveredByFirestation"),
+  GET_CHILDREN_LIVING_AT_THIS_ADDRESS("getChildrenLivingAtThisAddress"),
+  GET_PERSONS_PHONE_NUMBERS_COVERED_BY_STATION("getPersonsPhoneNumbersCoveredByStation"),
+  GET_STATION_AND_PERSONS_BY_ADDRESS("getStationAndPersonsByAddress"),
+  GET_PERSONS_BY_HOUSEHOLDS_FROM_STATION("getPersonsByHouseholdsFromStration"),
+  GET_PERSON_INFO_BY_FIRST_AND_LAST_NAME("getPersonInfoByFirstAndLastName"),
+  GET_ALL_RESIDENTS_EMAILS("getAllResidentsEmails"),
+  POST_BATCH("postBatch"),
+
+  // URLSService :
+  PERSON_COVERED_BY_FIRE_STATION("personCoveredByFireStation"),
+  CHILDREN_LIVING_AT_THIS_ADDRESS("childrenLivingAtThisAddress"),
+  PERSONS_PHONE_NUMBERS_COVERED_BY_STATION("personsPhoneNumbersCoveredByStation"),
+  STATION_AND_PERSONS_BY_ADDRESS("stationAndPersonsByAddress"),
+  PERSONS_BY_HOUSEHOLDS_FROM_STATION("personsByHouseholdsFromStation"),
+  PERSON_INFO_BY_FIRST_AND_LAST_NAME("personInfoByFirstAndLastName"),
+  ALL_RESIDENTS_EMAILS_FROM_CITY("allResidentsEmailsFromCity"),
+  BATCH("batch");
+
+  private final String methodName;
+
+  Endpoint(String methodName) {
+    this.methodName = methodName;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+}
@@ -1,20 +1,48 @@
 package com.safetynet.alerts.web.logging;
 
 import org.springframework.http.ResponseEntity;
-import org.tinylog.Logger;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.safetynet.alerts.web.httpResponse.ResponseBuilder;
+import com.safetynet.alerts.web.serialization.AlertResponse;
 
 /* 
  * Some javadoc.
  * 
  * This class represent all log generated during the endpoint request.
+ * 
+ * The logs are written asynchronously: each method only pushes an event into a
+ * bounded buffer shared by all the instances, and a single writer thread
+ * writes them. When the buffer is full, the event is dropped and counted.
  */
 public class EndpointsLogger {
+  private static final int BUFFER_CAPACITY = 8192;
+  private static final AsyncLogWriter WRITER = new AsyncLogWriter(BUFFER_CAPACITY);
 
   private ResponseBuilder response = new ResponseBuilder();
 
+  /**
+   * Some javadoc.
+   * 
+   * Retrieves the number of log events dropped because the buffer was full.
+   * 
+   * @return The number of dropped events.
+   */
+  public static long getDroppedCount() {
+    return WRITER.getDroppedCount();
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Retrieves the number of log events which failed to be written.
+   * 
+   * @return The number of failed events.
+   */
+  public static long getFailedCount() {
+    return WRITER.getFailedCount();
+  }
+
   /**
    * Some javadoc.
    * 
@@ -23,7 +51,7 @@ public class EndpointsLogger {
    * @param methodName The name of the method.
    */
   public void request(String methodName) {
-    Logger.info("Request " + methodName + ".");
+    WRITER.log(LogMessage.REQUEST, methodName, null, null);
   }
 
   /**
@@ -35,7 +63,7 @@ public class EndpointsLogger {
    * @param argument   The argument value.
    */
   public void request(String methodName, String argument) {
-    Logger.info("Request " + methodName + " with this argument : " + argument + ".");
+    WRITER.log(LogMessage.REQUEST_WITH_ARGUMENT, methodName, argument, null);
   }
 
   /**
@@ -48,7 +76,7 @@ public class EndpointsLogger {
    * @param argument2  The second argument value.
    */
   public void request(String methodName, String argument1, String argument2) {
-    Logger.info("Request " + methodName + " with this arguments : " + argument1 + " & " + argument2 + ".");
+    WRITER.log(LogMessage.REQUEST_WITH_ARGUMENTS, methodName, argument1, argument2);
   }
 
   /**
@@ -60,7 +88,7 @@ public class EndpointsLogger {
    * @return A response indicating incorrect content.
    */
   public ResponseEntity<String> incorrectContent(String methodName) {
-    Logger.info("Answer " + methodName + " : content is incorrect.");
+    WRITER.log(LogMessage.INCORRECT_CONTENT, methodName, null, null);
     return response.incorrectContent();
   }
 
@@ -73,7 +101,7 @@ public class EndpointsLogger {
    * @return A response indicating no matching argument.
    */
   public ResponseEntity<String> argumentHasNoMatch(String methodName) {
-    Logger.info("Answer " + methodName + " : argument has no match.");
+    WRITER.log(LogMessage.ARGUMENT_HAS_NO_MATCH, methodName, null, null);
     return response.hasNoMatch();
   }
 
@@ -86,7 +114,7 @@ public class EndpointsLogger {
    * @return A response indicating successful addition.
    */
   public ResponseEntity<String> addedSuccessfully(String methodName) {
-    Logger.info("Answer " + methodName + " : content added successfully.");
+    WRITER.log(LogMessage.ADDED_SUCCESSFULLY, methodName, null, null);
     return response.addedSuccessfully();
   }
 
@@ -99,7 +127,7 @@ public class EndpointsLogger {
    * @return A response indicating successful update.
    */
   public ResponseEntity<String> updatedSuccessfully(String methodName) {
-    Logger.info("Answer " + methodName + " : content updated successfully.");
+    WRITER.log(LogMessage.UPDATED_SUCCESSFULLY, methodName, null, null);
     return response.updatedSuccessfully();
   }
 
@@ -112,7 +140,7 @@ public class EndpointsLogger {
    * @return A response indicating an exception.
    */
   public ResponseEntity<ObjectNode> threwAnException(String methodName) {
-    Logger.error("Answer " + methodName + " : thew an exception.");
+    WRITER.log(LogMessage.THREW_AN_EXCEPTION, methodName, null, null);
     return response.threwAnException();
   }
 
@@ -125,7 +153,7 @@ public class EndpointsLogger {
    * @return A response indicating successful deletion.
    */
   public ResponseEntity<String> deletedSuccessfully(String methodName) {
-    Logger.info("Answer " + methodName + " : deleted successfully.");
+    WRITER.log(LogMessage.DELETED_SUCCESSFULLY, methodName, null, null);
     return response.deletedSuccessfully();
   }
 
@@ -138,7 +166,7 @@ public class EndpointsLogger {
    * @return A response indicating an empty answer.
    */
   public ResponseEntity<ObjectNode> emptyAnswer(String methodeName) {
-    Logger.info("Answer " + methodeName + " : empty answer.");
+    WRITER.log(LogMessage.EMPTY_ANSWER, methodeName, null, null);
     return response.emptyAnswer();
   }
 
@@ -150,8 +178,8 @@ public class EndpointsLogger {
    * @param methodName The name of the method.
    * @return A response indicating successful generation.
    */
-  public ResponseEntity<ObjectNode> successfullyGenerated(String methodeName, ObjectNode mainObject) {
-    Logger.info("Answer " + methodeName + " : successfully generated.");
+  public ResponseEntity<AlertResponse> successfullyGenerated(String methodeName, AlertResponse mainObject) {
+    WRITER.log(LogMessage.SUCCESSFULLY_GENERATED, methodeName, null, null);
     return response.successfullyGenerated(mainObject);
   }
 
@@ -164,7 +192,7 @@ public class EndpointsLogger {
    * @return A response indicating ExistingMapping.
    */
   public ResponseEntity<String> ExistingMappingBetweenAddressAndFirestation(String methodeName) {
-    Logger.error("Answer " + methodeName + " : existing mapping between the address and the fire station.");
+    WRITER.log(LogMessage.EXISTING_MAPPING, methodeName, null, null);
     return response.ExistingMapping();
   }
 
@@ -177,7 +205,7 @@ public class EndpointsLogger {
    * @return A response indicating a existing mapping.
    */
   public ResponseEntity<String> ExistingPerson(String methodeName) {
-    Logger.error("Answer " + methodeName + " : existing person with this first and last name.");
+    WRITER.log(LogMessage.EXISTING_PERSON, methodeName, null, null);
     return response.ExistingMapping();
   }
 
@@ -190,7 +218,7 @@ public class EndpointsLogger {
    * @return A response indicating a existing mapping.
    */
   public ResponseEntity<String> ExistingMedicalRecord(String methodeName) {
-    Logger.error("Answer " + methodeName + " : existing medicalRecord with this first and last.");
+    WRITER.log(LogMessage.EXISTING_MEDICAL_RECORD, methodeName, null, null);
     return response.ExistingMapping();
   }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.safetynet.alerts.web.logging;
+
+/**
+ * Some javadoc.
+ *
+ * A log message with its method name and arguments, waiting in the ring buffer
+ * to be written.
+ */
+final class LogEvent {
+  private final LogMessage message;
+  private final String methodName;
+  private final String argument1;
+  private final String argument2;
+
+  LogEvent(LogMessage message, String methodName, String argument1, String argument2) {
+    this.message = message;
+    this.methodName = methodName;
+    this.argument1 = argument1;
+    this.argument2 = argument2;
+  }
+
+  LogMessage getMessage() {
+    return message;
+  }
+
+  String getMethodName() {
+    return methodName;
+  }
+
+  String getArgument1() {
+    return argument1;
+  }
+
+  String getArgument2() {
+    return argument2;
+  }
+}
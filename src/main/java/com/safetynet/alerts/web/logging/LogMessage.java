@@ -0,0 +1,49 @@
+package com.safetynet.alerts.web.logging;
+
+import org.tinylog.Logger;
+
+/**
+ * Some javadoc.
+ *
+ * Messages written by the EndpointsLogger. The method name and arguments of a
+ * message are only formatted into it by the writer thread.
+ */
+enum LogMessage {
+  REQUEST(false, "Request {}."),
+  REQUEST_WITH_ARGUMENT(false, "Request {} with this argument : {}."),
+  REQUEST_WITH_ARGUMENTS(false, "Request {} with this arguments : {} & {}."),
+  INCORRECT_CONTENT(false, "Answer {} : content is incorrect."),
+  ARGUMENT_HAS_NO_MATCH(false, "Answer {} : argument has no match."),
+  ADDED_SUCCESSFULLY(false, "Answer {} : content added successfully."),
+  UPDATED_SUCCESSFULLY(false, "Answer {} : content updated successfully."),
+  THREW_AN_EXCEPTION(true, "Answer {} : thew an exception."),
+  DELETED_SUCCESSFULLY(false, "Answer {} : deleted successfully."),
+  EMPTY_ANSWER(false, "Answer {} : empty answer."),
+  SUCCESSFULLY_GENERATED(false, "Answer {} : successfully generated."),
+  EXISTING_MAPPING(true, "Answer {} : existing mapping between the address and the fire station."),
+  EXISTING_PERSON(true, "Answer {} : existing person with this first and last name."),
+  EXISTING_MEDICAL_RECORD(true, "Answer {} : existing medicalRecord with this first and last.");
+
+  private final boolean error;
+  private final String template;
+
+  LogMessage(boolean error, String template) {
+    this.error = error;
+    this.template = template;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes an event of this message to the tinylog writers.
+   *
+   * @param event The event.
+   */
+  void write(LogEvent event) {
+    if (error) {
+      Logger.error(template, event.getMethodName(), event.getArgument1(), event.getArgument2());
+    } else {
+      Logger.info(template, event.getMethodName(), event.getArgument1(), event.getArgument2());
+    }
+  }
+}
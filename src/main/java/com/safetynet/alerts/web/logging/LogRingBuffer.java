@@ -0,0 +1,97 @@
+package com.safetynet.alerts.web.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Some javadoc.
+ *
+ * Bounded lock-free queue with many producers and a single consumer. A
+ * producer claims a slot by moving the tail forward, then publishes its element
+ * in it. The consumer takes the published elements in order and frees their
+ * slots by moving the head forward. An element offered while all the slots are
+ * taken is dropped and counted, so a producer never waits.
+ *
+ * @param <E> The type of the elements.
+ */
+final class LogRingBuffer<E> {
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private volatile long head;
+
+  /**
+   * Some javadoc.
+   *
+   * Creates an empty buffer.
+   *
+   * @param capacity The number of slots, a power of two.
+   * @throws IllegalArgumentException If the capacity is not a power of two.
+   */
+  LogRingBuffer(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("The capacity must be a power of two : " + capacity);
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Adds an element, unless the buffer is full.
+   *
+   * @param element The element, not null.
+   * @return False if the element was dropped.
+   */
+  boolean offer(E element) {
+    long position;
+    do {
+      position = tail.get();
+      if (position - head > mask) {
+        dropped.increment();
+        return false;
+      }
+    } while (!tail.compareAndSet(position, position + 1));
+    slots.lazySet((int) position & mask, element);
+    return true;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Takes the published elements in order, stopping at the first slot claimed
+   * but not published yet. Must only be called by the consumer thread.
+   *
+   * @param consumer    The consumer of the elements.
+   * @param maxElements The maximum number of elements to take.
+   * @return The number of elements taken.
+   */
+  int drain(Consumer<E> consumer, int maxElements) {
+    long position = head;
+    int taken = 0;
+    try {
+      while (taken < maxElements) {
+        int index = (int) position & mask;
+        E element = slots.get(index);
+        if (element == null) {
+          break;
+        }
+        slots.lazySet(index, null);
+        position++;
+        taken++;
+        consumer.accept(element);
+      }
+    } finally {
+      head = position;
+    }
+    return taken;
+  }
+
+  long getDroppedCount() {
+    return dropped.sum();
+  }
+}
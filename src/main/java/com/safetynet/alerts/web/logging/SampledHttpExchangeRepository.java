@@ -0,0 +1,121 @@
+package com.safetynet.alerts.web.logging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
+
+/**
+ * Some javadoc.
+ *
+ * Keeps a sample of the last HTTP exchanges for the httpexchanges actuator,
+ * without lock on the request threads.
+ *
+ * An exchange is only kept if it took at least the latency threshold, then
+ * with the probability of the sample rate. The kept exchanges are written in
+ * rings striped by thread, each keeping its share of the capacity and
+ * overwriting its oldest exchange, so concurrent requests rarely write the same
+ * ring and never wait for each other.
+ */
+public class SampledHttpExchangeRepository implements HttpExchangeRepository {
+  private final double sampleRate;
+  private final Duration threshold;
+  private final int capacity;
+  private final Stripe[] stripes;
+
+  /**
+   * Some javadoc.
+   *
+   * Creates a repository.
+   *
+   * @param capacity   The maximum number of exchanges kept.
+   * @param sampleRate The probability to keep an exchange, between 0 and 1.
+   * @param threshold  The minimum time taken by a kept exchange.
+   */
+  public SampledHttpExchangeRepository(int capacity, double sampleRate, Duration threshold) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be positive : " + capacity);
+    }
+    this.sampleRate = sampleRate;
+    this.threshold = threshold;
+    this.capacity = capacity;
+    int stripeCount = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2,
+        Integer.highestOneBit(capacity));
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe(Math.max(1, capacity / stripeCount));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * A ring of exchanges, the writers each claiming the next slot.
+   */
+  private static final class Stripe {
+    private final AtomicReferenceArray<HttpExchange> exchanges;
+    private final AtomicLong next = new AtomicLong();
+
+    private Stripe(int size) {
+      this.exchanges = new AtomicReferenceArray<>(size);
+    }
+
+    private void add(HttpExchange exchange) {
+      int slot = (int) (next.getAndIncrement() % exchanges.length());
+      exchanges.lazySet(slot, exchange);
+    }
+  }
+
+  @Override
+  public void add(HttpExchange exchange) {
+    if (!isRecorded(exchange)) {
+      return;
+    }
+    stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)].add(exchange);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks whether an exchange is kept: slow enough, then sampled. An exchange
+   * without time taken is only sampled.
+   *
+   * @param exchange The exchange.
+   * @return True to keep it.
+   */
+  private boolean isRecorded(HttpExchange exchange) {
+    Duration timeTaken = exchange.getTimeTaken();
+    if (timeTaken != null && timeTaken.compareTo(threshold) < 0) {
+      return false;
+    }
+    return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Lists the kept exchanges, the most recent first.
+   *
+   * @return The exchanges.
+   */
+  @Override
+  public List<HttpExchange> findAll() {
+    List<HttpExchange> exchanges = new ArrayList<>(capacity);
+    for (Stripe stripe : stripes) {
+      for (int i = 0; i < stripe.exchanges.length(); i++) {
+        HttpExchange exchange = stripe.exchanges.get(i);
+        if (exchange != null) {
+          exchanges.add(exchange);
+        }
+      }
+    }
+    exchanges.sort(Comparator.comparing(HttpExchange::getTimestamp).reversed());
+    return exchanges.size() > capacity ? exchanges.subList(0, capacity) : exchanges;
+  }
+}
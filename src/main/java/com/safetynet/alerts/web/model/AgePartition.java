@@ -0,0 +1,32 @@
+package com.safetynet.alerts.web.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Some javadoc.
+ * 
+ * This class represents a list of medical records split between the adults
+ * and the minors, with the number of each.
+ */
+@Data
+@AllArgsConstructor
+public class AgePartition {
+  private List<MedicalRecord> adults;
+  private List<MedicalRecord> minors;
+
+  public AgePartition() {
+    this(new ArrayList<>(), new ArrayList<>());
+  }
+
+  public int getAdultsNumber() {
+    return adults.size();
+  }
+
+  public int getMinorsNumber() {
+    return minors.size();
+  }
+}
@@ -0,0 +1,40 @@
+package com.safetynet.alerts.web.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Some javadoc.
+ * 
+ * This class represents the whole converted domain: households, firestations,
+ * persons and medical records, as loaded at startup or saved in a snapshot,
+ * with the sequence of the last logged mutation it contains and the last id
+ * allocated for each entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Dataset {
+  private List<Household> households;
+  private List<Firestation> firestations;
+  private List<Person> persons;
+  private List<MedicalRecord> medicalRecords;
+  private long lastSequence;
+  private int lastHouseholdId;
+  private int lastFirestationId;
+  private int lastPersonId;
+  private int lastMedicalRecordId;
+
+  public Dataset(List<Household> households, List<Firestation> firestations, List<Person> persons,
+      List<MedicalRecord> medicalRecords) {
+    this(households, firestations, persons, medicalRecords, 0);
+  }
+
+  public Dataset(List<Household> households, List<Firestation> firestations, List<Person> persons,
+      List<MedicalRecord> medicalRecords, long lastSequence) {
+    this(households, firestations, persons, medicalRecords, lastSequence, 0, 0, 0, 0);
+  }
+}
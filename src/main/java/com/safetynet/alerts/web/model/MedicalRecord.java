@@ -0,0 +1,68 @@
+package com.safetynet.alerts.web.model;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.tinylog.Logger;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Some javadoc.
+ * 
+ * This class represents a Medical Record entity in the system.
+ * It is used to link a medical information by person.
+ * 
+ * The birthdate is parsed once when it is set, and kept as an epoch day for
+ * the age computations. A missing or malformed birthdate is kept as
+ * UNKNOWN_BIRTHDATE, whose person has an unknown age and is counted neither as
+ * a minor nor as an adult.
+ */
+@Data
+@NoArgsConstructor
+public class MedicalRecord {
+  public static final long UNKNOWN_BIRTHDATE = Long.MIN_VALUE;
+
+  private int id;
+  private int idPerson;
+  private String birthdate;
+  private List<String> medications;
+  private List<String> allergies;
+
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  private long birthdateEpochDay;
+
+  public MedicalRecord(int id, int idPerson, String birthdate, List<String> medications, List<String> allergies) {
+    this.id = id;
+    this.idPerson = idPerson;
+    this.medications = medications;
+    this.allergies = allergies;
+    setBirthdate(birthdate);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Sets the birthdate and its epoch day.
+   *
+   * @param birthdate The birthdate in the format "MM/dd/yyyy".
+   */
+  public void setBirthdate(String birthdate) {
+    this.birthdate = birthdate;
+    this.birthdateEpochDay = UNKNOWN_BIRTHDATE;
+    if (birthdate != null) {
+      try {
+        this.birthdateEpochDay = DataManipulationUtils.convertBirthdateToEpochDay(birthdate);
+      } catch (DateTimeParseException e) {
+        Logger.warn("Unknown age for the malformed birthdate " + birthdate + ".");
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.safetynet.alerts.web.model;
+
+import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
+import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Some javadoc.
+ * 
+ * This class represents a change applied through a person, firestation or
+ * medical record endpoint, as written in the mutation log. It holds the
+ * endpoint and its arguments, so the change can be applied again on restart.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Mutation {
+  private long sequence;
+  private Endpoint endpoint;
+  private String firstName;
+  private String lastName;
+  private String address;
+  private String station;
+  private PersonDeserialization person;
+  private FirestationDeserialization firestation;
+  private MedicalRecordDeserialization medicalRecord;
+
+  public Mutation(Endpoint endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public static Mutation addPerson(PersonDeserialization person) {
+    Mutation mutation = new Mutation(Endpoint.ADD_PERSON);
+    mutation.setPerson(person);
+    return mutation;
+  }
+
+  public static Mutation updatePerson(String firstName, String lastName, PersonDeserialization person) {
+    Mutation mutation = new Mutation(Endpoint.UPDATE_PERSON_BY_FIRST_AND_LAST_NAME);
+    mutation.setFirstName(firstName);
+    mutation.setLastName(lastName);
+    mutation.setPerson(person);
+    return mutation;
+  }
+
+  public static Mutation deletePerson(String firstName, String lastName) {
+    Mutation mutation = new Mutation(Endpoint.DELETE_BY_FIRST_AND_LAST_NAME);
+    mutation.setFirstName(firstName);
+    mutation.setLastName(lastName);
+    return mutation;
+  }
+
+  public static Mutation addFirestation(FirestationDeserialization firestation) {
+    Mutation mutation = new Mutation(Endpoint.ADD_FIRESTATION);
+    mutation.setFirestation(firestation);
+    return mutation;
+  }
+
+  public static Mutation updateStationByAddress(String address, FirestationDeserialization firestation) {
+    Mutation mutation = new Mutation(Endpoint.UPDATE_STATION_BY_ADDRESS);
+    mutation.setAddress(address);
+    mutation.setFirestation(firestation);
+    return mutation;
+  }
+
+  public static Mutation deleteStationAtThisAddress(String address) {
+    Mutation mutation = new Mutation(Endpoint.DELETE_STATION_AT_THIS_ADDRESS);
+    mutation.setAddress(address);
+    return mutation;
+  }
+
+  public static Mutation deleteFirestationByStation(String station) {
+    Mutation mutation = new Mutation(Endpoint.DELETE_FIRESTATION_BY_STATION);
+    mutation.setStation(station);
+    return mutation;
+  }
+
+  public static Mutation addMedicalRecord(MedicalRecordDeserialization medicalRecord) {
+    Mutation mutation = new Mutation(Endpoint.ADD_MEDICAL_RECORD);
+    mutation.setMedicalRecord(medicalRecord);
+    return mutation;
+  }
+
+  public static Mutation updateMedicalRecord(String firstName, String lastName,
+      MedicalRecordDeserialization medicalRecord) {
+    Mutation mutation = new Mutation(Endpoint.UPDATE_MEDICAL_RECORD);
+    mutation.setFirstName(firstName);
+    mutation.setLastName(lastName);
+    mutation.setMedicalRecord(medicalRecord);
+    return mutation;
+  }
+
+  public static Mutation deleteMedicalRecord(String firstName, String lastName) {
+    Mutation mutation = new Mutation(Endpoint.DELETE_MEDICAL_RECORD);
+    mutation.setFirstName(firstName);
+    mutation.setLastName(lastName);
+    return mutation;
+  }
+}
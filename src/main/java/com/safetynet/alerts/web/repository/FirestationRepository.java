@@ -0,0 +1,36 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.safetynet.alerts.web.model.Firestation;
+
+/**
+ * Some javadoc.
+ *
+ * In-memory repository of the Firestation entities, indexed by station number
+ * and by each of the households they cover.
+ */
+@Repository
+public class FirestationRepository extends IndexedRepository<Firestation> {
+  private final Index<String, Firestation> byStation = createIndex(Firestation::getStation);
+  private final Index<Integer, Firestation> byHousehold = createMultiKeyIndex(Firestation::getIdHouseholds);
+
+  public FirestationRepository(VersionedStore versionedStore) {
+    super(versionedStore);
+  }
+
+  @Override
+  protected int getId(Firestation firestation) {
+    return firestation.getId();
+  }
+
+  public Firestation findByStation(String station) {
+    return byStation.getFirst(station);
+  }
+
+  public List<Firestation> findByIdHousehold(int idHousehold) {
+    return byHousehold.get(idHousehold);
+  }
+}
@@ -0,0 +1,34 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.safetynet.alerts.web.model.Household;
+
+/**
+ * Some javadoc.
+ *
+ * In-memory repository of the Household entities, indexed by address.
+ */
+@Repository
+public class HouseholdRepository extends IndexedRepository<Household> {
+  private final Index<String, Household> byAddress = createIndex(Household::getAddress);
+
+  public HouseholdRepository(VersionedStore versionedStore) {
+    super(versionedStore);
+  }
+
+  @Override
+  protected int getId(Household household) {
+    return household.getId();
+  }
+
+  public Household findByAddress(String address) {
+    return byAddress.getFirst(address);
+  }
+
+  public List<Household> findAllByAddress(String address) {
+    return byAddress.get(address);
+  }
+}
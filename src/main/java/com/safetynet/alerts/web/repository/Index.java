@@ -0,0 +1,198 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Some javadoc.
+ *
+ * Hash index linking a key extracted from an entity to all the entities
+ * sharing this key. An entity can be indexed under several keys (e.g. a
+ * firestation under each of its households).
+ *
+ * The entries are part of the versioned state of the repository, so a lookup
+ * reads the version seen by the current thread. They are kept in persistent
+ * maps, so a write only copies the nodes of the keys it changes.
+ *
+ * @param <K> The type of the key.
+ * @param <T> The type of the indexed entity.
+ */
+public class Index<K, T> {
+  private final IndexedRepository<T> repository;
+  private final int position;
+
+  Index(IndexedRepository<T> repository, int position) {
+    this.repository = repository;
+    this.position = position;
+  }
+
+  private Entries<K, T> entries() {
+    return repository.getIndexEntries(position);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves all the entities indexed under a key, in the order they were
+   * indexed.
+   *
+   * @param key The key to look up.
+   * @return A list of matching entities, empty if none.
+   */
+  public List<T> get(K key) {
+    PersistentIntMap<T> matching = entries().entries.get(key);
+    if (matching == null) {
+      return new ArrayList<>();
+    }
+    List<T> entities = new ArrayList<>(matching.size());
+    matching.forEach(entities::add);
+    return entities;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the first entity indexed under a key.
+   *
+   * @param key The key to look up.
+   * @return The first matching entity, or null if none.
+   */
+  public T getFirst(K key) {
+    PersistentIntMap<T> matching = entries().entries.get(key);
+    return matching == null ? null : matching.first();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks if at least one entity is indexed under a key.
+   *
+   * @param key The key to look up.
+   * @return True if the key has a match, otherwise false.
+   */
+  public boolean containsKey(K key) {
+    return entries().entries.containsKey(key);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Entries of an index in one version of the repository. The entities of a key
+   * are ordered by the stamp given when they were indexed, so a re-indexed
+   * entity comes after the others. A copy shares all the maps of the original,
+   * and only copies the nodes it modifies.
+   *
+   * @param <K> The type of the key.
+   * @param <T> The type of the indexed entity.
+   */
+  static final class Entries<K, T> {
+    private final Function<T, Collection<K>> keysExtractor;
+    private final Object owner;
+    private final PersistentHashMap<K, PersistentIntMap<T>> entries;
+    private final PersistentIntMap<Indexed<K>> indexedById;
+    private int lastStamp;
+
+    Entries(Function<T, Collection<K>> keysExtractor, Object owner) {
+      this(keysExtractor, owner, new PersistentHashMap<>(owner), new PersistentIntMap<>(owner), 0);
+    }
+
+    private Entries(Function<T, Collection<K>> keysExtractor, Object owner,
+        PersistentHashMap<K, PersistentIntMap<T>> entries, PersistentIntMap<Indexed<K>> indexedById,
+        int lastStamp) {
+      this.keysExtractor = keysExtractor;
+      this.owner = owner;
+      this.entries = entries;
+      this.indexedById = indexedById;
+      this.lastStamp = lastStamp;
+    }
+
+    Entries<K, T> copy(Object newOwner) {
+      return new Entries<>(keysExtractor, newOwner, entries.copy(newOwner), indexedById.copy(newOwner), lastStamp);
+    }
+
+    Entries<K, T> empty(Object newOwner) {
+      return new Entries<>(keysExtractor, newOwner);
+    }
+
+    /**
+     * Some javadoc.
+     *
+     * Keys under which an entity is indexed, with its stamp.
+     */
+    private static final class Indexed<K> {
+      private final List<K> keys;
+      private final int stamp;
+
+      private Indexed(List<K> keys, int stamp) {
+        this.keys = keys;
+        this.stamp = stamp;
+      }
+    }
+
+    /**
+     * Some javadoc.
+     *
+     * Adds or re-indexes an entity. The keys used previously for this id are
+     * removed first, so an entity mutated in place stays consistent.
+     *
+     * @param id     The id of the entity.
+     * @param entity The entity to index.
+     */
+    void put(int id, T entity) {
+      remove(id);
+      Collection<K> extractedKeys = keysExtractor.apply(entity);
+      List<K> keys = extractedKeys == null ? new ArrayList<>() : new ArrayList<>(extractedKeys);
+      int stamp = ++lastStamp;
+      for (K key : keys) {
+        modifiableEntries(key).put(stamp, entity);
+      }
+      indexedById.put(id, new Indexed<>(keys, stamp));
+    }
+
+    /**
+     * Some javadoc.
+     *
+     * Removes an entity from the index.
+     *
+     * @param id The id of the entity to remove.
+     */
+    void remove(int id) {
+      Indexed<K> indexed = indexedById.remove(id);
+      if (indexed == null) {
+        return;
+      }
+      for (K key : indexed.keys) {
+        if (entries.containsKey(key)) {
+          PersistentIntMap<T> matching = modifiableEntries(key);
+          matching.remove(indexed.stamp);
+          if (matching.isEmpty()) {
+            entries.remove(key);
+          }
+        }
+      }
+    }
+
+    /**
+     * Some javadoc.
+     *
+     * Retrieves the entities of a key to modify, copied the first time since they
+     * may be shared with a published version.
+     *
+     * @param key The key.
+     * @return The modifiable entities of the key.
+     */
+    private PersistentIntMap<T> modifiableEntries(K key) {
+      PersistentIntMap<T> matching = entries.get(key);
+      if (matching == null) {
+        matching = new PersistentIntMap<>(owner);
+        entries.put(key, matching);
+      } else if (matching.getOwner() != owner) {
+        matching = matching.copy(owner);
+        entries.put(key, matching);
+      }
+      return matching;
+    }
+  }
+}
@@ -0,0 +1,297 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Some javadoc.
+ *
+ * In-memory repository storing entities in a trie keyed by their id, with a
+ * set of secondary hash indexes. Every save and delete keeps the primary key
+ * and all the indexes consistent, so lookups take O(log32 n) instead of a scan
+ * of the whole list. The ids are allocated in sequence and never reused, so
+ * their order is the insertion order.
+ *
+ * The entities and the indexes form a versioned state: the queries read the
+ * version pinned by their thread, while a save or a delete modifies a copy
+ * published at the end of the enclosing write. The copy shares the nodes of
+ * the published tries, so a write costs O(log32 n) by changed entry instead of
+ * a copy of the whole repository.
+ *
+ * @param <T> The type of the stored entity.
+ */
+public abstract class IndexedRepository<T> {
+  private final Versions versions;
+  private final Versioned<State<T>> state;
+
+  /**
+   * Some javadoc.
+   *
+   * Entities and index entries of one version of the repository. All the maps
+   * of a copy share their nodes with the original, and belong to the write
+   * which copied them.
+   *
+   * @param <T> The type of the stored entity.
+   */
+  private static final class State<T> {
+    private final Object owner;
+    private final PersistentIntMap<T> entities;
+    private final List<Index.Entries<?, T>> indexes;
+    private int lastId;
+    private long modificationCount;
+
+    private State() {
+      this.owner = new Object();
+      this.entities = new PersistentIntMap<>(owner);
+      this.indexes = new ArrayList<>();
+    }
+
+    private State(Object owner, PersistentIntMap<T> entities, List<Index.Entries<?, T>> indexes, int lastId,
+        long modificationCount) {
+      this.owner = owner;
+      this.entities = entities;
+      this.indexes = indexes;
+      this.lastId = lastId;
+      this.modificationCount = modificationCount;
+    }
+
+    private State<T> copy() {
+      Object newOwner = new Object();
+      List<Index.Entries<?, T>> copiedIndexes = new ArrayList<>();
+      for (Index.Entries<?, T> index : indexes) {
+        copiedIndexes.add(index.copy(newOwner));
+      }
+      return new State<>(newOwner, entities.copy(newOwner), copiedIndexes, lastId, modificationCount);
+    }
+
+    private State<T> empty() {
+      Object newOwner = new Object();
+      List<Index.Entries<?, T>> emptyIndexes = new ArrayList<>();
+      for (Index.Entries<?, T> index : indexes) {
+        emptyIndexes.add(index.empty(newOwner));
+      }
+      return new State<>(newOwner, new PersistentIntMap<>(newOwner), emptyIndexes, 0, modificationCount);
+    }
+
+    /**
+     * Some javadoc.
+     *
+     * Stores an entity at its id.
+     *
+     * @param id     The id of the entity.
+     * @param entity The entity.
+     * @throws IllegalArgumentException If the id is negative.
+     */
+    private void put(int id, T entity) {
+      if (id < 0) {
+        throw new IllegalArgumentException("Invalid id : " + id);
+      }
+      entities.put(id, entity);
+      lastId = Math.max(lastId, id);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates a repository whose state is versioned by a store.
+   *
+   * @param versionedStore The store giving the version read by each query.
+   */
+  protected IndexedRepository(VersionedStore versionedStore) {
+    this.versions = versionedStore.getVersions();
+    this.state = versions.create(new State<>(), State::copy);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the primary key of an entity.
+   *
+   * @param entity The entity.
+   * @return The id of the entity.
+   */
+  protected abstract int getId(T entity);
+
+  /**
+   * Some javadoc.
+   *
+   * Creates a secondary index on a single key of the entity.
+   *
+   * @param keyExtractor The function returning the key of an entity.
+   * @return The created index.
+   */
+  protected <K> Index<K, T> createIndex(Function<T, K> keyExtractor) {
+    return createMultiKeyIndex(entity -> Collections.singletonList(keyExtractor.apply(entity)));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates a secondary index where an entity can have several keys.
+   *
+   * @param keysExtractor The function returning the keys of an entity.
+   * @return The created index.
+   */
+  protected <K> Index<K, T> createMultiKeyIndex(Function<T, Collection<K>> keysExtractor) {
+    return versions.write(() -> {
+      State<T> modifiedState = state.edit();
+      modifiedState.indexes.add(new Index.Entries<>(keysExtractor, modifiedState.owner));
+      return new Index<>(this, modifiedState.indexes.size() - 1);
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  <K> Index.Entries<K, T> getIndexEntries(int position) {
+    return (Index.Entries<K, T>) state.get().indexes.get(position);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Replaces the whole content of the repository.
+   *
+   * @param newEntities The entities to store.
+   */
+  public void setAll(List<T> newEntities) {
+    setAll(newEntities, 0);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Replaces the whole content of the repository, restoring the last id
+   * allocated along with it. The ids of the entities deleted before the content
+   * was saved are then never allocated again.
+   *
+   * @param newEntities The entities to store.
+   * @param lastId      The last id allocated, raised to the highest id stored.
+   */
+  public void setAll(List<T> newEntities, int lastId) {
+    versions.write(() -> {
+      State<T> emptyState = state.get().empty();
+      emptyState.modificationCount++;
+      state.set(emptyState);
+      if (newEntities != null) {
+        for (T entity : newEntities) {
+          save(entity);
+        }
+      }
+      State<T> modifiedState = state.edit();
+      modifiedState.lastId = Math.max(modifiedState.lastId, lastId);
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Saves a new entity or re-indexes an existing one after an update.
+   *
+   * @param entity The entity to save.
+   */
+  public void save(T entity) {
+    versions.write(() -> {
+      State<T> modifiedState = state.edit();
+      int id = getId(entity);
+      modifiedState.put(id, entity);
+      for (Index.Entries<?, T> index : modifiedState.indexes) {
+        index.put(id, entity);
+      }
+      modifiedState.modificationCount++;
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Deletes an entity and its index entries.
+   *
+   * @param entity The entity to delete.
+   * @return True if the entity was stored, otherwise false.
+   */
+  public boolean delete(T entity) {
+    return versions.write(() -> {
+      int id = getId(entity);
+      if (!state.get().entities.containsKey(id)) {
+        return false;
+      }
+      State<T> modifiedState = state.edit();
+      modifiedState.entities.remove(id);
+      for (Index.Entries<?, T> index : modifiedState.indexes) {
+        index.remove(id);
+      }
+      modifiedState.modificationCount++;
+      return true;
+    });
+  }
+
+  public T findById(int id) {
+    return state.get().entities.get(id);
+  }
+
+  public boolean existsById(int id) {
+    return state.get().entities.containsKey(id);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves all the entities in the order of their id.
+   *
+   * @return A list of entities.
+   */
+  public List<T> findAll() {
+    PersistentIntMap<T> entities = state.get().entities;
+    List<T> all = new ArrayList<>(entities.size());
+    entities.forEach(all::add);
+    return all;
+  }
+
+  public int count() {
+    return state.get().entities.size();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the next free id. Ids are never reused after a deletion, so they
+   * can't collide with a stored entity.
+   *
+   * @return The next id.
+   */
+  public int nextId() {
+    return state.get().lastId + 1;
+  }
+
+  public int getLastId() {
+    return state.get().lastId;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reserves the next free id for a new entity. The allocation is part of the
+   * enclosing write, so two writers never get the same id, and two allocations
+   * in the same write get different ids even before their entities are saved.
+   *
+   * @return The allocated id.
+   */
+  public int allocateId() {
+    return versions.write(() -> ++state.edit().lastId);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the number of changes made to the repository so far. It only
+   * grows, so two different values mean that the content has changed.
+   *
+   * @return The modification count.
+   */
+  public long getModificationCount() {
+    return state.get().modificationCount;
+  }
+}
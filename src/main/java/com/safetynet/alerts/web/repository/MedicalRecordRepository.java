@@ -0,0 +1,28 @@
+package com.safetynet.alerts.web.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.safetynet.alerts.web.model.MedicalRecord;
+
+/**
+ * Some javadoc.
+ *
+ * In-memory repository of the MedicalRecord entities, indexed by person.
+ */
+@Repository
+public class MedicalRecordRepository extends IndexedRepository<MedicalRecord> {
+  private final Index<Integer, MedicalRecord> byPerson = createIndex(MedicalRecord::getIdPerson);
+
+  public MedicalRecordRepository(VersionedStore versionedStore) {
+    super(versionedStore);
+  }
+
+  @Override
+  protected int getId(MedicalRecord medicalRecord) {
+    return medicalRecord.getId();
+  }
+
+  public MedicalRecord findByIdPerson(int idPerson) {
+    return byPerson.getFirst(idPerson);
+  }
+}
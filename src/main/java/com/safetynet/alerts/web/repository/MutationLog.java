@@ -0,0 +1,418 @@
+package com.safetynet.alerts.web.repository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.tinylog.Logger;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safetynet.alerts.web.model.Mutation;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Some javadoc.
+ *
+ * Append-only log of the mutations applied through the CRUD endpoints, replayed
+ * at startup on top of the base data. Each record is framed by its length and a
+ * CRC32 checksum, so a record torn by a crash is detected and cut off.
+ *
+ * Appends use group commit: the calling threads queue their record and wait,
+ * while a single writer thread drains the queue, writes the whole batch and
+ * forces it to disk once. A burst of updates then costs one fsync per batch
+ * instead of one per mutation. The log is disabled when the "alerts.wal.path"
+ * property is empty.
+ *
+ * A failed write or fsync is fatal: the state of the file on disk is then
+ * unknown, so the log fails every pending and later append instead of trying
+ * again, and reports its failure to the health endpoint. The application must
+ * be restarted, which replays the log up to its last valid record.
+ */
+@Repository
+public class MutationLog {
+  public static final int MAX_BATCH_SIZE = 1024;
+
+  private final String path;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+  private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+  private final ThreadLocal<List<PendingRecord>> deferredRecords = new ThreadLocal<>();
+  private final ThreadLocal<Boolean> replaying = new ThreadLocal<>();
+
+  private FileChannel channel;
+  private Thread writer;
+  private volatile boolean running;
+  private volatile IOException failure;
+  private long lastSequence;
+
+  public MutationLog(@Value("${alerts.wal.path:}") String path) {
+    this.path = path;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * A record waiting in the queue until its batch is on disk.
+   */
+  private static final class PendingRecord {
+    private final byte[] frame;
+    private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+    private PendingRecord(byte[] frame) {
+      this.frame = frame;
+    }
+  }
+
+  public boolean isEnabled() {
+    return path != null && !path.isBlank();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads the mutations of the log in order. A torn or corrupted record ends the
+   * log: it is removed with everything after it.
+   *
+   * @return The logged mutations, empty if the log is disabled or missing.
+   * @throws IOException If the log cannot be read.
+   */
+  public synchronized List<Mutation> readAll() throws IOException {
+    List<Mutation> mutations = new ArrayList<>();
+    if (!isEnabled() || !Files.isRegularFile(Path.of(path))) {
+      return mutations;
+    }
+    Path file = Path.of(path);
+    long validLength = 0;
+    try (InputStream fileStream = Files.newInputStream(file);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(fileStream, 1 << 16))) {
+      while (true) {
+        int length;
+        long checksum;
+        byte[] payload;
+        try {
+          length = in.readInt();
+          checksum = in.readInt() & 0xFFFFFFFFL;
+          if (length < 0) {
+            break;
+          }
+          payload = in.readNBytes(length);
+        } catch (EOFException e) {
+          break;
+        }
+        if (payload.length != length || checksum(payload) != checksum) {
+          break;
+        }
+        Mutation mutation = objectMapper.readValue(payload, Mutation.class);
+        mutations.add(mutation);
+        lastSequence = Math.max(lastSequence, mutation.getSequence());
+        validLength += Integer.BYTES * 2 + length;
+      }
+    }
+    if (validLength < Files.size(file)) {
+      Logger.warn("Mutation log " + path + " truncated after " + mutations.size() + " valid records.");
+      try (FileChannel truncatedChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        truncatedChannel.truncate(validLength);
+      }
+    }
+    return mutations;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Opens the log for appending and starts the writer thread. The mutations
+   * applied before, such as the ones replayed from the log, are not logged.
+   *
+   * @throws IOException If the log cannot be opened.
+   */
+  public void open() throws IOException {
+    open(0);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Opens the log for appending, numbering the next mutations after a minimum
+   * sequence. The loaded data may contain mutations which are no longer in the
+   * log, such as a snapshot taken before a crash cut the end of the log, and
+   * the next mutations must come after them to be replayed on top of it.
+   *
+   * @param minimumSequence The sequence of the last mutation in the loaded data.
+   * @throws IOException If the log cannot be opened.
+   */
+  public synchronized void open(long minimumSequence) throws IOException {
+    if (!isEnabled() || channel != null) {
+      return;
+    }
+    lastSequence = Math.max(lastSequence, minimumSequence);
+    Path file = Path.of(path).toAbsolutePath();
+    Files.createDirectories(file.getParent());
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+    running = true;
+    writer = new Thread(this::writeBatches, "mutation-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Appends a mutation and waits until it is on disk, or until the end of the
+   * enclosing deferDurability call. Does nothing if the log is disabled or if
+   * the mutation is replayed from the log.
+   *
+   * @param mutation The mutation applied.
+   * @throws UncheckedIOException  If the mutation cannot be written, or if the
+   *                               log has failed.
+   * @throws IllegalStateException If the log is enabled but not open, so the
+   *                               mutation would be lost.
+   */
+  public void append(Mutation mutation) {
+    PendingRecord record;
+    synchronized (this) {
+      if (!running) {
+        if (isEnabled() && replaying.get() == null) {
+          throw new IllegalStateException("The mutation log " + path + " is not open, the mutation can't be logged.");
+        }
+        return;
+      }
+      checkWritable();
+      mutation.setSequence(++lastSequence);
+      try {
+        record = new PendingRecord(frame(objectMapper.writeValueAsBytes(mutation)));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      queue.add(record);
+    }
+    List<PendingRecord> deferred = deferredRecords.get();
+    if (deferred != null) {
+      deferred.add(record);
+    } else {
+      awaitDurable(record);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs an action applying mutations read from the log, which are not appended
+   * again.
+   *
+   * @param action The action.
+   */
+  public void replay(Runnable action) {
+    replaying.set(Boolean.TRUE);
+    try {
+      action.run();
+    } finally {
+      replaying.remove();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs an action appending mutations, and only waits until they are on disk
+   * once the action is done, for example after a lock has been released.
+   *
+   * @param action The action.
+   * @param <T>    The result type.
+   * @return The result of the action.
+   * @throws UncheckedIOException If a mutation cannot be written.
+   */
+  public <T> T deferDurability(Supplier<T> action) {
+    if (deferredRecords.get() != null) {
+      return action.get();
+    }
+    List<PendingRecord> deferred = new ArrayList<>();
+    deferredRecords.set(deferred);
+    T result;
+    try {
+      result = action.get();
+    } finally {
+      deferredRecords.remove();
+    }
+    for (PendingRecord record : deferred) {
+      awaitDurable(record);
+    }
+    return result;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks that the log still accepts mutations, so a write can be refused
+   * before it changes anything.
+   *
+   * @throws UncheckedIOException If the log has failed.
+   */
+  public void checkWritable() {
+    IOException cause = failure;
+    if (cause != null) {
+      throw new UncheckedIOException("The mutation log has failed, no mutation is accepted anymore.", cause);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the failure which stopped the log.
+   *
+   * @return The failure, or null if the log works.
+   */
+  public IOException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Stops the log after a failed write or fsync. Only the first failure is kept.
+   *
+   * @param cause The failure.
+   */
+  synchronized void fail(IOException cause) {
+    if (failure == null) {
+      failure = cause;
+      Logger.error("Unable to write the mutation log " + path + ", no mutation is accepted anymore : "
+          + cause.getMessage());
+    }
+  }
+
+  private static void awaitDurable(PendingRecord record) {
+    try {
+      record.durable.join();
+    } catch (CompletionException e) {
+      throw new UncheckedIOException("Unable to write the mutation log.", (IOException) e.getCause());
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Loop of the writer thread: writes and forces the queued records batch by
+   * batch, then wakes up the threads waiting for them. Once a batch has failed,
+   * the next ones are failed without being written.
+   */
+  private void writeBatches() {
+    List<PendingRecord> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      IOException batchFailure = failure;
+      if (batchFailure == null) {
+        try {
+          writeBatch(batch);
+        } catch (IOException e) {
+          fail(e);
+          batchFailure = e;
+        }
+      }
+      for (PendingRecord record : batch) {
+        if (batchFailure == null) {
+          record.durable.complete(null);
+        } else {
+          record.durable.completeExceptionally(batchFailure);
+        }
+      }
+      batch.clear();
+    }
+  }
+
+  private void writeBatch(List<PendingRecord> batch) throws IOException {
+    int size = 0;
+    for (PendingRecord record : batch) {
+      size += record.frame.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (PendingRecord record : batch) {
+      buffer.put(record.frame);
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(false);
+  }
+
+  public synchronized long getLastSequence() {
+    return lastSequence;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes the queued records and closes the log.
+   *
+   * @throws IOException If the log cannot be closed.
+   */
+  @PreDestroy
+  public void close() throws IOException {
+    Thread writerThread;
+    synchronized (this) {
+      if (channel == null) {
+        return;
+      }
+      running = false;
+      writerThread = writer;
+    }
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (this) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  private static byte[] frame(byte[] payload) throws IOException {
+    ByteArrayOutputStream frame = new ByteArrayOutputStream(Integer.BYTES * 2 + payload.length);
+    DataOutputStream out = new DataOutputStream(frame);
+    out.writeInt(payload.length);
+    out.writeInt((int) checksum(payload));
+    out.write(payload);
+    return frame.toByteArray();
+  }
+
+  private static long checksum(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return crc.getValue();
+  }
+}
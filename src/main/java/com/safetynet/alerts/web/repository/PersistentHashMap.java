@@ -0,0 +1,156 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.Objects;
+
+/**
+ * Some javadoc.
+ *
+ * Map of any keys stored in a PersistentIntMap by hash, so it shares its nodes
+ * with its copies in the same way. The keys sharing a hash are chained in an
+ * immutable list.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class PersistentHashMap<K, V> {
+  private final PersistentIntMap<Entry<K, V>> buckets;
+  private int size;
+
+  PersistentHashMap(Object owner) {
+    this(new PersistentIntMap<>(owner), 0);
+  }
+
+  private PersistentHashMap(PersistentIntMap<Entry<K, V>> buckets, int size) {
+    this.buckets = buckets;
+    this.size = size;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Key and value of the map, chained to the other ones of the same hash.
+   */
+  private static final class Entry<K, V> {
+    private final K key;
+    private final V value;
+    private final Entry<K, V> next;
+
+    private Entry(K key, V value, Entry<K, V> next) {
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Copies the map for an owner, sharing all its nodes.
+   *
+   * @param owner The owner of the copy.
+   * @return The map itself if it already belongs to this owner, else the copy.
+   */
+  PersistentHashMap<K, V> copy(Object owner) {
+    return owner == buckets.getOwner() ? this : new PersistentHashMap<>(buckets.copy(owner), size);
+  }
+
+  int size() {
+    return size;
+  }
+
+  private static int hash(Object key) {
+    int hash = Objects.hashCode(key);
+    return hash ^ (hash >>> 16);
+  }
+
+  V get(K key) {
+    for (Entry<K, V> entry = buckets.get(hash(key)); entry != null; entry = entry.next) {
+      if (Objects.equals(entry.key, key)) {
+        return entry.value;
+      }
+    }
+    return null;
+  }
+
+  V getOrDefault(K key, V defaultValue) {
+    V value = get(key);
+    return value != null ? value : defaultValue;
+  }
+
+  boolean containsKey(K key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Associates a value with a key, replacing its previous value.
+   *
+   * @param key   The key.
+   * @param value The value, not null.
+   * @throws NullPointerException If the value is null.
+   */
+  void put(K key, V value) {
+    if (value == null) {
+      throw new NullPointerException("A persistent map can't hold null values.");
+    }
+    int hash = hash(key);
+    Entry<K, V> bucket = buckets.get(hash);
+    Entry<K, V> others = without(bucket, key);
+    if (others == bucket) {
+      size++;
+    }
+    buckets.put(hash, new Entry<>(key, value, others));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Removes a key and its value.
+   *
+   * @param key The key.
+   * @return The removed value, or null if the key was absent.
+   */
+  V remove(K key) {
+    int hash = hash(key);
+    Entry<K, V> bucket = buckets.get(hash);
+    Entry<K, V> others = without(bucket, key);
+    if (others == bucket) {
+      return null;
+    }
+    size--;
+    if (others == null) {
+      buckets.remove(hash);
+    } else {
+      buckets.put(hash, others);
+    }
+    return get(bucket, key);
+  }
+
+  private static <K, V> V get(Entry<K, V> bucket, K key) {
+    for (Entry<K, V> entry = bucket; entry != null; entry = entry.next) {
+      if (Objects.equals(entry.key, key)) {
+        return entry.value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the entries of a bucket without a key, copying the ones before it.
+   *
+   * @return The bucket itself if the key is absent.
+   */
+  private static <K, V> Entry<K, V> without(Entry<K, V> bucket, K key) {
+    if (bucket == null) {
+      return null;
+    }
+    if (Objects.equals(bucket.key, key)) {
+      return bucket.next;
+    }
+    Entry<K, V> next = without(bucket.next, key);
+    return next == bucket.next ? bucket : new Entry<>(bucket.key, bucket.value, next);
+  }
+}
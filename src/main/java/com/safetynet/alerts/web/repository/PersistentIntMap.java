@@ -0,0 +1,325 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.function.Consumer;
+
+/**
+ * Some javadoc.
+ *
+ * Map of int keys stored in a trie of 32-way nodes, each of them only holding
+ * its present slots. The nodes are shared between the copies of the map, so a
+ * copy costs O(1) and a change only copies the O(log32 n) nodes on the path of
+ * its key. The values are iterated in the unsigned order of their keys.
+ *
+ * Each copy has its own owner: the nodes it created are modified in place,
+ * while the nodes it shares with other copies are copied the first time they
+ * are modified. A map published in a version must not be modified anymore, so
+ * it is copied by the next write before its first change.
+ *
+ * @param <V> The type of the values.
+ */
+final class PersistentIntMap<V> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_SHIFT = 30;
+
+  private final Object owner;
+  private Node root;
+  private int shift;
+  private int size;
+
+  PersistentIntMap(Object owner) {
+    this(owner, null, 0, 0);
+  }
+
+  private PersistentIntMap(Object owner, Node root, int shift, int size) {
+    this.owner = owner;
+    this.root = root;
+    this.shift = shift;
+    this.size = size;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Node of the trie: the slots of its present indexes in order, each of them
+   * holding a child node or a value with its key.
+   */
+  private static final class Node {
+    private final Object owner;
+    private int bitmap;
+    private int[] keys;
+    private Object[] slots;
+
+    private Node(Object owner, int bitmap, int[] keys, Object[] slots) {
+      this.owner = owner;
+      this.bitmap = bitmap;
+      this.keys = keys;
+      this.slots = slots;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Copies the map for an owner, sharing all its nodes.
+   *
+   * @param newOwner The owner of the copy.
+   * @return The map itself if it already belongs to this owner, else the copy.
+   */
+  PersistentIntMap<V> copy(Object newOwner) {
+    return newOwner == owner ? this : new PersistentIntMap<>(newOwner, root, shift, size);
+  }
+
+  Object getOwner() {
+    return owner;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  private static boolean fits(int key, int shift) {
+    return shift >= MAX_SHIFT || (key >>> shift >>> BITS) == 0;
+  }
+
+  private static int index(Node node, int bit) {
+    return Integer.bitCount(node.bitmap & (bit - 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  V get(int key) {
+    Node node = root;
+    if (node == null || !fits(key, shift)) {
+      return null;
+    }
+    for (int level = shift;; level -= BITS) {
+      int bit = 1 << ((key >>> level) & MASK);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      int i = index(node, bit);
+      Object slot = node.slots[i];
+      if (slot instanceof Node child) {
+        node = child;
+      } else {
+        return node.keys[i] == key ? (V) slot : null;
+      }
+    }
+  }
+
+  V getOrDefault(int key, V defaultValue) {
+    V value = get(key);
+    return value != null ? value : defaultValue;
+  }
+
+  boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Associates a value with a key, replacing its previous value.
+   *
+   * @param key   The key.
+   * @param value The value, not null.
+   * @throws NullPointerException If the value is null.
+   */
+  void put(int key, V value) {
+    if (value == null) {
+      throw new NullPointerException("A persistent map can't hold null values.");
+    }
+    if (root == null) {
+      shift = 0;
+      while (!fits(key, shift)) {
+        shift += BITS;
+      }
+      root = new Node(owner, 1 << ((key >>> shift) & MASK), new int[] { key }, new Object[] { value });
+      size = 1;
+      return;
+    }
+    while (!fits(key, shift)) {
+      // The keys already stored have no bit above the root, so they all go in
+      // the first slot of the new root :
+      root = new Node(owner, 1, new int[1], new Object[] { root });
+      shift += BITS;
+    }
+    root = put(root, shift, key, value);
+  }
+
+  private Node put(Node node, int level, int key, Object value) {
+    int bit = 1 << ((key >>> level) & MASK);
+    int i = index(node, bit);
+    if ((node.bitmap & bit) == 0) {
+      size++;
+      Node edited = editable(node);
+      edited.keys = insert(edited.keys, i, key);
+      edited.slots = insert(edited.slots, i, value);
+      edited.bitmap |= bit;
+      return edited;
+    }
+    Object slot = node.slots[i];
+    Object updated;
+    if (slot instanceof Node child) {
+      updated = put(child, level - BITS, key, value);
+    } else if (node.keys[i] == key) {
+      updated = value;
+    } else {
+      size++;
+      updated = pair(level - BITS, node.keys[i], slot, key, value);
+    }
+    if (updated == slot) {
+      return node;
+    }
+    Node edited = editable(node);
+    edited.slots[i] = updated;
+    return edited;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates the subtrie of two values whose keys share the bits above a level.
+   */
+  private Node pair(int level, int key1, Object value1, int key2, Object value2) {
+    int index1 = (key1 >>> level) & MASK;
+    int index2 = (key2 >>> level) & MASK;
+    if (index1 == index2) {
+      return new Node(owner, 1 << index1, new int[1],
+          new Object[] { pair(level - BITS, key1, value1, key2, value2) });
+    }
+    int bitmap = (1 << index1) | (1 << index2);
+    return index1 < index2
+        ? new Node(owner, bitmap, new int[] { key1, key2 }, new Object[] { value1, value2 })
+        : new Node(owner, bitmap, new int[] { key2, key1 }, new Object[] { value2, value1 });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Removes a key and its value.
+   *
+   * @param key The key.
+   * @return The removed value, or null if the key was absent.
+   */
+  V remove(int key) {
+    V value = get(key);
+    if (value != null) {
+      root = remove(root, shift, key);
+      size--;
+      if (root == null) {
+        shift = 0;
+      }
+    }
+    return value;
+  }
+
+  private Node remove(Node node, int level, int key) {
+    int bit = 1 << ((key >>> level) & MASK);
+    int i = index(node, bit);
+    Object slot = node.slots[i];
+    if (slot instanceof Node child) {
+      Node updated = remove(child, level - BITS, key);
+      if (updated != null) {
+        Node edited = editable(node);
+        if (updated.bitmap == Integer.lowestOneBit(updated.bitmap) && !(updated.slots[0] instanceof Node)) {
+          // A single value left in the child is moved up, so the paths stay short :
+          edited.keys[i] = updated.keys[0];
+          edited.slots[i] = updated.slots[0];
+        } else {
+          edited.slots[i] = updated;
+        }
+        return edited;
+      }
+    }
+    if (node.bitmap == bit) {
+      return null;
+    }
+    Node edited = editable(node);
+    edited.keys = delete(edited.keys, i);
+    edited.slots = delete(edited.slots, i);
+    edited.bitmap &= ~bit;
+    return edited;
+  }
+
+  private Node editable(Node node) {
+    return node.owner == owner ? node : new Node(owner, node.bitmap, node.keys.clone(), node.slots.clone());
+  }
+
+  private static int[] insert(int[] array, int i, int value) {
+    int[] inserted = new int[array.length + 1];
+    System.arraycopy(array, 0, inserted, 0, i);
+    inserted[i] = value;
+    System.arraycopy(array, i, inserted, i + 1, array.length - i);
+    return inserted;
+  }
+
+  private static Object[] insert(Object[] array, int i, Object value) {
+    Object[] inserted = new Object[array.length + 1];
+    System.arraycopy(array, 0, inserted, 0, i);
+    inserted[i] = value;
+    System.arraycopy(array, i, inserted, i + 1, array.length - i);
+    return inserted;
+  }
+
+  private static int[] delete(int[] array, int i) {
+    int[] deleted = new int[array.length - 1];
+    System.arraycopy(array, 0, deleted, 0, i);
+    System.arraycopy(array, i + 1, deleted, i, deleted.length - i);
+    return deleted;
+  }
+
+  private static Object[] delete(Object[] array, int i) {
+    Object[] deleted = new Object[array.length - 1];
+    System.arraycopy(array, 0, deleted, 0, i);
+    System.arraycopy(array, i + 1, deleted, i, deleted.length - i);
+    return deleted;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the value of the lowest key.
+   *
+   * @return The first value, or null if the map is empty.
+   */
+  @SuppressWarnings("unchecked")
+  V first() {
+    Node node = root;
+    if (node == null) {
+      return null;
+    }
+    while (node.slots[0] instanceof Node child) {
+      node = child;
+    }
+    return (V) node.slots[0];
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs an action on each value, in the order of the keys.
+   *
+   * @param action The action.
+   */
+  void forEach(Consumer<? super V> action) {
+    if (root != null) {
+      forEach(root, action);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> void forEach(Node node, Consumer<? super V> action) {
+    for (Object slot : node.slots) {
+      if (slot instanceof Node child) {
+        forEach(child, action);
+      } else {
+        action.accept((V) slot);
+      }
+    }
+  }
+}
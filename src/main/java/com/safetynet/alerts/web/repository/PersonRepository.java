@@ -0,0 +1,43 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.safetynet.alerts.web.model.Person;
+
+/**
+ * Some javadoc.
+ *
+ * In-memory repository of the Person entities, indexed by first and last
+ * name, by city and by household.
+ */
+@Repository
+public class PersonRepository extends IndexedRepository<Person> {
+  private final Index<List<String>, Person> byName = createIndex(
+      person -> Arrays.asList(person.getFirstName(), person.getLastName()));
+  private final Index<String, Person> byCity = createIndex(Person::getCity);
+  private final Index<Integer, Person> byHousehold = createIndex(Person::getIdHousehold);
+
+  public PersonRepository(VersionedStore versionedStore) {
+    super(versionedStore);
+  }
+
+  @Override
+  protected int getId(Person person) {
+    return person.getId();
+  }
+
+  public Person findByFirstAndLastName(String firstName, String lastName) {
+    return byName.getFirst(Arrays.asList(firstName, lastName));
+  }
+
+  public List<Person> findByCity(String city) {
+    return byCity.get(city);
+  }
+
+  public List<Person> findByIdHousehold(int idHousehold) {
+    return byHousehold.get(idHousehold);
+  }
+}
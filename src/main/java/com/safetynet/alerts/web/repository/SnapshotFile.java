@@ -0,0 +1,207 @@
+package com.safetynet.alerts.web.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.safetynet.alerts.web.communUtilts.MappedFileInputStream;
+import com.safetynet.alerts.web.model.Dataset;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+
+/**
+ * Some javadoc.
+ *
+ * Versioned binary snapshot of the converted domain. The file starts with a
+ * magic number, the format version and the fingerprint of the dataset source it
+ * was built from, the sequence of the last logged mutation it contains and the
+ * last id allocated for each entity, followed by the households, firestations,
+ * persons and medical records, each section prefixed by its size. It is written
+ * to a temporary file then moved in place, and read back in a single sequential
+ * pass.
+ */
+public class SnapshotFile {
+  public static final int MAGIC = 0x53414C54;
+  public static final int VERSION = 3;
+
+  private final Path path;
+
+  public SnapshotFile(Path path) {
+    this.path = path;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes a snapshot of the domain, replacing the previous one atomically.
+   *
+   * @param dataset     The domain to save.
+   * @param fingerprint The fingerprint of the dataset source.
+   * @throws IOException If the snapshot cannot be written.
+   */
+  public void write(Dataset dataset, String fingerprint) throws IOException {
+    Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream fileStream = Files.newOutputStream(temporaryFile);
+          DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream, 1 << 16))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(fingerprint);
+        out.writeLong(dataset.getLastSequence());
+        out.writeInt(dataset.getLastHouseholdId());
+        out.writeInt(dataset.getLastFirestationId());
+        out.writeInt(dataset.getLastPersonId());
+        out.writeInt(dataset.getLastMedicalRecordId());
+
+        out.writeInt(dataset.getHouseholds().size());
+        for (Household household : dataset.getHouseholds()) {
+          out.writeInt(household.getId());
+          writeString(out, household.getAddress());
+        }
+        out.writeInt(dataset.getFirestations().size());
+        for (Firestation firestation : dataset.getFirestations()) {
+          out.writeInt(firestation.getId());
+          writeString(out, firestation.getStation());
+          List<Integer> idHouseholds = firestation.getIdHouseholds();
+          out.writeInt(idHouseholds == null ? -1 : idHouseholds.size());
+          if (idHouseholds != null) {
+            for (int idHousehold : idHouseholds) {
+              out.writeInt(idHousehold);
+            }
+          }
+        }
+        out.writeInt(dataset.getPersons().size());
+        for (Person person : dataset.getPersons()) {
+          out.writeInt(person.getId());
+          out.writeInt(person.getIdHousehold());
+          writeString(out, person.getFirstName());
+          writeString(out, person.getLastName());
+          writeString(out, person.getCity());
+          writeString(out, person.getZip());
+          writeString(out, person.getPhone());
+          writeString(out, person.getEmail());
+        }
+        out.writeInt(dataset.getMedicalRecords().size());
+        for (MedicalRecord medicalRecord : dataset.getMedicalRecords()) {
+          out.writeInt(medicalRecord.getId());
+          out.writeInt(medicalRecord.getIdPerson());
+          writeString(out, medicalRecord.getBirthdate());
+          writeStrings(out, medicalRecord.getMedications());
+          writeStrings(out, medicalRecord.getAllergies());
+        }
+      }
+      Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads the snapshot if it exists and was built from the same dataset source.
+   *
+   * @param fingerprint The fingerprint of the current dataset source.
+   * @return The saved domain, or null if the snapshot is missing, stale or of
+   *         another format version.
+   * @throws IOException If the snapshot is corrupted.
+   */
+  public Dataset read(String fingerprint) throws IOException {
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new MappedFileInputStream(path))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(fingerprint)) {
+        return null;
+      }
+      long lastSequence = in.readLong();
+      int lastHouseholdId = in.readInt();
+      int lastFirestationId = in.readInt();
+      int lastPersonId = in.readInt();
+      int lastMedicalRecordId = in.readInt();
+
+      int householdsNumber = in.readInt();
+      List<Household> households = new ArrayList<>(householdsNumber);
+      for (int i = 0; i < householdsNumber; i++) {
+        households.add(new Household(in.readInt(), readString(in)));
+      }
+      int firestationsNumber = in.readInt();
+      List<Firestation> firestations = new ArrayList<>(firestationsNumber);
+      for (int i = 0; i < firestationsNumber; i++) {
+        Firestation firestation = new Firestation();
+        firestation.setId(in.readInt());
+        firestation.setStation(readString(in));
+        int idHouseholdsNumber = in.readInt();
+        if (idHouseholdsNumber >= 0) {
+          List<Integer> idHouseholds = new ArrayList<>(idHouseholdsNumber);
+          for (int j = 0; j < idHouseholdsNumber; j++) {
+            idHouseholds.add(in.readInt());
+          }
+          firestation.setIdHouseholds(idHouseholds);
+        }
+        firestations.add(firestation);
+      }
+      int personsNumber = in.readInt();
+      List<Person> persons = new ArrayList<>(personsNumber);
+      for (int i = 0; i < personsNumber; i++) {
+        persons.add(new Person(in.readInt(), in.readInt(), readString(in), readString(in), readString(in),
+            readString(in), readString(in), readString(in)));
+      }
+      int medicalRecordsNumber = in.readInt();
+      List<MedicalRecord> medicalRecords = new ArrayList<>(medicalRecordsNumber);
+      for (int i = 0; i < medicalRecordsNumber; i++) {
+        medicalRecords.add(new MedicalRecord(in.readInt(), in.readInt(), readString(in), readStrings(in),
+            readStrings(in)));
+      }
+      return new Dataset(households, firestations, persons, medicalRecords, lastSequence, lastHouseholdId,
+          lastFirestationId, lastPersonId, lastMedicalRecordId);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+    out.writeInt(values == null ? -1 : values.size());
+    if (values != null) {
+      for (String value : values) {
+        writeString(out, value);
+      }
+    }
+  }
+
+  private static List<String> readStrings(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      return null;
+    }
+    List<String> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(readString(in));
+    }
+    return values;
+  }
+}
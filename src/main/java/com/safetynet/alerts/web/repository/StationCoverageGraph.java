@@ -0,0 +1,183 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Person;
+
+/**
+ * Some javadoc.
+ *
+ * Materialized adjacency structure linking a station number to the IDs of the
+ * households it covers, and a household ID to the IDs of its residents.
+ *
+ * It is updated incrementally by the FirestationService and PersonService
+ * mutators, so a station query only walks the persons it returns. The arrays
+ * returned are shared and must not be modified by the callers.
+ *
+ * Both maps form a versioned state, read in the version pinned by the current
+ * thread and copied by the first change of a write. They are persistent maps,
+ * so the copy shares their nodes and a change only copies the path of its key.
+ */
+@Repository
+public class StationCoverageGraph {
+  private static final int[] NONE = new int[0];
+
+  private final Versions versions;
+  private final Versioned<State> state;
+
+  /**
+   * Some javadoc.
+   *
+   * Edges of one version of the graph. The arrays are replaced, never modified,
+   * so a copy of the maps is enough.
+   */
+  private static final class State {
+    private final PersistentHashMap<String, int[]> householdsByStation;
+    private final PersistentIntMap<int[]> personsByHousehold;
+
+    private State(PersistentHashMap<String, int[]> householdsByStation, PersistentIntMap<int[]> personsByHousehold) {
+      this.householdsByStation = householdsByStation;
+      this.personsByHousehold = personsByHousehold;
+    }
+
+    private State copy() {
+      Object newOwner = new Object();
+      return new State(householdsByStation.copy(newOwner), personsByHousehold.copy(newOwner));
+    }
+  }
+
+  public StationCoverageGraph(VersionedStore versionedStore) {
+    this.versions = versionedStore.getVersions();
+    Object owner = new Object();
+    this.state = versions.create(new State(new PersistentHashMap<>(owner), new PersistentIntMap<>(owner)),
+        State::copy);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Rebuilds the station to households edges from a list of firestations.
+   *
+   * @param firestations The list of firestations.
+   */
+  public void setFirestations(List<Firestation> firestations) {
+    versions.write(() -> {
+      Object owner = new Object();
+      state.set(new State(new PersistentHashMap<>(owner), state.get().personsByHousehold.copy(owner)));
+      for (Firestation firestation : firestations) {
+        putFirestation(firestation);
+      }
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Adds or replaces the households covered by a firestation.
+   *
+   * @param firestation The added or updated firestation.
+   */
+  public void putFirestation(Firestation firestation) {
+    List<Integer> idHouseholds = firestation.getIdHouseholds();
+    int[] households = new int[idHouseholds.size()];
+    for (int i = 0; i < households.length; i++) {
+      households[i] = idHouseholds.get(i);
+    }
+    versions.write(() -> {
+      state.edit().householdsByStation.put(firestation.getStation(), households);
+    });
+  }
+
+  public void removeFirestation(Firestation firestation) {
+    versions.write(() -> {
+      state.edit().householdsByStation.remove(firestation.getStation());
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Rebuilds the household to persons edges from a list of persons.
+   *
+   * @param persons The list of persons.
+   */
+  public void setPersons(List<Person> persons) {
+    versions.write(() -> {
+      Object owner = new Object();
+      state.set(new State(state.get().householdsByStation.copy(owner), new PersistentIntMap<>(owner)));
+      for (Person person : persons) {
+        addPerson(person.getIdHousehold(), person.getId());
+      }
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Links a person to a household.
+   *
+   * @param idHousehold The ID of the household.
+   * @param idPerson    The ID of the person.
+   */
+  public void addPerson(int idHousehold, int idPerson) {
+    versions.write(() -> {
+      PersistentIntMap<int[]> personsByHousehold = state.edit().personsByHousehold;
+      int[] persons = personsByHousehold.getOrDefault(idHousehold, NONE);
+      int[] updatedPersons = Arrays.copyOf(persons, persons.length + 1);
+      updatedPersons[persons.length] = idPerson;
+      personsByHousehold.put(idHousehold, updatedPersons);
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Unlinks a person from a household.
+   *
+   * @param idHousehold The ID of the household.
+   * @param idPerson    The ID of the person.
+   */
+  public void removePerson(int idHousehold, int idPerson) {
+    versions.write(() -> {
+      int[] persons = state.get().personsByHousehold.get(idHousehold);
+      if (persons == null) {
+        return;
+      }
+      PersistentIntMap<int[]> personsByHousehold = state.edit().personsByHousehold;
+      int[] updatedPersons = Arrays.stream(persons).filter(id -> id != idPerson).toArray();
+      if (updatedPersons.length == 0) {
+        personsByHousehold.remove(idHousehold);
+      } else {
+        personsByHousehold.put(idHousehold, updatedPersons);
+      }
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the IDs of the households covered by a station.
+   *
+   * @param station The station number.
+   * @return The IDs of the households, empty if the station does not exist.
+   */
+  public int[] getIdHouseholds(String station) {
+    return state.get().householdsByStation.getOrDefault(station, NONE);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the IDs of the persons living in a household.
+   *
+   * @param idHousehold The ID of the household.
+   * @return The IDs of the persons, empty if nobody lives there.
+   */
+  public int[] getIdPersons(int idHousehold) {
+    return state.get().personsByHousehold.getOrDefault(idHousehold, NONE);
+  }
+}
@@ -0,0 +1,66 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Some javadoc.
+ *
+ * Cell of state kept in the Versions of a VersionedStore: a query reads the
+ * state of the version pinned by its thread, while a write modifies a copy
+ * published at its end.
+ *
+ * The states must not be modified once published, so the entities they hold
+ * are replaced by updated copies instead of being modified in place, and their
+ * copies share their maps with the published state instead of copying them.
+ *
+ * @param <S> The type of the state.
+ */
+final class Versioned<S> {
+  private final Versions versions;
+  private final int slot;
+  private final UnaryOperator<S> copier;
+
+  Versioned(Versions versions, int slot, UnaryOperator<S> copier) {
+    this.versions = versions;
+    this.slot = slot;
+    this.copier = copier;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the state seen by the current thread: the one of its write in
+   * progress, else the one of its pinned version, else the latest published.
+   *
+   * @return The state, which must not be modified.
+   */
+  @SuppressWarnings("unchecked")
+  S get() {
+    return (S) versions.get(slot);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the state to modify in the write in progress, copied the first
+   * time.
+   *
+   * @return The modifiable state.
+   * @throws IllegalStateException If the thread is not in a write.
+   */
+  S edit() {
+    return versions.edit(slot, copier);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Replaces the whole state in the write in progress.
+   *
+   * @param state The new state.
+   * @throws IllegalStateException If the thread is not in a write.
+   */
+  void set(S state) {
+    versions.set(slot, state);
+  }
+}
@@ -0,0 +1,137 @@
+package com.safetynet.alerts.web.repository;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Some javadoc.
+ *
+ * Gives a consistent view of the in-memory data shared by the person,
+ * household, firestation and medical record repositories and the station
+ * coverage graph. A read pins the version of the data published when it starts
+ * for its whole duration, so a query never sees a mutation half applied across
+ * the repositories, and it never waits for a writer. The writes are serialized
+ * and publish all their changes at once when they end.
+ *
+ * A read or write made by a thread already in a write, such as a service calling
+ * another service, runs within it. The mutations logged during a write are
+ * waited for once it is published, so the writers share the mutation log fsyncs
+ * instead of holding the write lock during them. Each version also records the
+ * sequence of the last mutation it contains.
+ *
+ * A version is thus published before its mutations are on disk. If the log
+ * then fails to write them, they stay visible but may be lost by a restart, so
+ * the store refuses every later write and the health endpoint reports the
+ * failure until the application is restarted.
+ *
+ * The versions are kept by the store itself, so each application context has
+ * its own, and the repositories register their versioned state in the store
+ * they are created with.
+ */
+@Repository
+public class VersionedStore {
+  private final MutationLog mutationLog;
+  private final Versions versions = new Versions();
+  private final Versioned<Long> lastSequence = versions.create(0L, sequence -> sequence);
+
+  public VersionedStore(MutationLog mutationLog) {
+    this.mutationLog = mutationLog;
+  }
+
+  Versions getVersions() {
+    return versions;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a query on the current version of the data.
+   *
+   * @param action The query.
+   * @param <T>    The result type.
+   * @return The result of the query.
+   */
+  public <T> T read(Supplier<T> action) {
+    return versions.read(action);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Binds a query to the version of the data seen by the current thread, to run
+   * it on another thread as part of the same read.
+   *
+   * @param action The query.
+   * @param <T>    The result type.
+   * @return The query bound to the version.
+   * @throws IllegalStateException If the thread is in a write.
+   */
+  public <T> Supplier<T> bind(Supplier<T> action) {
+    return versions.bind(action);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a mutation and publishes it as a new version, then waits until the
+   * mutations it logged are on disk.
+   *
+   * @param action The mutation.
+   * @param <T>    The result type.
+   * @return The result of the mutation.
+   * @throws IllegalStateException If the thread is in a read.
+   * @throws UncheckedIOException  If the mutation log has failed.
+   */
+  public <T> T write(Supplier<T> action) {
+    mutationLog.checkWritable();
+    return mutationLog.deferDurability(() -> versions.write(() -> {
+      T result = action.get();
+      long sequence = mutationLog.getLastSequence();
+      if (lastSequence.get() != sequence) {
+        lastSequence.set(sequence);
+      }
+      return result;
+    }));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a mutation without result and publishes it as a new version.
+   *
+   * @param action The mutation.
+   */
+  public void write(Runnable action) {
+    write(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the number of the version seen by the current thread. The numbers
+   * only grow, so a result computed on a version is at least as recent as the
+   * changes published with a lower number.
+   *
+   * @return The version number.
+   */
+  public long getVersion() {
+    return versions.version();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the sequence of the last logged mutation contained in the version
+   * seen by the current thread.
+   *
+   * @return The mutation sequence, 0 if none.
+   */
+  public long getLastSequence() {
+    return lastSequence.get();
+  }
+}
@@ -0,0 +1,279 @@
+package com.safetynet.alerts.web.repository;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Some javadoc.
+ *
+ * Versions of the cells of a VersionedStore, so a query reads a consistent view
+ * of all its repositories while they are modified. Each published version is
+ * numbered, and holds the state of every cell in an immutable array.
+ *
+ * A read pins the version published when it starts and sees it until its end,
+ * without any lock. A write is serialized with the other writes of the store:
+ * it copies the state of a cell the first time it modifies it, then publishes
+ * all its copies at once as the new version. A write ending with an exception
+ * publishes nothing. An old version is garbage collected once the last read
+ * pinning it has ended.
+ *
+ * The versions belong to their store, so the cells of two application contexts
+ * never share a version, and are garbage collected with their store.
+ */
+final class Versions {
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ThreadLocal<Version> pinned = new ThreadLocal<>();
+  private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+  private volatile Version published = new Version(0, new Object[0]);
+
+  /**
+   * Some javadoc.
+   *
+   * A published version.
+   */
+  private static final class Version {
+    private final long number;
+    private final Object[] states;
+
+    private Version(long number, Object[] states) {
+      this.number = number;
+      this.states = states;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * The states modified by the write in progress on a thread, to be published
+   * as the next version.
+   */
+  private static final class Transaction {
+    private final long number;
+    private Object[] states;
+    private final BitSet copied = new BitSet();
+
+    private Transaction(Version base) {
+      this.number = base.number + 1;
+      this.states = base.states.clone();
+    }
+
+    private int add(Object state) {
+      int slot = states.length;
+      states = Arrays.copyOf(states, slot + 1);
+      states[slot] = state;
+      copied.set(slot);
+      return slot;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates a cell and publishes its initial state.
+   *
+   * @param initialState The initial state.
+   * @param copier       The function copying a state before its modification.
+   * @param <S>          The type of the state.
+   * @return The cell.
+   */
+  <S> Versioned<S> create(S initialState, UnaryOperator<S> copier) {
+    int slot = write(() -> transaction.get().add(initialState));
+    return new Versioned<>(this, slot, copier);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a query on the version published when it starts. A query made during
+   * another read or during a write runs within it.
+   *
+   * @param action The query.
+   * @param <T>    The result type.
+   * @return The result of the query.
+   */
+  <T> T read(Supplier<T> action) {
+    if (pinned.get() != null || transaction.get() != null) {
+      return action.get();
+    }
+    pinned.set(published);
+    try {
+      return action.get();
+    } finally {
+      pinned.remove();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Binds a query to the version seen by the current thread, so another thread
+   * running it reads the same version, even if newer ones are published
+   * meanwhile.
+   *
+   * @param action The query.
+   * @param <T>    The result type.
+   * @return The query bound to the version.
+   * @throws IllegalStateException If the thread is in a write, whose states
+   *                               are not published yet.
+   */
+  <T> Supplier<T> bind(Supplier<T> action) {
+    if (transaction.get() != null) {
+      throw new IllegalStateException("A query can't be bound to a write in progress.");
+    }
+    Version current = pinned.get();
+    Version version = current != null ? current : published;
+    return () -> {
+      Version previous = pinned.get();
+      pinned.set(version);
+      try {
+        return action.get();
+      } finally {
+        if (previous == null) {
+          pinned.remove();
+        } else {
+          pinned.set(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a mutation after the other writes, then publishes the states it
+   * modified as a new version. A write made during another write runs within it.
+   *
+   * @param action The mutation.
+   * @param <T>    The result type.
+   * @return The result of the mutation.
+   * @throws IllegalStateException If the thread is in a read.
+   */
+  <T> T write(Supplier<T> action) {
+    if (transaction.get() != null) {
+      return action.get();
+    }
+    if (pinned.get() != null) {
+      throw new IllegalStateException("A write can't be made during a read.");
+    }
+    writeLock.lock();
+    try {
+      Transaction current = new Transaction(published);
+      transaction.set(current);
+      T result;
+      try {
+        result = action.get();
+      } finally {
+        transaction.remove();
+      }
+      if (!current.copied.isEmpty()) {
+        published = new Version(current.number, current.states);
+      }
+      return result;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs a mutation without result after the other writes.
+   *
+   * @param action The mutation.
+   */
+  void write(Runnable action) {
+    write(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the number of the version seen by the current thread: the one its
+   * write in progress will publish, else its pinned version, else the latest
+   * published.
+   *
+   * @return The version number.
+   */
+  long version() {
+    Transaction current = transaction.get();
+    if (current != null) {
+      return current.number;
+    }
+    Version version = pinned.get();
+    return version != null ? version.number : published.number;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the state of a cell seen by the current thread: the one of its
+   * write in progress, else the one of its pinned version, else the latest
+   * published.
+   *
+   * @param slot The slot of the cell.
+   * @return The state, which must not be modified.
+   */
+  Object get(int slot) {
+    Transaction current = transaction.get();
+    if (current != null) {
+      return current.states[slot];
+    }
+    Version version = pinned.get();
+    if (version == null || slot >= version.states.length) {
+      version = published;
+    }
+    return version.states[slot];
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the state of a cell to modify in the write in progress, copied the
+   * first time.
+   *
+   * @param slot   The slot of the cell.
+   * @param copier The function copying the state.
+   * @return The modifiable state.
+   * @throws IllegalStateException If the thread is not in a write.
+   */
+  <S> S edit(int slot, UnaryOperator<S> copier) {
+    Transaction current = requireTransaction();
+    @SuppressWarnings("unchecked")
+    S state = (S) current.states[slot];
+    if (!current.copied.get(slot)) {
+      state = copier.apply(state);
+      current.states[slot] = state;
+      current.copied.set(slot);
+    }
+    return state;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Replaces the whole state of a cell in the write in progress.
+   *
+   * @param slot  The slot of the cell.
+   * @param state The new state.
+   * @throws IllegalStateException If the thread is not in a write.
+   */
+  void set(int slot, Object state) {
+    Transaction current = requireTransaction();
+    current.states[slot] = state;
+    current.copied.set(slot);
+  }
+
+  private Transaction requireTransaction() {
+    Transaction current = transaction.get();
+    if (current == null) {
+      throw new IllegalStateException("A versioned state can only be modified during a write.");
+    }
+    return current;
+  }
+}
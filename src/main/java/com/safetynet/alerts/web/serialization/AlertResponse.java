@@ -0,0 +1,162 @@
+package com.safetynet.alerts.web.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * Some javadoc.
+ *
+ * Body of an alert response. It only holds the fields to write, and writes them
+ * straight to the JsonGenerator bound to the HTTP response when Spring
+ * serializes the body, so no intermediate JSON tree is built.
+ *
+ * The output is compact unless the response is marked as pretty. A response
+ * kept in the cache also keeps its encoded bytes and the number of the data
+ * version it was computed on, so it is encoded once for all the requests asking
+ * for it. It also keeps the number of results it lists, for the metrics.
+ */
+public class AlertResponse extends JsonSerializable.Base {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final Map<String, FieldWriter> fields = new LinkedHashMap<>();
+  private boolean pretty;
+  private long version;
+  private int resultSize;
+  private volatile byte[] encoded;
+  private volatile AlertResponse prettyCopy;
+
+  /**
+   * Some javadoc.
+   *
+   * Writes the value of a field into the generator.
+   */
+  @FunctionalInterface
+  public interface FieldWriter {
+    void write(JsonGenerator gen) throws IOException;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Adds a field written by a custom writer.
+   *
+   * @param name   The field name.
+   * @param writer The writer of the field value.
+   * @return This response.
+   */
+  public AlertResponse field(String name, FieldWriter writer) {
+    fields.put(name, writer);
+    return this;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Adds a field serialized by a preconfigured ObjectWriter.
+   *
+   * @param name   The field name.
+   * @param writer The ObjectWriter of the alert type.
+   * @param value  The value to serialize.
+   * @return This response.
+   */
+  public AlertResponse field(String name, ObjectWriter writer, Object value) {
+    return field(name, gen -> writer.writeValue(gen, value));
+  }
+
+  public boolean isPretty() {
+    return pretty;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public int getResultSize() {
+    return resultSize;
+  }
+
+  public void setResultSize(int resultSize) {
+    this.resultSize = resultSize;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Copies the response with an indented output. The copy shares the fields, so
+   * a response kept in a cache is never modified by a request asking for it. The
+   * copy is kept with the response, so its bytes are encoded once too.
+   *
+   * @return The indented copy.
+   */
+  public AlertResponse pretty() {
+    if (pretty) {
+      return this;
+    }
+    AlertResponse copy = prettyCopy;
+    if (copy == null) {
+      copy = new AlertResponse();
+      copy.fields.putAll(fields);
+      copy.pretty = true;
+      copy.version = version;
+      copy.resultSize = resultSize;
+      prettyCopy = copy;
+    }
+    return copy;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Encodes the response in UTF-8 JSON, the first time only. Two threads
+   * encoding it at once produce the same bytes, so one of them is kept.
+   *
+   * @return The encoded bytes, which must not be modified.
+   */
+  public byte[] toBytes() {
+    byte[] bytes = encoded;
+    if (bytes == null) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+        serialize(gen, null);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      bytes = out.toByteArray();
+      encoded = bytes;
+    }
+    return bytes;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+    if (pretty && gen.getPrettyPrinter() == null) {
+      gen.useDefaultPrettyPrinter();
+    }
+    gen.writeStartObject();
+    for (Map.Entry<String, FieldWriter> entry : fields.entrySet()) {
+      gen.writeFieldName(entry.getKey());
+      entry.getValue().write(gen);
+    }
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, provider);
+  }
+}
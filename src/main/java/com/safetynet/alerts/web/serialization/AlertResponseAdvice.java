@@ -0,0 +1,111 @@
+package com.safetynet.alerts.web.serialization;
+
+import java.util.List;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Some javadoc.
+ *
+ * Prepares the alert responses before they are written.
+ *
+ * It switches them to indented JSON when the client asks for it, with the
+ * "pretty=true" request parameter or an Accept media type carrying a
+ * "pretty=true" parameter. Every other response stays compact.
+ *
+ * It also tags them with a strong ETag made of the data version they were
+ * computed on, prefixed by the start time of the application since the version
+ * numbers restart with it. A GET request whose If-None-Match matches the ETag
+ * gets a 304 Not Modified without body, so nothing is encoded.
+ */
+@ControllerAdvice
+public class AlertResponseAdvice implements ResponseBodyAdvice<Object> {
+  public static final String PRETTY = "pretty";
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (!(body instanceof AlertResponse alertResponse)) {
+      return body;
+    }
+    boolean pretty = isPrettyRequested(request);
+    String eTag = eTag(alertResponse, pretty);
+    response.getHeaders().setETag(eTag);
+    if (HttpMethod.GET.equals(request.getMethod()) && matches(request.getHeaders().getIfNoneMatch(), eTag)) {
+      response.setStatusCode(HttpStatus.NOT_MODIFIED);
+      return null;
+    }
+    return pretty ? alertResponse.pretty() : alertResponse;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Builds the ETag of a response. The compact and indented outputs have
+   * different bytes, so they have different ETags.
+   *
+   * @param alertResponse The response.
+   * @param pretty        True for the indented output.
+   * @return The quoted ETag.
+   */
+  String eTag(AlertResponse alertResponse, boolean pretty) {
+    return "\"" + epoch + "-" + alertResponse.getVersion() + (pretty ? "-" + PRETTY : "") + "\"";
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks whether the If-None-Match tags of a request match an ETag, with the
+   * weak comparison this header uses.
+   *
+   * @param ifNoneMatch The tags of the request.
+   * @param eTag        The ETag of the response.
+   * @return True if one of the tags matches, or is "*".
+   */
+  private boolean matches(List<String> ifNoneMatch, String eTag) {
+    for (String tag : ifNoneMatch) {
+      if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks whether a request asks for an indented answer.
+   *
+   * @param request The HTTP request.
+   * @return True if the request parameter or an accepted media type asks for it.
+   */
+  private boolean isPrettyRequested(ServerHttpRequest request) {
+    String parameter = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(PRETTY);
+    if (Boolean.parseBoolean(parameter)) {
+      return true;
+    }
+    for (MediaType mediaType : request.getHeaders().getAccept()) {
+      if (Boolean.parseBoolean(mediaType.getParameter(PRETTY))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
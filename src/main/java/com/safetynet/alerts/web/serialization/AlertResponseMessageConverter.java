@@ -0,0 +1,62 @@
+package com.safetynet.alerts.web.serialization;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Some javadoc.
+ *
+ * Writes the alert responses as JSON by copying their encoded bytes to the HTTP
+ * response, so a response served from the cache is not encoded again. It comes
+ * before the Jackson converter, and never reads a request body.
+ *
+ * Once a response is encoded, a listener can still add headers to it before
+ * its body is written.
+ */
+public class AlertResponseMessageConverter extends AbstractHttpMessageConverter<AlertResponse> {
+  private final Consumer<HttpHeaders> encodingListener;
+
+  public AlertResponseMessageConverter() {
+    this(headers -> {
+    });
+  }
+
+  public AlertResponseMessageConverter(Consumer<HttpHeaders> encodingListener) {
+    super(MediaType.APPLICATION_JSON);
+    this.encodingListener = encodingListener;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return AlertResponse.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected AlertResponse readInternal(Class<? extends AlertResponse> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("An alert response can't be read.", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(AlertResponse alertResponse, MediaType contentType) {
+    return (long) alertResponse.toBytes().length;
+  }
+
+  @Override
+  protected void writeInternal(AlertResponse alertResponse, HttpOutputMessage outputMessage) throws IOException {
+    byte[] bytes = alertResponse.toBytes();
+    encodingListener.accept(outputMessage.getHeaders());
+    outputMessage.getBody().write(bytes);
+  }
+}
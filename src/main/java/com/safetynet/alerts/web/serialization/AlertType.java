@@ -0,0 +1,17 @@
+package com.safetynet.alerts.web.serialization;
+
+/**
+ * Some javadoc.
+ *
+ * The alert features answered by the URLS endpoints. Each one has its own
+ * serializers registered in the SerializerRegistry.
+ */
+public enum AlertType {
+  FIRESTATION,
+  CHILD_ALERT,
+  PHONE_ALERT,
+  FIRE,
+  FLOOD,
+  PERSON_INFO,
+  COMMUNITY_EMAIL
+}
@@ -7,11 +7,7 @@ import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.Person;
 import com.safetynet.alerts.web.serialization.model.ChildAlert;
@@ -19,14 +15,6 @@ import com.safetynet.alerts.web.serialization.model.FireAlert;
 import com.safetynet.alerts.web.serialization.model.FirestationAlert;
 import com.safetynet.alerts.web.serialization.model.FloodAlertByHousehold;
 import com.safetynet.alerts.web.serialization.model.PersonInfoAlert;
-import com.safetynet.alerts.web.serialization.serializer.ChildAlertSerializer;
-import com.safetynet.alerts.web.serialization.serializer.CommunityEmailSerializer;
-import com.safetynet.alerts.web.serialization.serializer.FireAlertSerializer;
-import com.safetynet.alerts.web.serialization.serializer.FirestationAlertSerializer;
-import com.safetynet.alerts.web.serialization.serializer.FloodAlertSerializer;
-import com.safetynet.alerts.web.serialization.serializer.OtherResidentsSerializer;
-import com.safetynet.alerts.web.serialization.serializer.PersonInfoSerializer;
-import com.safetynet.alerts.web.serialization.serializer.PhoneAlertSerializer;
 
 /**
  * Some javadoc.
@@ -35,8 +23,7 @@ import com.safetynet.alerts.web.serialization.serializer.PhoneAlertSerializer;
  */
 @Service
 public class Serialization {
-  private ObjectMapper mapper;
-  private SimpleModule module;
+  private final SerializerRegistry serializers = new SerializerRegistry();
   private EndpointsLogger log = new EndpointsLogger();
 
   /**
@@ -50,31 +37,20 @@ public class Serialization {
    * @param minorsNumber      The number of minors.
    * @param adultsNumber      The number of adults.
    */
-  public ResponseEntity<ObjectNode> firestationAlertSerialization(List<FirestationAlert> firestationsAlert,
+  public ResponseEntity<AlertResponse> firestationAlertSerialization(List<FirestationAlert> firestationsAlert,
       String methodName,
       String argument,
       int minorsNumber, int adultsNumber) {
-    FirestationAlertSerializer firestationDao = new FirestationAlertSerializer(FirestationAlert.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(FirestationAlert.class, firestationDao);
-    mapper.registerModule(module);
-
-    try {
-      ObjectNode mainObject = mapper.createObjectNode();
-      ArrayNode personsCoveredArray = mapper.valueToTree(firestationsAlert);
-      mainObject.set("persons", personsCoveredArray);
-      ObjectNode adultsAndMinorsObject = mapper.createObjectNode();
-      adultsAndMinorsObject.put("adults", adultsNumber);
-      adultsAndMinorsObject.put("minors", minorsNumber);
-      mainObject.set("counters", adultsAndMinorsObject);
-
-      return log.successfullyGenerated(methodName, mainObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(methodName);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.FIRESTATION);
+    AlertResponse mainObject = new AlertResponse()
+        .field("persons", writer, firestationsAlert)
+        .field("counters", gen -> {
+          gen.writeStartObject();
+          gen.writeNumberField("adults", adultsNumber);
+          gen.writeNumberField("minors", minorsNumber);
+          gen.writeEndObject();
+        });
+    return log.successfullyGenerated(methodName, mainObject);
   }
 
   /**
@@ -87,30 +63,14 @@ public class Serialization {
    * @param method   The method name.
    * @param argument The argument value.
    */
-  public ResponseEntity<ObjectNode> childAlertSerialization(List<ChildAlert> children, List<ChildAlert> adults,
+  public ResponseEntity<AlertResponse> childAlertSerialization(List<ChildAlert> children, List<ChildAlert> adults,
       String method,
       String argument) {
-    ChildAlertSerializer childAlertDao = new ChildAlertSerializer(ChildAlert.class);
-    OtherResidentsSerializer otherResidentsDao = new OtherResidentsSerializer(Person.class);
-    SimpleModule childModule = new SimpleModule(), personModule = new SimpleModule();
-    childModule.addSerializer(ChildAlert.class, childAlertDao);
-    personModule.addSerializer(Person.class, otherResidentsDao);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    mapper.registerModule(childModule);
-    mapper.registerModule(personModule);
-
-    try {
-      ObjectNode childAlertObject = mapper.createObjectNode();
-      ArrayNode childAlertArray = mapper.valueToTree(children);
-      childAlertObject.set("children", childAlertArray);
-      ArrayNode residentsArray = mapper.valueToTree(adults);
-      childAlertObject.set("adults", residentsArray);
-      return log.successfullyGenerated(method, childAlertObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.CHILD_ALERT);
+    AlertResponse childAlertObject = new AlertResponse()
+        .field("children", writer, children)
+        .field("adults", writer, adults);
+    return log.successfullyGenerated(method, childAlertObject);
   }
 
   /**
@@ -122,23 +82,12 @@ public class Serialization {
    * @param method   The method name.
    * @param argument The argument value.
    */
-  public ResponseEntity<ObjectNode> phoneAlertSerialization(List<Person> persons, String method,
+  public ResponseEntity<AlertResponse> phoneAlertSerialization(List<Person> persons, String method,
       String argument) {
-    PhoneAlertSerializer phoneAlertDao = new PhoneAlertSerializer(Person.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(Person.class, phoneAlertDao);
-    mapper.registerModule(module);
-    try {
-      ObjectNode phoneAlertObject = mapper.createObjectNode();
-      ArrayNode phoneAlertArray = mapper.valueToTree(persons);
-      phoneAlertObject.set("phones", phoneAlertArray);
-      return log.successfullyGenerated(method, phoneAlertObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.PHONE_ALERT);
+    AlertResponse phoneAlertObject = new AlertResponse()
+        .field("phones", writer, persons);
+    return log.successfullyGenerated(method, phoneAlertObject);
   }
 
   /**
@@ -151,27 +100,18 @@ public class Serialization {
    * @param method            The method name.
    * @param argument          The argument value.
    */
-  public ResponseEntity<ObjectNode> fireSerialization(List<FireAlert> firesAlert, String firestationNumber,
+  public ResponseEntity<AlertResponse> fireSerialization(List<FireAlert> firesAlert, String firestationNumber,
       String method,
       String argument) {
-    FireAlertSerializer fireDao = new FireAlertSerializer(FireAlert.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(FireAlert.class, fireDao);
-    mapper.registerModule(module);
-    try {
-      ObjectNode fireObject = mapper.createObjectNode();
-      ArrayNode fireArray = mapper.valueToTree(firesAlert);
-      fireObject.set("persons", fireArray);
-      ObjectNode fireStationNumberObject = mapper.createObjectNode();
-      fireStationNumberObject.put("station", firestationNumber);
-      fireObject.set("stationServing", fireStationNumberObject);
-      return log.successfullyGenerated(method, fireObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.FIRE);
+    AlertResponse fireObject = new AlertResponse()
+        .field("persons", writer, firesAlert)
+        .field("stationServing", gen -> {
+          gen.writeStartObject();
+          gen.writeStringField("station", firestationNumber);
+          gen.writeEndObject();
+        });
+    return log.successfullyGenerated(method, fireObject);
   }
 
   /**
@@ -183,24 +123,13 @@ public class Serialization {
    * @param method                 The method name.
    * @param argument               The argument value.
    */
-  public ResponseEntity<ObjectNode> floodSerialization(List<FloodAlertByHousehold> floodsAlertByHousehold,
+  public ResponseEntity<AlertResponse> floodSerialization(List<FloodAlertByHousehold> floodsAlertByHousehold,
       String method,
       String argument) {
-    FloodAlertSerializer floodDao = new FloodAlertSerializer(FloodAlertByHousehold.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(FloodAlertByHousehold.class, floodDao);
-    mapper.registerModule(module);
-    try {
-      ObjectNode floodObject = mapper.createObjectNode();
-      ArrayNode floodArray = mapper.valueToTree(floodsAlertByHousehold);
-      floodObject.set("persons", floodArray);
-      return log.successfullyGenerated(method, floodObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.FLOOD);
+    AlertResponse floodObject = new AlertResponse()
+        .field("persons", writer, floodsAlertByHousehold);
+    return log.successfullyGenerated(method, floodObject);
   }
 
   /**
@@ -213,25 +142,13 @@ public class Serialization {
    * @param firstName       The first name.
    * @param lastName        The last name.
    */
-  public ResponseEntity<ObjectNode> personInfoSerialization(List<PersonInfoAlert> personInfoAlert, String method,
+  public ResponseEntity<AlertResponse> personInfoSerialization(List<PersonInfoAlert> personInfoAlert, String method,
       String firstName,
       String lastName) {
-    PersonInfoSerializer personeInfoDao = new PersonInfoSerializer(PersonInfoAlert.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(PersonInfoAlert.class, personeInfoDao);
-    mapper.registerModule(module);
-    try {
-      ObjectNode personInfoObject = mapper.createObjectNode();
-      ArrayNode personInfoArray = mapper.valueToTree(personInfoAlert);
-      personInfoObject.set("persons",
-          personInfoArray);
-      return log.successfullyGenerated(method, personInfoObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+    ObjectWriter writer = serializers.getWriter(AlertType.PERSON_INFO);
+    AlertResponse personInfoObject = new AlertResponse()
+        .field("persons", writer, personInfoAlert);
+    return log.successfullyGenerated(method, personInfoObject);
   }
 
   /**
@@ -243,23 +160,36 @@ public class Serialization {
    * @param method  The method name.
    * @param city    The city name.
    */
-  public ResponseEntity<ObjectNode> communityEmailSerialization(List<Person> persons, String method, String city) {
-    CommunityEmailSerializer communityEmailDao = new CommunityEmailSerializer(Person.class);
-    mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    module = new SimpleModule();
-    module.addSerializer(Person.class, communityEmailDao);
-    mapper.registerModule(module);
-    try {
-      ObjectNode emailObject = mapper.createObjectNode();
-      ArrayNode emailArray = mapper.valueToTree(persons);
-      emailObject.set("emails",
-          emailArray);
-      return log.successfullyGenerated(method, emailObject);
-    } catch (Exception e) {
-      System.out.println(e);
-      return log.threwAnException(method);
-    }
+  public ResponseEntity<AlertResponse> communityEmailSerialization(List<Person> persons, String method, String city) {
+    ObjectWriter writer = serializers.getWriter(AlertType.COMMUNITY_EMAIL);
+    AlertResponse emailObject = new AlertResponse()
+        .field("emails", writer, persons);
+    return log.successfullyGenerated(method, emailObject);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Serialize the answers of a batch of alert queries, in the order of the
+   * queries. An empty answer is written as null.
+   *
+   * @param answers List of the answer bodies.
+   * @param method  The method name.
+   */
+  public ResponseEntity<AlertResponse> batchSerialization(List<AlertResponse> answers, String method) {
+    AlertResponse batchObject = new AlertResponse()
+        .field("results", gen -> {
+          gen.writeStartArray();
+          for (AlertResponse answer : answers) {
+            if (answer == null) {
+              gen.writeNull();
+            } else {
+              answer.serialize(gen, null);
+            }
+          }
+          gen.writeEndArray();
+        });
+    return log.successfullyGenerated(method, batchObject);
   }
 
   /**
@@ -270,7 +200,7 @@ public class Serialization {
    * @param method   The method name.
    * @param argument The argument value.
    */
-  public ResponseEntity<ObjectNode> emptyAnswer(String method, String argument) {
+  public ResponseEntity<AlertResponse> emptyAnswer(String method, String argument) {
       return log.successfullyGenerated(method, null);
   }
 
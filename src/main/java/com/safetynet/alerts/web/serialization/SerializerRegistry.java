@@ -0,0 +1,93 @@
+package com.safetynet.alerts.web.serialization;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.serialization.model.ChildAlert;
+import com.safetynet.alerts.web.serialization.model.FireAlert;
+import com.safetynet.alerts.web.serialization.model.FirestationAlert;
+import com.safetynet.alerts.web.serialization.model.FloodAlertByHousehold;
+import com.safetynet.alerts.web.serialization.model.PersonInfoAlert;
+import com.safetynet.alerts.web.serialization.serializer.ChildAlertSerializer;
+import com.safetynet.alerts.web.serialization.serializer.CommunityEmailSerializer;
+import com.safetynet.alerts.web.serialization.serializer.FireAlertSerializer;
+import com.safetynet.alerts.web.serialization.serializer.FirestationAlertSerializer;
+import com.safetynet.alerts.web.serialization.serializer.FloodAlertSerializer;
+import com.safetynet.alerts.web.serialization.serializer.OtherResidentsSerializer;
+import com.safetynet.alerts.web.serialization.serializer.PersonInfoSerializer;
+import com.safetynet.alerts.web.serialization.serializer.PhoneAlertSerializer;
+
+/**
+ * Some javadoc.
+ *
+ * Registry of the preconfigured Jackson mappers and writers, one per alert
+ * type. It is built once and never modified afterwards, so the mappers keep
+ * their serializer cache and can be shared between request threads.
+ *
+ * The writers write into the generator of the HTTP response, so they neither
+ * flush it after each field nor change its pretty printer.
+ */
+public class SerializerRegistry {
+  private final Map<AlertType, ObjectMapper> mappers = new EnumMap<>(AlertType.class);
+  private final Map<AlertType, ObjectWriter> writers = new EnumMap<>(AlertType.class);
+
+  public SerializerRegistry() {
+    SimpleModule firestationModule = new SimpleModule();
+    firestationModule.addSerializer(FirestationAlert.class, new FirestationAlertSerializer(FirestationAlert.class));
+    register(AlertType.FIRESTATION, firestationModule);
+
+    SimpleModule childModule = new SimpleModule();
+    childModule.addSerializer(ChildAlert.class, new ChildAlertSerializer(ChildAlert.class));
+    childModule.addSerializer(Person.class, new OtherResidentsSerializer(Person.class));
+    register(AlertType.CHILD_ALERT, childModule);
+
+    SimpleModule phoneModule = new SimpleModule();
+    phoneModule.addSerializer(Person.class, new PhoneAlertSerializer(Person.class));
+    register(AlertType.PHONE_ALERT, phoneModule);
+
+    SimpleModule fireModule = new SimpleModule();
+    fireModule.addSerializer(FireAlert.class, new FireAlertSerializer(FireAlert.class));
+    register(AlertType.FIRE, fireModule);
+
+    SimpleModule floodModule = new SimpleModule();
+    floodModule.addSerializer(FloodAlertByHousehold.class, new FloodAlertSerializer(FloodAlertByHousehold.class));
+    register(AlertType.FLOOD, floodModule);
+
+    SimpleModule personInfoModule = new SimpleModule();
+    personInfoModule.addSerializer(PersonInfoAlert.class, new PersonInfoSerializer(PersonInfoAlert.class));
+    register(AlertType.PERSON_INFO, personInfoModule);
+
+    SimpleModule emailModule = new SimpleModule();
+    emailModule.addSerializer(Person.class, new CommunityEmailSerializer(Person.class));
+    register(AlertType.COMMUNITY_EMAIL, emailModule);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Creates the mapper and the writer of an alert type.
+   *
+   * @param alertType The alert type.
+   * @param module    The module holding the serializers of this alert type.
+   */
+  private void register(AlertType alertType, SimpleModule module) {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    mapper.registerModule(module);
+    mappers.put(alertType, mapper);
+    writers.put(alertType, mapper.writer());
+  }
+
+  public ObjectMapper getMapper(AlertType alertType) {
+    return mappers.get(alertType);
+  }
+
+  public ObjectWriter getWriter(AlertType alertType) {
+    return writers.get(alertType);
+  }
+}
@@ -1,7 +1,9 @@
 package com.safetynet.alerts.web.serialization.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
@@ -32,17 +34,48 @@ public class ChildAlertService {
    *         data.
    */
   public List<ChildAlert> getChildAlertListFromPersonList(List<Person> persons, List<MedicalRecord> medicalRecords) {
+    return getChildAlertListFromPersonsById(getPersonsById(persons), medicalRecords);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Indexes a list of Person objects by ID, so that several lists of ChildAlert
+   * objects can be generated from the same persons.
+   *
+   * @param persons The list of Person objects.
+   * @return The persons by ID, the first one being kept for a duplicated ID.
+   */
+  public Map<Integer, Person> getPersonsById(List<Person> persons) {
+    Map<Integer, Person> personsById = new HashMap<>();
+    for (Person person : persons) {
+      personsById.putIfAbsent(person.getId(), person);
+    }
+    return personsById;
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Generate a list of ChildAlert objects from Person objects indexed by ID and a
+   * list of MedicalRecord objects.
+   *
+   * @param personsById    The Person objects by ID.
+   * @param medicalRecords The list of MedicalRecord objects.
+   * @return A list of ChildAlert objects representing children found in the input
+   *         data.
+   */
+  public List<ChildAlert> getChildAlertListFromPersonsById(Map<Integer, Person> personsById,
+      List<MedicalRecord> medicalRecords) {
     List<ChildAlert> childrenAlert = new ArrayList<>();
     for (MedicalRecord medicalRecord : medicalRecords) {
-      for (Person person : persons) {
-        if (medicalRecord.getIdPerson() == person.getId()) {
-          ChildAlert childAlert = new ChildAlert();
-          childAlert.setFirstName(person.getFirstName());
-          childAlert.setLastName(person.getLastName());
-          childAlert.setAge(beanService.convertBirthdateToAge(medicalRecord.getBirthdate()));
-          childrenAlert.add(childAlert);
-          break;
-        }
+      Person person = personsById.get(medicalRecord.getIdPerson());
+      if (person != null) {
+        ChildAlert childAlert = new ChildAlert();
+        childAlert.setFirstName(person.getFirstName());
+        childAlert.setLastName(person.getLastName());
+        childAlert.setAge(beanService.convertEpochDayToAge(medicalRecord.getBirthdateEpochDay()));
+        childrenAlert.add(childAlert);
       }
     }
     return childrenAlert;
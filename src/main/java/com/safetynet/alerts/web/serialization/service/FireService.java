@@ -39,7 +39,7 @@ public class FireService {
           FireAlert fire = new FireAlert();
           fire.setLastName(person.getLastName());
           fire.setPhone(person.getPhone());
-          fire.setAge(beanService.convertBirthdateToAge(medicalRecord.getBirthdate()));
+          fire.setAge(beanService.convertEpochDayToAge(medicalRecord.getBirthdateEpochDay()));
           fire.setMedications(medicalRecord.getMedications());
           fire.setAllergies(medicalRecord.getAllergies());
           fires.add(fire);
@@ -1,7 +1,10 @@
 package com.safetynet.alerts.web.serialization.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
@@ -36,40 +39,45 @@ public class FloodService {
   public List<FloodAlertByHousehold> getFloodAlertByHousehold(List<Person> persons,
       List<MedicalRecord> medicalRecords,
       List<Household> households) {
-    // Create a list of FloodAlertByHousehold from each household :
-    List<FloodAlertByHousehold> floodsAlertByHousehold = new ArrayList<>();
+    // Create a FloodAlertByHousehold for each household :
+    Map<Integer, FloodAlertByHousehold> floodsByHousehold = new LinkedHashMap<>();
     for (Household household : households) {
       FloodAlertByHousehold floodAlertByHousehold = new FloodAlertByHousehold();
       floodAlertByHousehold.setHousehold(household);
-      floodsAlertByHousehold.add(floodAlertByHousehold);
+      floodsByHousehold.putIfAbsent(household.getId(), floodAlertByHousehold);
+    }
+
+    // Index the medical records by person :
+    Map<Integer, MedicalRecord> medicalRecordsByPerson = new HashMap<>();
+    for (MedicalRecord medicalRecord : medicalRecords) {
+      medicalRecordsByPerson.putIfAbsent(medicalRecord.getIdPerson(), medicalRecord);
     }
 
     // For each person creates a FloodAlert object and add this object inside
     // the corresponding FloodAlertByHousehold object :
     for (Person person : persons) {
-      for (MedicalRecord medicalRecord : medicalRecords) {
-        if (person.getId() == medicalRecord.getIdPerson()) {
-          FloodAlert flood = new FloodAlert();
-          flood.setLastName(person.getLastName());
-          flood.setPhone(person.getPhone());
-          flood.setAge(beanService.convertBirthdateToAge(medicalRecord.getBirthdate()));
-          flood.setMedications(medicalRecord.getMedications());
-          flood.setAllergies(medicalRecord.getAllergies());
-          for (FloodAlertByHousehold floodAlertByHousehold : floodsAlertByHousehold) {
-            if (floodAlertByHousehold.getHousehold().getId() == person.getIdHousehold()) {
-              if (floodAlertByHousehold.getFloods() == null) {
-                List<FloodAlert> floods = new ArrayList<>();
-                floods.add(flood);
-                floodAlertByHousehold.setFloods(floods);
-                break;
-              } else {
-                floodAlertByHousehold.getFloods().add(flood);
-                break;
-              }
-            }
-          }
-          break;
-        }
+      MedicalRecord medicalRecord = medicalRecordsByPerson.get(person.getId());
+      FloodAlertByHousehold floodAlertByHousehold = floodsByHousehold.get(person.getIdHousehold());
+      if (medicalRecord == null || floodAlertByHousehold == null) {
+        continue;
+      }
+      FloodAlert flood = new FloodAlert();
+      flood.setLastName(person.getLastName());
+      flood.setPhone(person.getPhone());
+      flood.setAge(beanService.convertEpochDayToAge(medicalRecord.getBirthdateEpochDay()));
+      flood.setMedications(medicalRecord.getMedications());
+      flood.setAllergies(medicalRecord.getAllergies());
+      if (floodAlertByHousehold.getFloods() == null) {
+        floodAlertByHousehold.setFloods(new ArrayList<>());
+      }
+      floodAlertByHousehold.getFloods().add(flood);
+    }
+
+    // Households without any resident are not part of the answer :
+    List<FloodAlertByHousehold> floodsAlertByHousehold = new ArrayList<>();
+    for (FloodAlertByHousehold floodAlertByHousehold : floodsByHousehold.values()) {
+      if (floodAlertByHousehold.getFloods() != null) {
+        floodsAlertByHousehold.add(floodAlertByHousehold);
       }
     }
     return floodsAlertByHousehold;
@@ -1,7 +1,9 @@
 package com.safetynet.alerts.web.serialization.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
@@ -19,17 +21,20 @@ import com.safetynet.alerts.web.serialization.model.FirestationAlert;
 @Service
 public class PersonCoveredService {
   public List<FirestationAlert> getPersonCoveredList(List<Person> persons, List<Household> households) {
+    Map<Integer, Household> householdsById = new HashMap<>();
+    for (Household household : households) {
+      householdsById.putIfAbsent(household.getId(), household);
+    }
     List<FirestationAlert> personsCovered = new ArrayList<>();
     for (Person person : persons) {
-      for (Household household : households) {
-        if (person.getIdHousehold() == household.getId()) {
-          FirestationAlert personCovered = new FirestationAlert();
-          personCovered.setFirstName(person.getFirstName());
-          personCovered.setLastName(person.getLastName());
-          personCovered.setPhone(person.getPhone());
-          personCovered.setAddress(household.getAddress());
-          personsCovered.add(personCovered);
-        }
+      Household household = householdsById.get(person.getIdHousehold());
+      if (household != null) {
+        FirestationAlert personCovered = new FirestationAlert();
+        personCovered.setFirstName(person.getFirstName());
+        personCovered.setLastName(person.getLastName());
+        personCovered.setPhone(person.getPhone());
+        personCovered.setAddress(household.getAddress());
+        personsCovered.add(personCovered);
       }
     }
     return personsCovered;
@@ -36,7 +36,7 @@ public class PersonInfoService {
     List<PersonInfoAlert> personsInfo = new ArrayList<>();
     PersonInfoAlert personInfo = new PersonInfoAlert();
     personInfo.setLastName(person.getLastName());
-    personInfo.setAge(beanService.convertBirthdateToAge(medicalRecord.getBirthdate()));
+    personInfo.setAge(beanService.convertEpochDayToAge(medicalRecord.getBirthdateEpochDay()));
     personInfo.setMail(person.getEmail());
     personInfo.setMedications(medicalRecord.getMedications());
     personInfo.setAllergies(medicalRecord.getAllergies());
@@ -0,0 +1,440 @@
+package com.safetynet.alerts.web.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.serialization.AlertResponse;
+
+/**
+ * Some javadoc.
+ *
+ * Bounded cache of the answers of the URLSService, keyed by endpoint and
+ * arguments. A hit only reads a concurrent map and stamps the answer with its
+ * access time, without any lock. Once the cache is full, the least recently
+ * used of a sample of answers is evicted, the samples going round the map.
+ * The cache is disabled when the "alerts.cache.size" property is 0.
+ *
+ * The mutators of the PersonService, FirestationService and
+ * MedicalRecordService invalidate the keys affected by their change. An
+ * invalidated key keeps a tombstone with the number of the version publishing
+ * the change, so an answer computed on an older version by a concurrent read is
+ * not cached again. The tombstones are kept apart from the answers, so they
+ * don't count in the size of the cache.
+ *
+ * An answer combining several keys, such as the flood answer of several
+ * stations, depends on them: it is stale once one of them has been invalidated
+ * after it was computed.
+ */
+@Service
+public class AlertCache {
+  // Number of answers compared to choose the one to evict :
+  private static final int EVICTION_SAMPLES = 8;
+
+  private final VersionedStore versionedStore;
+  private final HouseHoldService houseHoldService;
+  private final FirestationService firestationService;
+  private final int maximumSize;
+  private final ConcurrentMap<List<Object>, CachedAnswer> answers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<List<Object>, Long> tombstones = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final Object evictionLock = new Object();
+  private Iterator<Map.Entry<List<Object>, CachedAnswer>> evictionHand;
+  private volatile long minimumVersion;
+
+  /**
+   * Some javadoc.
+   *
+   * Creates the cache. The FirestationService itself invalidates the cache, so
+   * it is injected lazily.
+   *
+   * @param versionedStore     The store of the data.
+   * @param houseHoldService   The service of the households.
+   * @param firestationService The service of the firestations.
+   * @param maximumSize        The maximum number of answers, 0 to disable the
+   *                           cache.
+   */
+  public AlertCache(VersionedStore versionedStore, HouseHoldService houseHoldService,
+      @Lazy FirestationService firestationService, @Value("${alerts.cache.size:10000}") int maximumSize) {
+    this.versionedStore = versionedStore;
+    this.houseHoldService = houseHoldService;
+    this.firestationService = firestationService;
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * An answer with the number of the version it was computed on, and the time
+   * of its last access.
+   */
+  private static final class CachedAnswer {
+    private final ResponseEntity<AlertResponse> answer;
+    private final long version;
+    private volatile long lastAccess = System.nanoTime();
+
+    private CachedAnswer(ResponseEntity<AlertResponse> answer, long version) {
+      this.answer = answer;
+      this.version = version;
+    }
+  }
+
+  public boolean isEnabled() {
+    return maximumSize > 0;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Builds the key of an answer.
+   *
+   * @param endpoint  The endpoint.
+   * @param arguments The arguments of the request.
+   * @return The key.
+   */
+  public static List<Object> key(Endpoint endpoint, String... arguments) {
+    List<Object> key = new ArrayList<>(arguments.length + 1);
+    key.add(endpoint);
+    Collections.addAll(key, arguments);
+    return key;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves a cached answer, or computes it on the current version of the data
+   * and caches it. A computed answer is stamped with the number of this version.
+   *
+   * @param key    The key of the answer.
+   * @param loader The computation of the answer.
+   * @return The answer.
+   */
+  public ResponseEntity<AlertResponse> get(List<Object> key, Supplier<ResponseEntity<AlertResponse>> loader) {
+    return get(key, List.of(), loader);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves a cached answer depending on other keys, or computes it on the
+   * current version of the data and caches it. Called during a read, only an
+   * answer computed on a version up to the one it pinned is returned.
+   *
+   * @param key          The key of the answer.
+   * @param dependencies The keys whose invalidation makes the answer stale.
+   * @param loader       The computation of the answer.
+   * @return The answer.
+   */
+  public ResponseEntity<AlertResponse> get(List<Object> key, List<List<Object>> dependencies,
+      Supplier<ResponseEntity<AlertResponse>> loader) {
+    if (!isEnabled()) {
+      return versionedStore.read(() -> load(loader));
+    }
+    long version = versionedStore.getVersion();
+    CachedAnswer cached = answers.get(key);
+    if (cached != null && cached.version <= version && isFresh(cached.version, dependencies)) {
+      cached.lastAccess = System.nanoTime();
+      hits.increment();
+      return cached.answer;
+    }
+    misses.increment();
+    return versionedStore.read(() -> {
+      ResponseEntity<AlertResponse> answer = load(loader);
+      put(key, dependencies, answer, versionedStore.getVersion());
+      return answer;
+    });
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Computes an answer and stamps its body with the version it is computed on.
+   *
+   * @param loader The computation of the answer.
+   * @return The answer.
+   */
+  private ResponseEntity<AlertResponse> load(Supplier<ResponseEntity<AlertResponse>> loader) {
+    ResponseEntity<AlertResponse> answer = loader.get();
+    if (answer != null && answer.getBody() != null) {
+      answer.getBody().setVersion(versionedStore.getVersion());
+    }
+    return answer;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Caches an answer, unless the key or one of its dependencies has been
+   * invalidated by a version more recent than the one it was computed on. The
+   * tombstone of the key is checked again once the answer is cached, so an
+   * invalidation made meanwhile removes it either way.
+   *
+   * @param key          The key of the answer.
+   * @param dependencies The keys the answer depends on.
+   * @param answer       The answer.
+   * @param version      The number of the version the answer was computed on.
+   */
+  private void put(List<Object> key, List<List<Object>> dependencies, ResponseEntity<AlertResponse> answer,
+      long version) {
+    if (version < minimumVersion || isInvalidated(key, version) || !isFresh(version, dependencies)) {
+      return;
+    }
+    CachedAnswer computed = new CachedAnswer(answer, version);
+    CachedAnswer cached = answers.merge(key, computed,
+        (previous, next) -> previous.version > next.version ? previous : next);
+    if (cached != computed) {
+      return;
+    }
+    if (version < minimumVersion || isInvalidated(key, version)) {
+      answers.remove(key, computed);
+      return;
+    }
+    puts.increment();
+    if (answers.size() > maximumSize) {
+      evict();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks if a key has been invalidated by a version more recent than the one
+   * an answer was computed on.
+   *
+   * @param key     The key of the answer.
+   * @param version The number of the version the answer was computed on.
+   * @return True if the answer is stale.
+   */
+  private boolean isInvalidated(List<Object> key, long version) {
+    Long invalidation = tombstones.get(key);
+    return invalidation != null && invalidation > version;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks that no dependency of an answer has changed since the version it was
+   * computed on. A pruned tombstone of a dependency is only known through the
+   * minimum version, so an older answer is considered stale.
+   *
+   * @param version      The number of the version the answer was computed on.
+   * @param dependencies The keys the answer depends on.
+   * @return True if the answer is still fresh.
+   */
+  private boolean isFresh(long version, List<List<Object>> dependencies) {
+    if (dependencies.isEmpty()) {
+      return true;
+    }
+    if (version < minimumVersion) {
+      return false;
+    }
+    for (List<Object> dependency : dependencies) {
+      if (isInvalidated(dependency, version)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Evicts answers until the cache is back to its maximum size, each time the
+   * least recently used of the next sample of answers.
+   */
+  private void evict() {
+    synchronized (evictionLock) {
+      while (answers.size() > maximumSize) {
+        Map.Entry<List<Object>, CachedAnswer> eldest = null;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+          if (evictionHand == null || !evictionHand.hasNext()) {
+            evictionHand = answers.entrySet().iterator();
+            if (!evictionHand.hasNext()) {
+              return;
+            }
+          }
+          Map.Entry<List<Object>, CachedAnswer> entry = evictionHand.next();
+          if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+            eldest = entry;
+          }
+        }
+        if (answers.remove(eldest.getKey(), eldest.getValue())) {
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates an answer. Called during a write, it is invalidated for the
+   * version this write publishes. Once there are more tombstones than the
+   * maximum size of the cache, the older half is pruned and raises the minimum
+   * version of the answers accepted, so they still protect their keys.
+   *
+   * @param key The key of the answer.
+   */
+  public void invalidate(List<Object> key) {
+    if (!isEnabled()) {
+      return;
+    }
+    tombstones.merge(key, versionedStore.getVersion(), Math::max);
+    answers.remove(key);
+    if (tombstones.size() > maximumSize) {
+      pruneTombstones();
+    }
+  }
+
+  private void pruneTombstones() {
+    synchronized (tombstones) {
+      if (tombstones.size() <= maximumSize) {
+        return;
+      }
+      long[] versions = tombstones.values().stream().mapToLong(Long::longValue).sorted().toArray();
+      long pruned = versions[versions.length / 2];
+      minimumVersion = Math.max(minimumVersion, pruned);
+      tombstones.values().removeIf(version -> version <= pruned);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates the answers listing the households covered by a station.
+   *
+   * @param station The station number.
+   */
+  public void invalidateStation(String station) {
+    invalidate(key(Endpoint.PERSON_COVERED_BY_FIRE_STATION, station));
+    invalidate(key(Endpoint.PERSONS_PHONE_NUMBERS_COVERED_BY_STATION, station));
+    invalidate(key(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, station));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates the answers affected by a station starting or stopping to cover
+   * a household: the ones of the station, and the fire answer of the household
+   * which lists its stations.
+   *
+   * @param station   The station number.
+   * @param household The household.
+   */
+  public void invalidateCoverage(String station, Household household) {
+    if (!isEnabled()) {
+      return;
+    }
+    invalidateStation(station);
+    if (household != null) {
+      invalidate(key(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, household.getAddress()));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates the answers affected by the deletion of a firestation: the ones
+   * of the station, and the fire answers of all the households it covered.
+   *
+   * @param firestation The deleted firestation.
+   */
+  public void invalidateFirestation(Firestation firestation) {
+    if (!isEnabled()) {
+      return;
+    }
+    invalidateStation(firestation.getStation());
+    for (Household household : houseHoldService.getHouseholdsByIds(firestation.getIdHouseholds())) {
+      invalidate(key(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, household.getAddress()));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates the answers affected by a change of a person: the ones of the
+   * stations covering its household and of its address, its person info and the
+   * emails of its city.
+   *
+   * @param person The person added, deleted or before or after its update.
+   */
+  public void invalidatePerson(Person person) {
+    if (!isEnabled()) {
+      return;
+    }
+    Household household = houseHoldService.getHouseholdById(person.getIdHousehold());
+    if (household != null) {
+      for (Firestation firestation : firestationService.getFirestationsByHousehold(household)) {
+        invalidateStation(firestation.getStation());
+      }
+      invalidate(key(Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, household.getAddress()));
+      invalidate(key(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, household.getAddress()));
+    }
+    invalidate(key(Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME, person.getFirstName(), person.getLastName()));
+    invalidate(key(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, person.getCity()));
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Invalidates the answers using the medical record of a person: the ages and
+   * medical data of the stations covering its household and of its address, and
+   * its person info. The phone numbers and emails are not affected.
+   *
+   * @param person The person whose medical record changed.
+   */
+  public void invalidateMedicalRecord(Person person) {
+    if (!isEnabled()) {
+      return;
+    }
+    Household household = houseHoldService.getHouseholdById(person.getIdHousehold());
+    if (household != null) {
+      for (Firestation firestation : firestationService.getFirestationsByHousehold(household)) {
+        invalidate(key(Endpoint.PERSON_COVERED_BY_FIRE_STATION, firestation.getStation()));
+        invalidate(key(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, firestation.getStation()));
+      }
+      invalidate(key(Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, household.getAddress()));
+      invalidate(key(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, household.getAddress()));
+    }
+    invalidate(key(Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME, person.getFirstName(), person.getLastName()));
+  }
+
+  public long size() {
+    return answers.size();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getPutCount() {
+    return puts.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+}
@@ -0,0 +1,349 @@
+package com.safetynet.alerts.web.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.safetynet.alerts.web.communUtilts.RequestTrace;
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.serialization.AlertResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Some javadoc.
+ *
+ * Domain metrics of the alert endpoints and of the mutations, exposed on the
+ * metrics actuator:
+ * - alerts.requests, the latency of each alert endpoint with its percentiles,
+ * cache hits included. For an HTTP request, it runs until the response is
+ * encoded and written, so it includes the JSON encoding,
+ * - alerts.results, the number of persons (or queries for a batch) in each
+ * answer,
+ * - alerts.answers.empty, the number of empty answers of each endpoint,
+ * - alerts.mutations, the number of changes applied by each person, firestation
+ * and medicalRecord endpoint, the ones replayed at startup excluded,
+ * - alerts.stages, the duration of each stage of the alert requests, when the
+ * "alerts.tracing.enabled" property is true.
+ *
+ * All the meters are tagged with the method name of their endpoint and
+ * registered once, so recording a request only looks them up by enum ordinal
+ * and allocates nothing.
+ *
+ * The stages of a request are traced on its thread, from the beginning to the
+ * end of the HTTP request. The stages of its tasks run on other threads, such
+ * as the stations of a parallel flood query, are merged into it once each task
+ * ends. The serialization stage ends once the converter has
+ * encoded the response, which also writes the stages in a Server-Timing
+ * response header before the body when the "alerts.tracing.server-timing"
+ * property is true. When tracing is disabled, ending a stage only reads a field.
+ */
+@Service
+public class AlertMetrics {
+  private static final List<Endpoint> ALERTS = List.of(Endpoint.PERSON_COVERED_BY_FIRE_STATION,
+      Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, Endpoint.PERSONS_PHONE_NUMBERS_COVERED_BY_STATION,
+      Endpoint.STATION_AND_PERSONS_BY_ADDRESS, Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION,
+      Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME, Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, Endpoint.BATCH);
+  private static final List<Endpoint> MUTATIONS = List.of(Endpoint.ADD_PERSON,
+      Endpoint.UPDATE_PERSON_BY_FIRST_AND_LAST_NAME, Endpoint.DELETE_BY_FIRST_AND_LAST_NAME,
+      Endpoint.ADD_FIRESTATION, Endpoint.UPDATE_STATION_BY_ADDRESS, Endpoint.DELETE_STATION_AT_THIS_ADDRESS,
+      Endpoint.DELETE_FIRESTATION_BY_STATION, Endpoint.ADD_MEDICAL_RECORD, Endpoint.UPDATE_MEDICAL_RECORD,
+      Endpoint.DELETE_MEDICAL_RECORD);
+
+  private final Map<Endpoint, Timer> requests = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, DistributionSummary> results = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Counter> emptyAnswers = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Counter> mutations = new EnumMap<>(Endpoint.class);
+  private final Map<Endpoint, Timer[]> stages = new EnumMap<>(Endpoint.class);
+  private final boolean tracing;
+  private final boolean serverTiming;
+  private final ThreadLocal<Trace> traces = ThreadLocal.withInitial(Trace::new);
+
+  /**
+   * Some javadoc.
+   *
+   * The trace of the request handled by a thread, with the endpoint which
+   * answered it and the start time of its answer, and whether the thread
+   * replays logged mutations.
+   */
+  private static final class Trace extends RequestTrace {
+    private boolean handling;
+    private boolean replaying;
+    private Endpoint endpoint;
+    private long start;
+
+    private Trace() {
+      super(AlertStage.values().length);
+    }
+  }
+
+  public AlertMetrics(MeterRegistry registry, @Value("${alerts.tracing.enabled:false}") boolean tracing,
+      @Value("${alerts.tracing.server-timing:false}") boolean serverTiming) {
+    this.tracing = tracing;
+    this.serverTiming = tracing && serverTiming;
+    for (Endpoint endpoint : ALERTS) {
+      String method = endpoint.getMethodName();
+      requests.put(endpoint, Timer.builder("alerts.requests")
+          .description("Latency of the alert endpoint")
+          .tag("endpoint", method)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .register(registry));
+      results.put(endpoint, DistributionSummary.builder("alerts.results")
+          .description("Number of persons in the answers of the alert endpoint, of queries for a batch")
+          .tag("endpoint", method)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .register(registry));
+      emptyAnswers.put(endpoint, Counter.builder("alerts.answers.empty")
+          .description("Empty answers of the alert endpoint")
+          .tag("endpoint", method)
+          .register(registry));
+      if (tracing) {
+        Timer[] stageTimers = new Timer[AlertStage.values().length];
+        for (AlertStage stage : AlertStage.values()) {
+          stageTimers[stage.ordinal()] = Timer.builder("alerts.stages")
+              .description("Duration of a stage of the alert endpoint")
+              .tag("endpoint", method)
+              .tag("stage", stage.getStageName())
+              .register(registry);
+        }
+        stages.put(endpoint, stageTimers);
+      }
+    }
+    for (Endpoint endpoint : MUTATIONS) {
+      mutations.put(endpoint, Counter.builder("alerts.mutations")
+          .description("Changes applied by the endpoint")
+          .tag("endpoint", endpoint.getMethodName())
+          .register(registry));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Starts handling an HTTP request on the current thread, and tracing its
+   * stages.
+   */
+  public void begin() {
+    Trace trace = traces.get();
+    trace.handling = true;
+    trace.endpoint = null;
+    if (tracing) {
+      trace.begin();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends the current stage of the traced request. Does nothing when tracing is
+   * disabled, or outside of a traced request.
+   *
+   * @param stage The ended stage.
+   */
+  public void stage(AlertStage stage) {
+    if (tracing) {
+      traces.get().stage(stage.ordinal());
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Binds a task of the traced request to its trace, to run it on another
+   * thread: the stages of the task are traced on that thread, then merged into
+   * the request once it ends. The task is returned as is when tracing is
+   * disabled or outside of a traced request.
+   *
+   * @param task The task.
+   * @param <T>  The result type.
+   * @return The task bound to the trace of the request.
+   */
+  public <T> Supplier<T> fork(Supplier<T> task) {
+    if (!tracing) {
+      return task;
+    }
+    Trace request = traces.get();
+    if (!request.isActive()) {
+      return task;
+    }
+    return () -> {
+      Trace trace = traces.get();
+      if (trace == request) {
+        // Run by the requesting thread itself while it waits for the tasks :
+        return task.get();
+      }
+      trace.begin();
+      try {
+        return task.get();
+      } finally {
+        trace.end();
+        request.merge(trace);
+      }
+    };
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends the HTTP request handled by the current thread, once its response is
+   * written. If an alert endpoint answered it, records its latency and the
+   * duration of its stages.
+   */
+  public void end() {
+    Trace trace = traces.get();
+    if (!trace.handling) {
+      return;
+    }
+    trace.handling = false;
+    if (trace.endpoint == null) {
+      trace.end();
+      return;
+    }
+    requests.get(trace.endpoint).record(System.nanoTime() - trace.start, TimeUnit.NANOSECONDS);
+    if (!tracing) {
+      return;
+    }
+    trace.end();
+    Timer[] stageTimers = stages.get(trace.endpoint);
+    for (int stage = 0; stage < stageTimers.length; stage++) {
+      long duration = trace.getDuration(stage);
+      if (duration > 0) {
+        stageTimers[stage].record(duration, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Starts timing a request, ending the request stage of the trace.
+   *
+   * @return The start time, in nanoseconds.
+   */
+  public long start() {
+    stage(AlertStage.REQUEST);
+    return System.nanoTime();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Records the size of the answer of a request, or an empty answer. The latency
+   * of an HTTP request is recorded once its response is written, the one of any
+   * other request right away. The queries of a batch are not recorded, only
+   * the batch itself.
+   *
+   * @param endpoint The alert endpoint.
+   * @param start    The start time returned by start().
+   * @param answer   The answer.
+   * @return The answer.
+   */
+  public ResponseEntity<AlertResponse> record(Endpoint endpoint, long start, ResponseEntity<AlertResponse> answer) {
+    AlertResponse body = answer == null ? null : answer.getBody();
+    if (body == null) {
+      emptyAnswers.get(endpoint).increment();
+      results.get(endpoint).record(0);
+    } else {
+      results.get(endpoint).record(body.getResultSize());
+    }
+    Trace trace = traces.get();
+    if (!trace.handling) {
+      requests.get(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return answer;
+    }
+    trace.endpoint = endpoint;
+    trace.start = start;
+    if (tracing) {
+      trace.stage(AlertStage.CACHE.ordinal());
+    }
+    return answer;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Ends the serialization stage of the traced request once its response is
+   * encoded, and writes the duration of its stages in the Server-Timing header.
+   * It is called before the body is written, while the headers can still be
+   * modified.
+   *
+   * @param headers The headers of the HTTP response.
+   */
+  public void encoded(HttpHeaders headers) {
+    if (!tracing) {
+      return;
+    }
+    Trace trace = traces.get();
+    if (!trace.isActive() || trace.endpoint == null) {
+      return;
+    }
+    trace.stage(AlertStage.SERIALIZATION.ordinal());
+    if (serverTiming) {
+      headers.set("Server-Timing", serverTiming(trace));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Builds the Server-Timing header of the stages traced so far, in
+   * milliseconds.
+   *
+   * @param trace The trace of the request.
+   * @return The value of the header.
+   */
+  private String serverTiming(Trace trace) {
+    StringBuilder header = new StringBuilder();
+    for (AlertStage stage : AlertStage.values()) {
+      long duration = trace.getDuration(stage.ordinal());
+      if (duration > 0) {
+        if (header.length() > 0) {
+          header.append(", ");
+        }
+        header.append(stage.getStageName()).append(";dur=").append(duration / 1000 / 1000.0);
+      }
+    }
+    return header.toString();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Counts a change applied by an endpoint.
+   *
+   * @param endpoint The person, firestation or medicalRecord endpoint.
+   */
+  public void mutation(Endpoint endpoint) {
+    if (!traces.get().replaying) {
+      mutations.get(endpoint).increment();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Runs an action replaying logged mutations, which are not counted again.
+   *
+   * @param action The action.
+   */
+  public void replay(Runnable action) {
+    Trace trace = traces.get();
+    trace.replaying = true;
+    try {
+      action.run();
+    } finally {
+      trace.replaying = false;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.safetynet.alerts.web.service;
+
+/**
+ * Some javadoc.
+ *
+ * Stages of the computation of an alert answer, as traced by the AlertMetrics.
+ * The names are the ones of the metrics tags and of the Server-Timing header.
+ *
+ * The request stage is the handling of the request outside of the alert
+ * computation, the cache stage the lookup and storage of the answer, and the
+ * stations stage the parallel resolution of the stations of a flood query. The
+ * stages of the stations resolved in parallel are summed over the stations.
+ */
+public enum AlertStage {
+  REQUEST("request"),
+  CACHE("cache"),
+  HOUSEHOLDS("households"),
+  FIRESTATIONS("firestations"),
+  PERSONS("persons"),
+  MEDICAL_RECORDS("medicalRecords"),
+  GROUPING("grouping"),
+  STATIONS("stations"),
+  SERIALIZATION("serialization");
+
+  private final String stageName;
+
+  AlertStage(String stageName) {
+    this.stageName = stageName;
+  }
+
+  public String getStageName() {
+    return stageName;
+  }
+}
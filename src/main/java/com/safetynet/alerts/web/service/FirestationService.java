@@ -1,18 +1,22 @@
 package com.safetynet.alerts.web.service;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.Mutation;
+import com.safetynet.alerts.web.repository.FirestationRepository;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 /**
  * Some javadoc.
@@ -24,15 +28,36 @@ import com.safetynet.alerts.web.model.Household;
  */
 @Service
 public class FirestationService {
-  List<Firestation> firestations;
+  @Autowired
+  FirestationRepository firestationRepository;
 
   @Autowired
   HouseHoldService houseHoldService;
 
+  @Autowired
+  StationCoverageGraph coverageGraph;
+
+  @Autowired
+  MutationLog mutationLog;
+
+  @Autowired
+  VersionedStore versionedStore;
+
+  @Autowired
+  AlertCache alertCache;
+
+  @Autowired
+  AlertMetrics alertMetrics;
+
   private EndpointsLogger log = new EndpointsLogger();
 
   public void setFirestations(List<Firestation> firestations) {
-    this.firestations = firestations;
+    setFirestations(firestations, 0);
+  }
+
+  public void setFirestations(List<Firestation> firestations, int lastId) {
+    firestationRepository.setAll(firestations, lastId);
+    coverageGraph.setFirestations(firestationRepository.findAll());
   }
 
   /**
@@ -48,26 +73,35 @@ public class FirestationService {
    */
   public ResponseEntity<String> addFirestation(FirestationDeserialization fD,
       String methodeName) {
+    return versionedStore.write(() -> {
+      Household household = houseHoldService.getHouseholdByAddress(fD.getAddress());
+      Firestation firestation = getFirestationByStation(fD.getStation());
 
-    Household household = houseHoldService.getHouseholdByAddress(fD.getAddress());
-    Firestation firestation = getFirestationByStation(fD.getStation());
-
-    if (household == null) {
-      household = houseHoldService.saveHousehold(fD.getAddress());
-    }
-    if (firestation == null) {
-      firestation = new Firestation();
-      firestation.setId(firestations.size() + 1);
-      firestation.setIdHouseholds(Arrays.asList(household.getId()));
-      firestation.setStation(fD.getStation());
-      firestations.add(firestation);
-      return log.addedSuccessfully(methodeName);
-    } else if (firestationGetIdHousehold(firestation, household)) {
-      return log.ExistingMappingBetweenAddressAndFirestation(methodeName);
-    } else {
-      firestation.getIdHouseholds().add(household.getId());
-      return log.addedSuccessfully(methodeName);
-    }
+      if (household == null) {
+        household = houseHoldService.saveHousehold(fD.getAddress());
+      }
+      if (firestation == null) {
+        firestation = new Firestation();
+        firestation.setId(firestationRepository.allocateId());
+        firestation.setIdHouseholds(new ArrayList<>(List.of(household.getId())));
+        firestation.setStation(fD.getStation());
+        saveFirestation(firestation);
+        alertCache.invalidateCoverage(fD.getStation(), household);
+        mutationLog.append(Mutation.addFirestation(fD));
+        alertMetrics.mutation(Endpoint.ADD_FIRESTATION);
+        return log.addedSuccessfully(methodeName);
+      } else if (firestationGetIdHousehold(firestation, household)) {
+        return log.ExistingMappingBetweenAddressAndFirestation(methodeName);
+      } else {
+        List<Integer> idHouseholds = new ArrayList<>(firestation.getIdHouseholds());
+        idHouseholds.add(household.getId());
+        saveFirestation(withIdHouseholds(firestation, idHouseholds));
+        alertCache.invalidateCoverage(fD.getStation(), household);
+        mutationLog.append(Mutation.addFirestation(fD));
+        alertMetrics.mutation(Endpoint.ADD_FIRESTATION);
+        return log.addedSuccessfully(methodeName);
+      }
+    });
   }
 
   /**
@@ -83,42 +117,47 @@ public class FirestationService {
    */
   public ResponseEntity<String> updateStationByAddress(FirestationDeserialization firestationDeserialization,
       String address, String methodeName) {
-    Household household = houseHoldService.getHouseholdByAddress(address);
-    if (household == null) {
-      return log.argumentHasNoMatch(methodeName);
-    } else {
-      Integer idHousehold = household.getId();
-      List<Firestation> matchingFirestations = getFirestationsByHousehold(household);
-      String station = firestationDeserialization.getStation();
-      for (Firestation firestation : matchingFirestations) {
-        if (!firestation.getStation().equals(station)) {
-          if (firestation.getIdHouseholds().size() == 1) {
-            firestations.remove(firestation);
-          } else {
-          firestation.getIdHouseholds().remove(Integer.valueOf(idHousehold));
-          firestations.set(firestation.getId() - 1, firestation);
+    return versionedStore.write(() -> {
+      Household household = houseHoldService.getHouseholdByAddress(address);
+      if (household == null) {
+        return log.argumentHasNoMatch(methodeName);
+      } else {
+        Integer idHousehold = household.getId();
+        List<Firestation> matchingFirestations = getFirestationsByHousehold(household);
+        String station = firestationDeserialization.getStation();
+        for (Firestation firestation : matchingFirestations) {
+          if (!firestation.getStation().equals(station)) {
+            removeHousehold(firestation, idHousehold);
+            alertCache.invalidateCoverage(firestation.getStation(), household);
           }
         }
-      }
-      Firestation firestation = getFirestationByStation(station);
-      if (firestation == null) {
-        firestation = new Firestation();
-        firestation.setStation(station);
-        firestation.setIdHouseholds(Arrays.asList(idHousehold));
-        firestation.setId(firestations.size() + 1);
-        firestations.add(firestation);
-        return log.updatedSuccessfully(methodeName);
-      } else {
-        List<Integer> idHouseholds = new ArrayList<>();
-        for (Integer id : firestation.getIdHouseholds()) {
-          idHouseholds.add(id);
+        Firestation firestation = getFirestationByStation(station);
+        if (firestation == null) {
+          firestation = new Firestation();
+          firestation.setStation(station);
+          firestation.setIdHouseholds(new ArrayList<>(List.of(idHousehold)));
+          firestation.setId(firestationRepository.allocateId());
+          saveFirestation(firestation);
+          alertCache.invalidateCoverage(station, household);
+          mutationLog.append(Mutation.updateStationByAddress(address, firestationDeserialization));
+          alertMetrics.mutation(Endpoint.UPDATE_STATION_BY_ADDRESS);
+          return log.updatedSuccessfully(methodeName);
+        } else {
+          List<Integer> idHouseholds = new ArrayList<>();
+          for (Integer id : firestation.getIdHouseholds()) {
+            idHouseholds.add(id);
+          }
+          if (!idHouseholds.contains(idHousehold)) {
+            idHouseholds.add(idHousehold);
+          }
+          saveFirestation(withIdHouseholds(firestation, idHouseholds));
+          alertCache.invalidateCoverage(station, household);
+          mutationLog.append(Mutation.updateStationByAddress(address, firestationDeserialization));
+          alertMetrics.mutation(Endpoint.UPDATE_STATION_BY_ADDRESS);
+          return log.updatedSuccessfully(methodeName);
         }
-        idHouseholds.add(idHousehold);
-        firestation.setIdHouseholds(idHouseholds);
-        firestations.set(firestation.getId() - 1, firestation);
-        return log.updatedSuccessfully(methodeName);
       }
-    }
+    });
   }
 
   /**
@@ -130,24 +169,27 @@ public class FirestationService {
    * @return A ResponseEntity indicating the result of the operation.
    */
   public ResponseEntity<String> deleteStationAtThisAddress(String address, String methodeName) {
-
-    // Get all firestations by an address :
-    Household household = houseHoldService.getHouseholdByAddress(address);
-    List<Firestation> firestationsMatching = getFirestationsByHousehold(household);
-    // Check if any firestation match with this address :
-    if (firestationsMatching.isEmpty()) {
-      return log.argumentHasNoMatch(methodeName);
-    } else {
-      // For each firestation check if they have at least one address or delete it :
-      for (Firestation firestation : firestationsMatching) {
-        if (firestation.getIdHouseholds().size() == 1) {
-          firestations.remove(firestation);
-        } else {
-          firestation.getIdHouseholds().remove(Integer.valueOf(household.getId()));
+    return versionedStore.write(() -> {
+      // Get all firestations by an address :
+      Household household = houseHoldService.getHouseholdByAddress(address);
+      if (household == null) {
+        return log.argumentHasNoMatch(methodeName);
+      }
+      List<Firestation> firestationsMatching = getFirestationsByHousehold(household);
+      // Check if any firestation match with this address :
+      if (firestationsMatching.isEmpty()) {
+        return log.argumentHasNoMatch(methodeName);
+      } else {
+        // For each firestation check if they have at least one address or delete it :
+        for (Firestation firestation : firestationsMatching) {
+          removeHousehold(firestation, household.getId());
+          alertCache.invalidateCoverage(firestation.getStation(), household);
         }
+        mutationLog.append(Mutation.deleteStationAtThisAddress(address));
+        alertMetrics.mutation(Endpoint.DELETE_STATION_AT_THIS_ADDRESS);
+        return log.deletedSuccessfully(methodeName);
       }
-      return log.deletedSuccessfully(methodeName);
-    }
+    });
   }
 
   /**
@@ -160,14 +202,19 @@ public class FirestationService {
    * @return A ResponseEntity indicating the result of the deletion operation.
    */
   public ResponseEntity<String> deleteFirestationByStation(String station, String methodeName) {
-    // Check if the firestation exists :
-    Firestation firestation = getFirestationByStation(station);
-    if (firestation != null) {
-      firestations.remove(firestation);
-      return log.deletedSuccessfully(methodeName);
-    } else {
-      return log.argumentHasNoMatch(methodeName);
-    }
+    return versionedStore.write(() -> {
+      // Check if the firestation exists :
+      Firestation firestation = getFirestationByStation(station);
+      if (firestation != null) {
+        deleteFirestation(firestation);
+        alertCache.invalidateFirestation(firestation);
+        mutationLog.append(Mutation.deleteFirestationByStation(station));
+        alertMetrics.mutation(Endpoint.DELETE_FIRESTATION_BY_STATION);
+        return log.deletedSuccessfully(methodeName);
+      } else {
+        return log.argumentHasNoMatch(methodeName);
+      }
+    });
   }
 
   /**
@@ -178,8 +225,7 @@ public class FirestationService {
    * @param station The firestation number to link at this objects.
    */
   public Firestation getFirestationByStation(String station) {
-    return firestations.stream()
-        .filter(firestation -> firestation.getStation().equals(station)).findFirst().orElse(null);
+    return firestationRepository.findByStation(station);
   }
 
   /**
@@ -190,9 +236,14 @@ public class FirestationService {
    * @param id An list of firestation id.
    */
   public List<Firestation> getFirestationsByIdList(List<Integer> ids) {
-    return firestations.stream()
-        .filter(firestation -> ids.contains(firestation.getId()))
-        .collect(Collectors.toList());
+    List<Firestation> firestations = new ArrayList<>();
+    for (Integer id : ids) {
+      Firestation firestation = firestationRepository.findById(id);
+      if (firestation != null && !firestations.contains(firestation)) {
+        firestations.add(firestation);
+      }
+    }
+    return firestations;
   }
 
   /**
@@ -206,8 +257,41 @@ public class FirestationService {
    *         household.
    */
   public List<Firestation> getFirestationsByHousehold(Household household) {
-    return firestations.stream().filter(firestation -> firestation.getIdHouseholds().contains(household.getId()))
-        .collect(Collectors.toList());
+    return firestationRepository.findByIdHousehold(household.getId());
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Removes a household from a firestation, or deletes the firestation if this
+   * household was the last one covered.
+   *
+   * @param firestation The firestation to update.
+   * @param idHousehold The ID of the household to remove.
+   */
+  private void removeHousehold(Firestation firestation, int idHousehold) {
+    if (firestation.getIdHouseholds().size() == 1) {
+      deleteFirestation(firestation);
+    } else {
+      List<Integer> idHouseholds = new ArrayList<>(firestation.getIdHouseholds());
+      idHouseholds.remove(Integer.valueOf(idHousehold));
+      saveFirestation(withIdHouseholds(firestation, idHouseholds));
+    }
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Copies a firestation with other households. The stored firestation may be
+   * read by a pinned version, so it is replaced by the copy instead of being
+   * modified.
+   *
+   * @param firestation  The stored firestation.
+   * @param idHouseholds The IDs of the households covered by the copy.
+   * @return The updated copy.
+   */
+  private static Firestation withIdHouseholds(Firestation firestation, List<Integer> idHouseholds) {
+    return new Firestation(firestation.getId(), idHouseholds, firestation.getStation());
   }
 
   /**
@@ -229,8 +313,40 @@ public class FirestationService {
     return false;
   }
 
+  /**
+   * Some javadoc.
+   * 
+   * Saves a firestation and updates the station coverage graph.
+   *
+   * @param firestation The firestation to save.
+   */
+  private void saveFirestation(Firestation firestation) {
+    firestationRepository.save(firestation);
+    coverageGraph.putFirestation(firestation);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Deletes a firestation and updates the station coverage graph.
+   *
+   * @param firestation The firestation to delete.
+   */
+  private void deleteFirestation(Firestation firestation) {
+    firestationRepository.delete(firestation);
+    coverageGraph.removeFirestation(firestation);
+  }
+
   public List<Firestation> getAllFirestations() {
-    return firestations;
+    return versionedStore.read(() -> firestationRepository.findAll());
+  }
+
+  public long getModificationCount() {
+    return firestationRepository.getModificationCount();
+  }
+
+  public int getLastId() {
+    return firestationRepository.getLastId();
   }
 
 }
\ No newline at end of file
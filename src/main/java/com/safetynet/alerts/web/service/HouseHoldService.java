@@ -1,21 +1,33 @@
 package com.safetynet.alerts.web.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.HouseholdRepository;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 @Service
 public class HouseHoldService {
-  List<Household> households;
+  @Autowired
+  HouseholdRepository householdRepository;
+
+  @Autowired
+  VersionedStore versionedStore;
 
   public void setHouseholds(List<Household> households) {
-    this.households = households;
+    setHouseholds(households, 0);
+  }
+
+  public void setHouseholds(List<Household> households, int lastId) {
+    householdRepository.setAll(households, lastId);
   }
 
   /**
@@ -26,7 +38,15 @@ public class HouseHoldService {
    * @return A list of all households.
    */
   public List<Household> getAllHouseholds() {
-    return households;
+    return versionedStore.read(() -> householdRepository.findAll());
+  }
+
+  public long getModificationCount() {
+    return householdRepository.getModificationCount();
+  }
+
+  public int getLastId() {
+    return householdRepository.getLastId();
   }
 
   /**
@@ -40,8 +60,8 @@ public class HouseHoldService {
   public Household saveHousehold(String address) {
     Household household = new Household();
     household.setAddress(address);
-    household.setId(households.size()+1);
-    households.add(household);
+    household.setId(householdRepository.allocateId());
+    householdRepository.save(household);
     return household;
   }
 
@@ -54,11 +74,8 @@ public class HouseHoldService {
    * @return The ID of the household, or 0 if not found.
    */
   public int getId(String address) {
-    Optional<Household> householdAtAddress = households.stream()
-        .filter(household -> household.getAddress().equals(address))
-        .findFirst();
-    if (householdAtAddress.isPresent()) {
-      Household household = householdAtAddress.get();
+    Household household = householdRepository.findByAddress(address);
+    if (household != null) {
       return household.getId();
     } else {
       return 0;
@@ -75,14 +92,7 @@ public class HouseHoldService {
    *         found.
    */
   public Household getHouseholdByAddress(String address) {
-    Optional<Household> householdAtAddress = households.stream()
-        .filter(household -> household.getAddress().equals(address))
-        .findFirst();
-    if (householdAtAddress.isPresent()) {
-      return householdAtAddress.get();
-    } else {
-      return null;
-    }
+    return householdRepository.findByAddress(address);
   }
 
   /**
@@ -94,9 +104,11 @@ public class HouseHoldService {
    * @return A list of households associated with the provided addresses.
    */
   public List<Household> getHouseholdsByAddresses(List<String> addresses) {
-    return households.stream()
-        .filter(household -> addresses.contains(household.getAddress()))
-        .collect(Collectors.toList());
+    Set<Household> households = new LinkedHashSet<>();
+    for (String address : addresses) {
+      households.addAll(householdRepository.findAllByAddress(address));
+    }
+    return new ArrayList<>(households);
   }
 
   /**
@@ -109,11 +121,7 @@ public class HouseHoldService {
    * @return A list of households associated with the provided firestation.
    */
   public List<Household> getHouseholdsByFirestation(Firestation firestation) {
-    List<Integer> idHouseholds = firestation.getIdHouseholds();
-
-    return households.stream()
-        .filter(household -> idHouseholds.contains(household.getId()))
-        .collect(Collectors.toList());
+    return getHouseholdsByIds(firestation.getIdHouseholds());
   }
 
   /**
@@ -126,13 +134,11 @@ public class HouseHoldService {
    * @return A list of households associated with the provided persons.
    */
   public List<Household> getHouseholdsByPersons(List<Person> persons) {
-    List<Integer> idHouseholds = persons.stream()
-        .map(Person::getIdHousehold)
-        .collect(Collectors.toList());
-
-    return households.stream()
-        .filter(household -> idHouseholds.contains(household.getId()))
-        .collect(Collectors.toList());
+    List<Integer> idHouseholds = new ArrayList<>();
+    for (Person person : persons) {
+      idHouseholds.add(person.getIdHousehold());
+    }
+    return getHouseholdsByIds(idHouseholds);
   }
 
   /**
@@ -144,7 +150,25 @@ public class HouseHoldService {
    * @return The household associated with the provided ID, or null if not found.
    */
   public Household getHouseholdById(int idHousehold) {
-    return households.stream().filter(household -> household.getId() == idHousehold)
-        .findFirst().orElse(null);
+    return householdRepository.findById(idHousehold);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Retrieves a list of households by their IDs, without duplicates.
+   *
+   * @param idHouseholds The IDs of the households to retrieve.
+   * @return A list of households associated with the provided IDs.
+   */
+  public List<Household> getHouseholdsByIds(List<Integer> idHouseholds) {
+    Set<Household> households = new LinkedHashSet<>();
+    for (Integer idHousehold : idHouseholds) {
+      Household household = householdRepository.findById(idHousehold);
+      if (household != null) {
+        households.add(household);
+      }
+    }
+    return new ArrayList<>(households);
   }
 }
\ No newline at end of file
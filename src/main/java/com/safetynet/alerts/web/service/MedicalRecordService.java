@@ -2,7 +2,6 @@ package com.safetynet.alerts.web.service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -10,9 +9,15 @@ import org.springframework.stereotype.Service;
 
 import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
 import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
+import com.safetynet.alerts.web.model.AgePartition;
 import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Mutation;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MedicalRecordRepository;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 /**
  * Some javadoc.
@@ -23,16 +28,33 @@ import com.safetynet.alerts.web.model.Person;
  */
 @Service
 public class MedicalRecordService {
-  List<MedicalRecord> medicalRecords;
+  @Autowired
+  MedicalRecordRepository medicalRecordRepository;
 
   @Autowired
   PersonService personService;
 
+  @Autowired
+  MutationLog mutationLog;
+
+  @Autowired
+  VersionedStore versionedStore;
+
+  @Autowired
+  AlertCache alertCache;
+
+  @Autowired
+  AlertMetrics alertMetrics;
+
   private EndpointsLogger log = new EndpointsLogger();
   private DataManipulationUtils beanService = new DataManipulationUtils();
 
   public void setMedicalRecords(List<MedicalRecord> medicalRecords) {
-    this.medicalRecords = medicalRecords;
+    setMedicalRecords(medicalRecords, 0);
+  }
+
+  public void setMedicalRecords(List<MedicalRecord> medicalRecords, int lastId) {
+    medicalRecordRepository.setAll(medicalRecords, lastId);
   }
 
   /**
@@ -43,7 +65,28 @@ public class MedicalRecordService {
    * @param medicalRecord The MedicalRecord object to save.
    */
   public void saveMedicalRecord(MedicalRecord medicalRecord) {
-    medicalRecords.add(medicalRecord);
+    medicalRecordRepository.save(medicalRecord);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Splits a list of medical records between adults and minors in a single pass.
+   * The records with an unknown birthdate are in neither of them.
+   *
+   * @param medicalRecords The list of medical records to split.
+   * @return The adults and minors medical records, with their numbers.
+   */
+  public AgePartition partitionByAge(List<MedicalRecord> medicalRecords) {
+    AgePartition partition = new AgePartition();
+    for (MedicalRecord medicalRecord : medicalRecords) {
+      if (isMinor(medicalRecord)) {
+        partition.getMinors().add(medicalRecord);
+      } else if (isAdult(medicalRecord)) {
+        partition.getAdults().add(medicalRecord);
+      }
+    }
+    return partition;
   }
 
   /**
@@ -53,19 +96,13 @@ public class MedicalRecordService {
    * from a list of
    * resident medical records.
    *
-   * @param residentMedicalRecords The list of resident medical records for which
-   *                               to retrieve children medical records.
+   * @param medicalRecords The list of resident medical records for which to
+   *                       retrieve children medical records.
    * @return A list of MedicalRecord objects corresponding to children from the
    *         provided resident medical records.
    */
-  public List<MedicalRecord> getChildrenMedicalRecords(List<MedicalRecord> residentMedicalRecords) {
-    List<MedicalRecord> childrenMedicalRecords = new ArrayList<>();
-    for (MedicalRecord residentMedicalRecord : residentMedicalRecords) {
-      if (isMinor(residentMedicalRecord.getBirthdate())) {
-        childrenMedicalRecords.add(residentMedicalRecord);
-      }
-    }
-    return childrenMedicalRecords;
+  public List<MedicalRecord> getChildrenMedicalRecords(List<MedicalRecord> medicalRecords) {
+    return partitionByAge(medicalRecords).getMinors();
   }
 
   /**
@@ -79,11 +116,34 @@ public class MedicalRecordService {
    * @return true if the person is a minor, false otherwise.
    */
   public boolean isMinor(String birthdate) {
-    if (beanService.convertBirthdateToAge(birthdate) <= 18) {
-      return true;
-    } else {
-      return false;
-    }
+    return beanService.isMinor(DataManipulationUtils.convertBirthdateToEpochDay(birthdate));
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Checks if the person of a medical record is considered as a minor, from the
+   * birthdate parsed when the record was set.
+   *
+   * @param medicalRecord The medical record of the person.
+   * @return true if the person is a minor, false otherwise.
+   */
+  public boolean isMinor(MedicalRecord medicalRecord) {
+    return beanService.isMinor(medicalRecord.getBirthdateEpochDay());
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Checks if the person of a medical record is considered as an adult, from the
+   * birthdate parsed when the record was set.
+   *
+   * @param medicalRecord The medical record of the person.
+   * @return true if the person is an adult, false otherwise or if the birthdate
+   *         is unknown.
+   */
+  public boolean isAdult(MedicalRecord medicalRecord) {
+    return beanService.isAdult(medicalRecord.getBirthdateEpochDay());
   }
 
   /**
@@ -96,13 +156,7 @@ public class MedicalRecordService {
    * @return The number of minors in the provided list of medical records.
    */
   public int getMinorsNumber(List<MedicalRecord> medicalRecords) {
-    int minors = 0;
-    for (MedicalRecord medicalRecord : medicalRecords) {
-      if (isMinor(medicalRecord.getBirthdate())) {
-        minors++;
-      }
-    }
-    return minors;
+    return partitionByAge(medicalRecords).getMinorsNumber();
   }
 
   /**
@@ -115,13 +169,7 @@ public class MedicalRecordService {
    * @return The number of adults in the provided list of medical records.
    */
   public int getAdultsNumber(List<MedicalRecord> medicalRecords) {
-    int adults = 0;
-    for (MedicalRecord medicalRecord : medicalRecords) {
-      if (!isMinor(medicalRecord.getBirthdate())) {
-        adults++;
-      }
-    }
-    return adults;
+    return partitionByAge(medicalRecords).getAdultsNumber();
   }
 
   /**
@@ -135,13 +183,7 @@ public class MedicalRecordService {
    *         records.
    */
   public List<MedicalRecord> getAdultsMedicalRecords(List<MedicalRecord> medicalRecords) {
-    List<MedicalRecord> adultsMedicalRecords = new ArrayList<>();
-    for (MedicalRecord medicalRecord : medicalRecords) {
-      if (!isMinor(medicalRecord.getBirthdate())) {
-        adultsMedicalRecords.add(medicalRecord);
-      }
-    }
-    return adultsMedicalRecords;
+    return partitionByAge(medicalRecords).getAdults();
   }
 
   /**
@@ -155,12 +197,12 @@ public class MedicalRecordService {
    */
   public void saveMedicalRecord(MedicalRecordDeserialization medicalrecordDeserialization, int personId) {
     MedicalRecord medicalRecord = new MedicalRecord();
-    medicalRecord.setId(medicalRecords.size() + 1);
+    medicalRecord.setId(medicalRecordRepository.allocateId());
     medicalRecord.setIdPerson(personId);
     medicalRecord.setBirthdate(medicalrecordDeserialization.getBirthdate());
     medicalRecord.setAllergies(medicalrecordDeserialization.getAllergies());
     medicalRecord.setMedications(medicalrecordDeserialization.getMedications());
-    medicalRecords.add(medicalRecord);
+    medicalRecordRepository.save(medicalRecord);
   }
 
   /**
@@ -176,23 +218,27 @@ public class MedicalRecordService {
    */
   public ResponseEntity<String> addMedicalRecord(MedicalRecordDeserialization medicalrecordDeserialize,
       String methodeName) {
-    // Get the person corresponding :
-    String firstName = medicalrecordDeserialize.getFirstName();
-    String lastName = medicalrecordDeserialize.getLastName();
-
-    Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
-    if (person == null) {
-      return log.argumentHasNoMatch(methodeName);
-    } else {
-      Optional<MedicalRecord> matchingMedicalRecord = medicalRecords.stream()
-          .filter(medicalRecord -> medicalRecord.getIdPerson() == person.getId()).findFirst();
-      if (matchingMedicalRecord.isPresent()) {
-        return log.ExistingMedicalRecord(methodeName);
+    return versionedStore.write(() -> {
+      // Get the person corresponding :
+      String firstName = medicalrecordDeserialize.getFirstName();
+      String lastName = medicalrecordDeserialize.getLastName();
+
+      Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
+      if (person == null) {
+        return log.argumentHasNoMatch(methodeName);
       } else {
-        saveMedicalRecord(medicalrecordDeserialize, person.getId());
-        return log.addedSuccessfully(methodeName);
+        MedicalRecord matchingMedicalRecord = getMedicalRecordByPerson(person);
+        if (matchingMedicalRecord != null) {
+          return log.ExistingMedicalRecord(methodeName);
+        } else {
+          saveMedicalRecord(medicalrecordDeserialize, person.getId());
+          alertCache.invalidateMedicalRecord(person);
+          mutationLog.append(Mutation.addMedicalRecord(medicalrecordDeserialize));
+          alertMetrics.mutation(Endpoint.ADD_MEDICAL_RECORD);
+          return log.addedSuccessfully(methodeName);
+        }
       }
-    }
+    });
   }
 
   /**
@@ -210,22 +256,27 @@ public class MedicalRecordService {
    */
   public ResponseEntity<String> updateMedicalRecord(String firstName, String lastName,
       MedicalRecordDeserialization medicalrecordDeserialize, String methodeName) {
-    // Get the matching persons by first and last Name :
-    Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
-    if (person == null) {
-      return log.argumentHasNoMatch(methodeName);
-    } else {
-      MedicalRecord medicalRecordMatching = getMedicalRecordByPerson(person);
-      if (medicalRecordMatching != null) {
-        medicalRecordMatching.setBirthdate(medicalrecordDeserialize.getBirthdate());
-        medicalRecordMatching.setAllergies(medicalrecordDeserialize.getAllergies());
-        medicalRecordMatching.setMedications(medicalrecordDeserialize.getMedications());
-        medicalRecords.add(medicalRecordMatching.getId(), medicalRecordMatching);
-        return log.updatedSuccessfully(methodeName);
-      } else {
+    return versionedStore.write(() -> {
+      // Get the matching persons by first and last Name :
+      Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
+      if (person == null) {
         return log.argumentHasNoMatch(methodeName);
+      } else {
+        MedicalRecord medicalRecordMatching = getMedicalRecordByPerson(person);
+        if (medicalRecordMatching != null) {
+          // The stored record may be read by a pinned version, so an updated copy replaces it :
+          medicalRecordRepository.save(new MedicalRecord(medicalRecordMatching.getId(),
+              medicalRecordMatching.getIdPerson(), medicalrecordDeserialize.getBirthdate(),
+              medicalrecordDeserialize.getMedications(), medicalrecordDeserialize.getAllergies()));
+          alertCache.invalidateMedicalRecord(person);
+          mutationLog.append(Mutation.updateMedicalRecord(firstName, lastName, medicalrecordDeserialize));
+          alertMetrics.mutation(Endpoint.UPDATE_MEDICAL_RECORD);
+          return log.updatedSuccessfully(methodeName);
+        } else {
+          return log.argumentHasNoMatch(methodeName);
+        }
       }
-    }
+    });
   }
 
   /**
@@ -240,18 +291,39 @@ public class MedicalRecordService {
    * @return A ResponseEntity indicating the result of the operation.
    */
   public ResponseEntity<String> deleteMedicalRecord(String firstName, String lastName, String methodeName) {
-    // Get the person correpondig at this first and last name :
-    Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
-    if (person == null) {
-      return log.argumentHasNoMatch(methodeName);
-    }
-    // Get the corresponding medicalRecord from the person
+    return versionedStore.write(() -> {
+      // Get the person correpondig at this first and last name :
+      Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
+      if (person == null) {
+        return log.argumentHasNoMatch(methodeName);
+      }
+      // Get the corresponding medicalRecord from the person
+      MedicalRecord medicalRecordMatching = getMedicalRecordByPerson(person);
+      if (medicalRecordMatching != null) {
+        medicalRecordRepository.delete(medicalRecordMatching);
+        alertCache.invalidateMedicalRecord(person);
+        mutationLog.append(Mutation.deleteMedicalRecord(firstName, lastName));
+        alertMetrics.mutation(Endpoint.DELETE_MEDICAL_RECORD);
+        return log.deletedSuccessfully(methodeName);
+      } else {
+        return log.argumentHasNoMatch(methodeName);
+      }
+    });
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Removes the medical record of a person within the deletion of this person,
+   * whose mutation and metric cover the record, so none is added for it.
+   *
+   * @param person The deleted person.
+   */
+  void removeMedicalRecord(Person person) {
     MedicalRecord medicalRecordMatching = getMedicalRecordByPerson(person);
     if (medicalRecordMatching != null) {
-      medicalRecords.remove(getMedicalRecordByPerson(person).getId() - 1);
-      return log.deletedSuccessfully(methodeName);
-    } else {
-      return log.argumentHasNoMatch(methodeName);
+      medicalRecordRepository.delete(medicalRecordMatching);
+      alertCache.invalidateMedicalRecord(person);
     }
   }
 
@@ -269,7 +341,7 @@ public class MedicalRecordService {
     for (Person person : persons) {
       MedicalRecord medicalRecordMatching = getMedicalRecordByPerson(person);
       if (medicalRecordMatching != null) {
-        medicalRecords.add(getMedicalRecordByPerson(person));
+        medicalRecords.add(medicalRecordMatching);
       }
     }
     return medicalRecords;
@@ -285,11 +357,18 @@ public class MedicalRecordService {
    *         not found.
    */
   public MedicalRecord getMedicalRecordByPerson(Person person) {
-    return medicalRecords.stream()
-        .filter(medicalRecord -> medicalRecord.getIdPerson() == person.getId()).findFirst().orElse(null);
+    return medicalRecordRepository.findByIdPerson(person.getId());
   }
 
   public List<MedicalRecord> getAllMedicalRecords() {
-    return medicalRecords;
+    return versionedStore.read(() -> medicalRecordRepository.findAll());
+  }
+
+  public long getModificationCount() {
+    return medicalRecordRepository.getModificationCount();
+  }
+
+  public int getLastId() {
+    return medicalRecordRepository.getLastId();
   }
 }
\ No newline at end of file
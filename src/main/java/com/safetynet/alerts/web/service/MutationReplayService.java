@@ -0,0 +1,92 @@
+package com.safetynet.alerts.web.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.safetynet.alerts.web.model.Mutation;
+import com.safetynet.alerts.web.repository.MutationLog;
+
+/**
+ * Some javadoc.
+ *
+ * This service class applies the mutations of the mutation log again at
+ * startup, through the same service methods as the endpoints, then opens the
+ * log for the next ones. The replayed mutations are neither logged nor counted
+ * in the metrics again.
+ */
+@Service
+public class MutationReplayService {
+  @Autowired
+  PersonService personService;
+
+  @Autowired
+  MedicalRecordService medicalRecordService;
+
+  @Autowired
+  FirestationService firestationService;
+
+  @Autowired
+  MutationLog mutationLog;
+
+  @Autowired
+  AlertMetrics alertMetrics;
+
+  /**
+   * Some javadoc.
+   *
+   * Replays the logged mutations which are not in the loaded data yet, then
+   * opens the log, numbering the next mutations after the ones of the loaded
+   * data even if the log ends before them.
+   *
+   * @param lastSequence The sequence of the last mutation already in the loaded
+   *                     data, 0 for the base dataset.
+   * @return The number of mutations replayed.
+   * @throws IOException If the log cannot be read or opened.
+   */
+  public int replayAndOpen(long lastSequence) throws IOException {
+    List<Mutation> mutations = new ArrayList<>();
+    for (Mutation mutation : mutationLog.readAll()) {
+      if (mutation.getSequence() > lastSequence) {
+        mutations.add(mutation);
+      }
+    }
+    mutationLog.replay(() -> alertMetrics.replay(() -> mutations.forEach(this::apply)));
+    mutationLog.open(lastSequence);
+    return mutations.size();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Applies a mutation with the service method of its endpoint.
+   *
+   * @param mutation The mutation to apply.
+   */
+  public void apply(Mutation mutation) {
+    String methodeName = mutation.getEndpoint().getMethodName();
+    switch (mutation.getEndpoint()) {
+      case ADD_PERSON -> personService.addPerson(mutation.getPerson(), methodeName);
+      case UPDATE_PERSON_BY_FIRST_AND_LAST_NAME -> personService.updateByFirstAndLastName(mutation.getFirstName(),
+          mutation.getLastName(), mutation.getPerson(), methodeName);
+      case DELETE_BY_FIRST_AND_LAST_NAME -> personService.deleteByFirstAndLastName(mutation.getFirstName(),
+          mutation.getLastName(), methodeName);
+      case ADD_FIRESTATION -> firestationService.addFirestation(mutation.getFirestation(), methodeName);
+      case UPDATE_STATION_BY_ADDRESS -> firestationService.updateStationByAddress(mutation.getFirestation(),
+          mutation.getAddress(), methodeName);
+      case DELETE_STATION_AT_THIS_ADDRESS -> firestationService.deleteStationAtThisAddress(mutation.getAddress(),
+          methodeName);
+      case DELETE_FIRESTATION_BY_STATION -> firestationService.deleteFirestationByStation(mutation.getStation(),
+          methodeName);
+      case ADD_MEDICAL_RECORD -> medicalRecordService.addMedicalRecord(mutation.getMedicalRecord(), methodeName);
+      case UPDATE_MEDICAL_RECORD -> medicalRecordService.updateMedicalRecord(mutation.getFirstName(),
+          mutation.getLastName(), mutation.getMedicalRecord(), methodeName);
+      case DELETE_MEDICAL_RECORD -> medicalRecordService.deleteMedicalRecord(mutation.getFirstName(),
+          mutation.getLastName(), methodeName);
+      default -> throw new IllegalArgumentException("Unknown mutation " + mutation.getEndpoint() + ".");
+    }
+  }
+}
@@ -2,17 +2,21 @@ package com.safetynet.alerts.web.service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
 import com.safetynet.alerts.web.logging.EndpointsLogger;
 import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.Mutation;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.PersonRepository;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
 
 /**
  * Some javadoc.
@@ -23,10 +27,16 @@ import com.safetynet.alerts.web.model.Person;
  */
 @Service
 public class PersonService {
-  List<Person> persons;
+  @Autowired
+  PersonRepository personRepository;
 
   public void setPersons(List<Person> persons) {
-    this.persons = persons;
+    setPersons(persons, 0);
+  }
+
+  public void setPersons(List<Person> persons, int lastId) {
+    personRepository.setAll(persons, lastId);
+    coverageGraph.setPersons(personRepository.findAll());
   }
 
   @Autowired
@@ -35,6 +45,21 @@ public class PersonService {
   @Autowired
   MedicalRecordService medicalRecordService;
 
+  @Autowired
+  StationCoverageGraph coverageGraph;
+
+  @Autowired
+  MutationLog mutationLog;
+
+  @Autowired
+  VersionedStore versionedStore;
+
+  @Autowired
+  AlertCache alertCache;
+
+  @Autowired
+  AlertMetrics alertMetrics;
+
   private EndpointsLogger log = new EndpointsLogger();
 
   /**
@@ -48,32 +73,38 @@ public class PersonService {
    * @return A ResponseEntity indicating the result of the operation.
    */
   public ResponseEntity<String> addPerson(PersonDeserialization personDeserialize, String methodeName) {
-    // Check if a person with the same FirstName and lastName exists :
-    String firstName = personDeserialize.getFirstName();
-    String lastName = personDeserialize.getLastName();
-    Person matchingPerson = getPersonByFirstAndLastName(firstName, lastName);
-    if (matchingPerson == null) {
-      // Create and convert the person from deserialization format to system format:
-      Person person = new Person();
-      person = convertPersonDeserializeOnPerson(personDeserialize);
-
-      // Get the corresponding household :
-      String address = personDeserialize.getAddress();
-      Household household = householdService.getHouseholdByAddress(address);
-
-      // If the households does not exist, one is created :
-      if (household == null) {
-        household = new Household();
-        household = householdService.saveHousehold(address);
-      }
+    return versionedStore.write(() -> {
+      // Check if a person with the same FirstName and lastName exists :
+      String firstName = personDeserialize.getFirstName();
+      String lastName = personDeserialize.getLastName();
+      Person matchingPerson = getPersonByFirstAndLastName(firstName, lastName);
+      if (matchingPerson == null) {
+        // Create and convert the person from deserialization format to system format:
+        Person person = new Person();
+        person = convertPersonDeserializeOnPerson(personDeserialize);
 
-      person.setIdHousehold(household.getId());
-      person.setId(persons.size() + 1);
-      persons.add(person);
-      return log.addedSuccessfully(methodeName);
-    } else {
-      return log.ExistingPerson(methodeName);
-    }
+        // Get the corresponding household :
+        String address = personDeserialize.getAddress();
+        Household household = householdService.getHouseholdByAddress(address);
+
+        // If the households does not exist, one is created :
+        if (household == null) {
+          household = new Household();
+          household = householdService.saveHousehold(address);
+        }
+
+        person.setIdHousehold(household.getId());
+        person.setId(personRepository.allocateId());
+        personRepository.save(person);
+        coverageGraph.addPerson(person.getIdHousehold(), person.getId());
+        alertCache.invalidatePerson(person);
+        mutationLog.append(Mutation.addPerson(personDeserialize));
+        alertMetrics.mutation(Endpoint.ADD_PERSON);
+        return log.addedSuccessfully(methodeName);
+      } else {
+        return log.ExistingPerson(methodeName);
+      }
+    });
   }
 
   /**
@@ -90,25 +121,28 @@ public class PersonService {
    */
   public ResponseEntity<String> updateByFirstAndLastName(String firstName, String lastName,
       PersonDeserialization personDeserialize, String methodeName) {
+    return versionedStore.write(() -> {
+      // Get the corresponding person :
+      Person person = getPersonByFirstAndLastName(firstName, lastName);
+      if (person != null) {
+        // Get the address and check if exits or creates it :
+        String address = personDeserialize.getAddress();
+        Household household = householdService.getHouseholdByAddress(address);
+        if (household == null) {
+          household = householdService.saveHousehold(address);
+        }
 
-    // Get the corresponding person :
-    Person person = getPersonByFirstAndLastName(firstName, lastName);
-    if (person != null) {
-      // Get the address and check if exits or creates it :
-      String address = personDeserialize.getAddress();
-      Household household = householdService.getHouseholdByAddress(address);
-      if (household == null) {
-        household = householdService.saveHousehold(address);
-      }
-
-      if (updatePerson(person, personDeserialize, household.getId())) {
-        return log.updatedSuccessfully(methodeName);
+        if (updatePerson(person, personDeserialize, household.getId())) {
+          mutationLog.append(Mutation.updatePerson(firstName, lastName, personDeserialize));
+          alertMetrics.mutation(Endpoint.UPDATE_PERSON_BY_FIRST_AND_LAST_NAME);
+          return log.updatedSuccessfully(methodeName);
+        } else {
+          return log.argumentHasNoMatch(methodeName);
+        }
       } else {
         return log.argumentHasNoMatch(methodeName);
       }
-    } else {
-      return log.argumentHasNoMatch(methodeName);
-    }
+    });
   }
 
   /**
@@ -123,15 +157,21 @@ public class PersonService {
    * @return A ResponseEntity indicating the result of the operation.
    */
   public ResponseEntity<String> deleteByFirstAndLastName(String firstName, String lastName, String methodeName) {
-    // Check the person existing :
-    Person person = getPersonByFirstAndLastName(firstName, lastName);
-    if (person != null) {
-      medicalRecordService.deleteMedicalRecord(firstName, lastName, methodeName);
-      persons.remove(person);
-      return log.deletedSuccessfully(methodeName);
-    } else {
-      return log.argumentHasNoMatch(methodeName);
-    }
+    return versionedStore.write(() -> {
+      // Check the person existing :
+      Person person = getPersonByFirstAndLastName(firstName, lastName);
+      if (person != null) {
+        medicalRecordService.removeMedicalRecord(person);
+        personRepository.delete(person);
+        coverageGraph.removePerson(person.getIdHousehold(), person.getId());
+        alertCache.invalidatePerson(person);
+        mutationLog.append(Mutation.deletePerson(firstName, lastName));
+        alertMetrics.mutation(Endpoint.DELETE_BY_FIRST_AND_LAST_NAME);
+        return log.deletedSuccessfully(methodeName);
+      } else {
+        return log.argumentHasNoMatch(methodeName);
+      }
+    });
   }
 
   /**
@@ -167,15 +207,20 @@ public class PersonService {
    *         last name.
    */
   public Boolean updatePerson(Person person, PersonDeserialization deserializePerson, int idHousehold) {
-    person.setIdHousehold(idHousehold);
-    person.setCity(deserializePerson.getCity());
-    person.setEmail(deserializePerson.getEmail());
-    person.setPhone(deserializePerson.getPhone());
-    person.setZip(deserializePerson.getZip());
-
-    int index = persons.indexOf(person);
-    if (index != -1) {
-      persons.set(index, person);
+    // The stored person may be read by a pinned version, so an updated copy replaces it :
+    int previousIdHousehold = person.getIdHousehold();
+    Person updatedPerson = new Person(person.getId(), idHousehold, person.getFirstName(), person.getLastName(),
+        deserializePerson.getCity(), deserializePerson.getZip(), deserializePerson.getPhone(),
+        deserializePerson.getEmail());
+
+    if (personRepository.existsById(person.getId())) {
+      personRepository.save(updatedPerson);
+      if (previousIdHousehold != idHousehold) {
+        coverageGraph.removePerson(previousIdHousehold, person.getId());
+        coverageGraph.addPerson(idHousehold, person.getId());
+      }
+      alertCache.invalidatePerson(person);
+      alertCache.invalidatePerson(updatedPerson);
       return true;
     } else {
       return false;
@@ -193,8 +238,7 @@ public class PersonService {
    *         found.
    */
   public Person getPersonById(int id) {
-    Optional<Person> personOptional = persons.stream().filter(person -> person.getId() == id).findFirst();
-    return personOptional.orElse(null);
+    return personRepository.findById(id);
   }
 
   /**
@@ -223,7 +267,7 @@ public class PersonService {
    * @return A list of persons associated with the provided household.
    */
   public List<Person> getPersonsByHousehold(Household household) {
-    return persons.stream().filter(person -> person.getIdHousehold() == household.getId()).collect(Collectors.toList());
+    return personRepository.findByIdHousehold(household.getId());
   }
 
   /**
@@ -235,7 +279,7 @@ public class PersonService {
    * @return A list of persons residing in the provided city.
    */
   public List<Person> getPersonsByCity(String city) {
-    return persons.stream().filter(person -> person.getCity().equals(city)).collect(Collectors.toList());
+    return personRepository.findByCity(city);
   }
 
   /**
@@ -249,16 +293,18 @@ public class PersonService {
    *         null if not found.
    */
   public Person getPersonByFirstAndLastName(String firstName, String lastName) {
-    Optional<Person> personMatching = persons.stream()
-        .filter(person -> person.getFirstName().equals(firstName) && person.getLastName().equals(lastName)).findFirst();
-
-    if (personMatching.isPresent()) {
-      return personMatching.get();
-    }
-    return null;
+    return personRepository.findByFirstAndLastName(firstName, lastName);
   }
 
   public List<Person> getAllPersons() {
-    return persons;
+    return versionedStore.read(() -> personRepository.findAll());
+  }
+
+  public long getModificationCount() {
+    return personRepository.getModificationCount();
+  }
+
+  public int getLastId() {
+    return personRepository.getLastId();
   }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.safetynet.alerts.web.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.tinylog.Logger;
+
+import com.safetynet.alerts.web.model.Dataset;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.repository.SnapshotFile;
+
+/**
+ * Some javadoc.
+ *
+ * This service class keeps a binary snapshot of the domain up to date, so a
+ * restart can restore it in a single sequential read instead of parsing and
+ * converting the JSON dataset again. The snapshot is written once the dataset
+ * is loaded, then again by a periodic task whenever the data has been modified
+ * in between, so a burst of changes costs a single write. Snapshots are
+ * disabled when the "alerts.snapshot.path" property is empty.
+ */
+@Service
+public class SnapshotService {
+  @Value("${alerts.snapshot.path:}")
+  private String snapshotPath;
+
+  @Autowired
+  PersonService personService;
+
+  @Autowired
+  MedicalRecordService medicalRecordService;
+
+  @Autowired
+  FirestationService firestationService;
+
+  @Autowired
+  HouseHoldService houseHoldService;
+
+  @Autowired
+  VersionedStore versionedStore;
+
+  private volatile String fingerprint;
+  private volatile long savedModificationCount = -1;
+
+  public boolean isEnabled() {
+    return snapshotPath != null && !snapshotPath.isBlank();
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Reads the snapshot built from the current dataset source.
+   *
+   * @param sourceFingerprint The fingerprint of the dataset source.
+   * @return The saved domain, or null if snapshots are disabled or the snapshot
+   *         is missing, stale or unreadable.
+   */
+  public Dataset restore(String sourceFingerprint) {
+    if (!isEnabled()) {
+      return null;
+    }
+    try {
+      Dataset dataset = new SnapshotFile(Path.of(snapshotPath)).read(sourceFingerprint);
+      if (dataset == null) {
+        Logger.info("No up to date snapshot in " + snapshotPath + ", the dataset will be loaded.");
+      }
+      return dataset;
+    } catch (IOException | RuntimeException e) {
+      Logger.warn("Unable to read the snapshot " + snapshotPath + " : " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Starts keeping the snapshot up to date once the data is in memory.
+   *
+   * @param sourceFingerprint The fingerprint of the dataset source.
+   * @param upToDate          True if the data comes from the snapshot without
+   *                          any change, so it doesn't need to be written again.
+   */
+  public void start(String sourceFingerprint, boolean upToDate) {
+    fingerprint = sourceFingerprint;
+    if (upToDate) {
+      savedModificationCount = getModificationCount();
+    } else {
+      writeIfModified();
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Writes the snapshot if the data has been modified since the last one.
+   */
+  @Scheduled(fixedDelayString = "${alerts.snapshot.interval:5000}")
+  public void writeIfModified() {
+    if (!isEnabled() || fingerprint == null) {
+      return;
+    }
+    long modificationCount = versionedStore.read(this::getModificationCount);
+    if (modificationCount == savedModificationCount) {
+      return;
+    }
+    try {
+      // Copy the data of a single version. The entities are never modified in
+      // place, so the file is written while the writers go on. A change made in
+      // between only causes another write.
+      Dataset dataset = versionedStore.read(() -> new Dataset(houseHoldService.getAllHouseholds(),
+          firestationService.getAllFirestations(), personService.getAllPersons(),
+          medicalRecordService.getAllMedicalRecords(), versionedStore.getLastSequence(),
+          houseHoldService.getLastId(), firestationService.getLastId(), personService.getLastId(),
+          medicalRecordService.getLastId()));
+      new SnapshotFile(Path.of(snapshotPath)).write(dataset, fingerprint);
+      savedModificationCount = modificationCount;
+      Logger.info("Snapshot written to " + snapshotPath + ".");
+    } catch (IOException | RuntimeException e) {
+      Logger.warn("Unable to write the snapshot " + snapshotPath + " : " + e.getMessage());
+    }
+  }
+
+  private long getModificationCount() {
+    return houseHoldService.getModificationCount() + firestationService.getModificationCount()
+        + personService.getModificationCount() + medicalRecordService.getModificationCount();
+  }
+}
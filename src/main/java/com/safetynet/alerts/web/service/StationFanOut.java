@@ -0,0 +1,91 @@
+package com.safetynet.alerts.web.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.safetynet.alerts.web.repository.VersionedStore;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Some javadoc.
+ *
+ * Resolves the stations of a multi-station query in parallel. Each resolution
+ * runs on a bounded fork/join pool, bound to the version of the data pinned by
+ * the calling read, so all of them read the same version, and to the trace of
+ * the calling request, so their stages are reported with it.
+ *
+ * A query with fewer stations than the "alerts.fanout.threshold" property is
+ * resolved on the calling thread, as the parallel execution costs more than it
+ * saves on few stations. The fan-out is disabled when the threshold is 0. The
+ * pool size is the "alerts.fanout.parallelism" property, the number of cores
+ * when 0.
+ */
+@Service
+public class StationFanOut {
+  private final VersionedStore versionedStore;
+  private final AlertMetrics alertMetrics;
+  private final int threshold;
+  private final ForkJoinPool pool;
+
+  public StationFanOut(VersionedStore versionedStore, AlertMetrics alertMetrics,
+      @Value("${alerts.fanout.threshold:4}") int threshold, @Value("${alerts.fanout.parallelism:0}") int parallelism) {
+    this.versionedStore = versionedStore;
+    this.alertMetrics = alertMetrics;
+    this.threshold = threshold;
+    this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Checks whether a query on this number of stations is resolved in parallel.
+   *
+   * @param stations The number of stations.
+   * @return True if the stations are resolved in parallel.
+   */
+  public boolean isParallel(int stations) {
+    return threshold > 0 && stations >= threshold;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Resolves each station, in parallel if there are enough of them.
+   *
+   * @param stations The station numbers.
+   * @param resolver The resolution of one station, reading the repositories.
+   * @param <T>      The result type.
+   * @return The results, in the order of the stations.
+   */
+  public <T> List<T> map(List<String> stations, Function<String, T> resolver) {
+    List<T> results = new ArrayList<>(stations.size());
+    if (!isParallel(stations.size())) {
+      for (String station : stations) {
+        results.add(resolver.apply(station));
+      }
+      return results;
+    }
+    List<ForkJoinTask<T>> tasks = new ArrayList<>(stations.size());
+    for (String station : stations) {
+      Supplier<T> task = alertMetrics.fork(versionedStore.bind(() -> resolver.apply(station)));
+      tasks.add(pool.submit(task::get));
+    }
+    for (ForkJoinTask<T> task : tasks) {
+      results.add(task.join());
+    }
+    return results;
+  }
+
+  @PreDestroy
+  public void close() {
+    pool.shutdown();
+  }
+}
@@ -1,20 +1,34 @@
 package com.safetynet.alerts.web.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
+import com.safetynet.alerts.web.deserialization.model.BatchQueryDeserialization;
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.model.AgePartition;
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
 import com.safetynet.alerts.web.model.MedicalRecord;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.serialization.AlertResponse;
 import com.safetynet.alerts.web.serialization.Serialization;
 import com.safetynet.alerts.web.serialization.model.ChildAlert;
 import com.safetynet.alerts.web.serialization.model.FireAlert;
-import com.safetynet.alerts.web.serialization.model.FloodAlertByHousehold;
 import com.safetynet.alerts.web.serialization.model.FirestationAlert;
+import com.safetynet.alerts.web.serialization.model.FloodAlertByHousehold;
 import com.safetynet.alerts.web.serialization.model.PersonInfoAlert;
 import com.safetynet.alerts.web.serialization.service.ChildAlertService;
 import com.safetynet.alerts.web.serialization.service.FireService;
@@ -29,9 +43,20 @@ import com.safetynet.alerts.web.serialization.service.PersonInfoService;
  * It interacts with other service classes like FirestationService,
  * PersonService, and MedicalRecordService to retrieve data and perform
  * operations based on URL parameters.
+ * The latency and size of each answer, and the duration of the stages of its
+ * computation, are recorded by the AlertMetrics.
  */
 @Service
 public class URLSService {
+  // Parameters of the endpoints a batch query can name :
+  private static final Map<String, List<String>> BATCH_PARAMETERS = Map.of(
+      "firestation", List.of("stationNumber"),
+      "childAlert", List.of("address"),
+      "phoneAlert", List.of("firestation"),
+      "fire", List.of("address"),
+      "flood/stations", List.of("stations"),
+      "personInfo", List.of("firstName", "lastName"),
+      "communityEmail", List.of("city"));
 
   private final FirestationService firestationService;
   private final PersonService personService;
@@ -39,16 +64,28 @@ public class URLSService {
   private final Serialization serialization;
   private final HouseHoldService houseHoldService;
   private final PersonCoveredService personCoveredService;
+  private final StationCoverageGraph coverageGraph;
+  private final AlertCache alertCache;
+  private final VersionedStore versionedStore;
+  private final StationFanOut stationFanOut;
+  private final AlertMetrics alertMetrics;
+  private final AlertData storeData = new StoreData();
 
   public URLSService(FirestationService firestationService, PersonService personService,
       MedicalRecordService medicalRecordService, Serialization serialization, HouseHoldService houseHoldService,
-      PersonCoveredService personCoveredService) {
+      PersonCoveredService personCoveredService, StationCoverageGraph coverageGraph, AlertCache alertCache,
+      VersionedStore versionedStore, StationFanOut stationFanOut, AlertMetrics alertMetrics) {
     this.firestationService = firestationService;
     this.personService = personService;
     this.medicalRecordService = medicalRecordService;
     this.serialization = serialization;
     this.houseHoldService = houseHoldService;
     this.personCoveredService = personCoveredService;
+    this.coverageGraph = coverageGraph;
+    this.alertCache = alertCache;
+    this.versionedStore = versionedStore;
+    this.stationFanOut = stationFanOut;
+    this.alertMetrics = alertMetrics;
   }
 
   /**
@@ -58,23 +95,36 @@ public class URLSService {
    *
    * @param station The fire station number for which to retrieve the data.
    */
-  public ResponseEntity<ObjectNode> personCoveredByFireStation(String station) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
-    Firestation firestation = firestationService.getFirestationByStation(station);
-    if (firestation == null) {
+  public ResponseEntity<AlertResponse> personCoveredByFireStation(String station) {
+    List<Object> key = AlertCache.key(Endpoint.PERSON_COVERED_BY_FIRE_STATION, station);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return personCoveredByFireStation(station, storeData);
+    });
+    return alertMetrics.record(Endpoint.PERSON_COVERED_BY_FIRE_STATION, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> personCoveredByFireStation(String station, AlertData data) {
+    String methodeName = Endpoint.PERSON_COVERED_BY_FIRE_STATION.getMethodName();
+    List<Household> households = data.getHouseholdsByStations(List.of(station));
+    if (households.isEmpty()) {
       return serialization.emptyAnswer(methodeName, station);
     }
-    List<Household> households = houseHoldService.getHouseholdsByFirestation(firestation);
-    List<Person> persons = personService.getPersonsByHouseholds(households);
-    List<MedicalRecord> medicalRecords = medicalRecordService.getMedicalRecordsByPersons(persons);
+    List<Person> persons = data.getPersonsByHouseholds(households);
+    List<MedicalRecord> medicalRecords = data.getMedicalRecordsByPersons(persons);
     List<FirestationAlert> personsCovered = personCoveredService.getPersonCoveredList(persons, households);
 
-    int adults = medicalRecordService.getAdultsNumber(medicalRecords);
-    int minors = medicalRecordService.getMinorsNumber(medicalRecords);
+    AgePartition partition = medicalRecordService.partitionByAge(medicalRecords);
+    int adults = partition.getAdultsNumber();
+    int minors = partition.getMinorsNumber();
+    alertMetrics.stage(AlertStage.GROUPING);
     if (persons.isEmpty()) {
       return serialization.emptyAnswer(methodeName, station);
     } else {
-      return serialization.firestationAlertSerialization(personsCovered, methodeName, station, minors, adults);
+      return withResultSize(
+          serialization.firestationAlertSerialization(personsCovered, methodeName, station, minors, adults),
+          persons.size());
     }
   }
 
@@ -86,28 +136,41 @@ public class URLSService {
    *
    * @param address The address for which to retrieve the children and adults.
    */
-  public ResponseEntity<ObjectNode> childrenLivingAtThisAddress(String address) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+  public ResponseEntity<AlertResponse> childrenLivingAtThisAddress(String address) {
+    List<Object> key = AlertCache.key(Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, address);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return childrenLivingAtThisAddress(address, storeData);
+    });
+    return alertMetrics.record(Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> childrenLivingAtThisAddress(String address, AlertData data) {
+    String methodeName = Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS.getMethodName();
     // Household at this address :
-    Household household = houseHoldService.getHouseholdByAddress(address);
+    Household household = data.getHouseholdByAddress(address);
     if (household == null) {
       return serialization.emptyAnswer(methodeName, address);
     }
     // Persons at this address :
-    List<Person> persons = personService.getPersonsByHousehold(household);
+    List<Person> persons = data.getResidents(household);
     // MedicalRecords at this address :
-    List<MedicalRecord> medicalRecords = medicalRecordService.getMedicalRecordsByPersons(persons);
+    List<MedicalRecord> medicalRecords = data.getMedicalRecordsByPersons(persons);
     // Separate adults and minors MedicalRecords :
-    List<MedicalRecord> adultsMedicalRecords = medicalRecordService.getAdultsMedicalRecords(medicalRecords);
-    List<MedicalRecord> childrenMedicalRecords = medicalRecordService.getChildrenMedicalRecords(medicalRecords);
+    AgePartition partition = medicalRecordService.partitionByAge(medicalRecords);
 
     ChildAlertService childAlertService = new ChildAlertService();
-    List<ChildAlert> children = childAlertService.getChildAlertListFromPersonList(persons, childrenMedicalRecords);
-    List<ChildAlert> adults = childAlertService.getChildAlertListFromPersonList(persons, adultsMedicalRecords);
+    Map<Integer, Person> personsById = childAlertService.getPersonsById(persons);
+    List<ChildAlert> children = childAlertService.getChildAlertListFromPersonsById(personsById,
+        partition.getMinors());
+    List<ChildAlert> adults = childAlertService.getChildAlertListFromPersonsById(personsById, partition.getAdults());
+    alertMetrics.stage(AlertStage.GROUPING);
     if (children.isEmpty() && adults.isEmpty()) {
       return serialization.emptyAnswer(methodeName, address);
     } else {
-      return serialization.childAlertSerialization(children, adults, methodeName, address);
+      return withResultSize(serialization.childAlertSerialization(children, adults, methodeName, address),
+          children.size() + adults.size());
     }
   }
 
@@ -120,19 +183,25 @@ public class URLSService {
    * @param station The fire station number for which to retrieve the phone
    * numbers.
    */
-  public ResponseEntity<ObjectNode> personsPhoneNumbersCoveredByStation(String station) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
-    Firestation firestation = firestationService.getFirestationByStation(station);
-    if (firestation == null) {
-      return serialization.emptyAnswer(methodeName, station);
-    }
-    List<Household> households = houseHoldService.getHouseholdsByFirestation(firestation);
-    List<Person> persons = personService.getPersonsByHouseholds(households);
+  public ResponseEntity<AlertResponse> personsPhoneNumbersCoveredByStation(String station) {
+    List<Object> key = AlertCache.key(Endpoint.PERSONS_PHONE_NUMBERS_COVERED_BY_STATION, station);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return personsPhoneNumbersCoveredByStation(station, storeData);
+    });
+    return alertMetrics.record(Endpoint.PERSONS_PHONE_NUMBERS_COVERED_BY_STATION, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> personsPhoneNumbersCoveredByStation(String station, AlertData data) {
+    String methodeName = Endpoint.PERSONS_PHONE_NUMBERS_COVERED_BY_STATION.getMethodName();
+    List<Household> households = data.getHouseholdsByStations(List.of(station));
+    List<Person> persons = data.getPersonsByHouseholds(households);
     if (persons.isEmpty()) {
       return serialization.emptyAnswer(methodeName, station);
     } else {
-      return serialization.phoneAlertSerialization(persons,
-          methodeName, station);
+      return withResultSize(serialization.phoneAlertSerialization(persons, methodeName, station),
+          persons.size());
     }
   }
 
@@ -146,17 +215,28 @@ public class URLSService {
    * persons.
    * 
    */
-  public ResponseEntity<ObjectNode> stationAndPersonsByAddress(String address) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
-    Household household = houseHoldService.getHouseholdByAddress(address);
+  public ResponseEntity<AlertResponse> stationAndPersonsByAddress(String address) {
+    List<Object> key = AlertCache.key(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, address);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return stationAndPersonsByAddress(address, storeData);
+    });
+    return alertMetrics.record(Endpoint.STATION_AND_PERSONS_BY_ADDRESS, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> stationAndPersonsByAddress(String address, AlertData data) {
+    String methodeName = Endpoint.STATION_AND_PERSONS_BY_ADDRESS.getMethodName();
+    Household household = data.getHouseholdByAddress(address);
     if (household == null) {
       return serialization.emptyAnswer(methodeName, address);
     }
-    List<Firestation> firestations = firestationService.getFirestationsByHousehold(household);
-    List<Person> persons = personService.getPersonsByHousehold(household);
-    List<MedicalRecord> medicalRecords = medicalRecordService.getMedicalRecordsByPersons(persons);
+    List<Firestation> firestations = data.getFirestationsByHousehold(household);
+    List<Person> persons = data.getResidents(household);
+    List<MedicalRecord> medicalRecords = data.getMedicalRecordsByPersons(persons);
     FireService fireService = new FireService();
     List<FireAlert> fires = fireService.getFireList(persons, medicalRecords);
+    alertMetrics.stage(AlertStage.GROUPING);
     if (fires.isEmpty()) {
       return serialization.emptyAnswer(methodeName, address);
     } else {
@@ -168,7 +248,7 @@ public class URLSService {
           stations = stations + "," + firestation.getStation();
         }
       }
-      return serialization.fireSerialization(fires, stations, methodeName, address);
+      return withResultSize(serialization.fireSerialization(fires, stations, methodeName, address), fires.size());
     }
   }
 
@@ -176,27 +256,55 @@ public class URLSService {
    * Some javadoc.
    * 
    * Retrieves persons with their medical records based on the provided fire
-   * station number.
+   * station numbers, separated by commas. A household covered by several of
+   * these stations is listed once. With enough stations, each station is
+   * resolved in parallel and their households are merged.
    * 
-   * @param station The fire station number for which to retrieve persons and
+   * @param station The fire station numbers for which to retrieve persons and
    * their medical records.
    */
-  public ResponseEntity<ObjectNode> personsByHouseholdsFromStation(String station) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
-    FloodService floodService = new FloodService();
-    Firestation firestation = firestationService.getFirestationByStation(station);
-    if (firestation == null) {
-      return serialization.emptyAnswer(methodeName, station);
+  public ResponseEntity<AlertResponse> personsByHouseholdsFromStation(String station) {
+    List<String> stations = splitStations(station);
+    List<List<Object>> dependencies = new ArrayList<>();
+    if (stations.size() > 1) {
+      for (String oneStation : stations) {
+        dependencies.add(AlertCache.key(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, oneStation));
+      }
+    }
+    List<Object> key = AlertCache.key(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, String.join(",", stations));
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, dependencies, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      if (!stationFanOut.isParallel(stations.size())) {
+        return personsByHouseholdsFromStation(station, stations, storeData);
+      }
+      List<FloodAlertByHousehold> floodAlertByHousehold = mergeFloodAlertsByHousehold(stationFanOut.map(stations,
+          oneStation -> getFloodAlertByHousehold(storeData.getHouseholdsByStations(List.of(oneStation)), storeData)));
+      alertMetrics.stage(AlertStage.STATIONS);
+      return floodAnswer(station, floodAlertByHousehold);
+    });
+    return alertMetrics.record(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> personsByHouseholdsFromStation(String station, List<String> stations,
+      AlertData data) {
+    List<Household> households = data.getHouseholdsByStations(stations);
+    if (households.isEmpty()) {
+      return serialization.emptyAnswer(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION.getMethodName(), station);
     }
-    List<Household> households = houseHoldService.getHouseholdsByFirestation(firestation);
-    List<Person> persons = personService.getPersonsByHouseholds(households);
-    List<MedicalRecord> medicalRecords = medicalRecordService.getMedicalRecordsByPersons(persons);
-    List<FloodAlertByHousehold> floodAlertByHousehold = floodService.getFloodAlertByHousehold(persons,
-        medicalRecords, households);
+    return floodAnswer(station, getFloodAlertByHousehold(households, data));
+  }
+
+  private ResponseEntity<AlertResponse> floodAnswer(String station, List<FloodAlertByHousehold> floodAlertByHousehold) {
+    String methodeName = Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION.getMethodName();
     if (floodAlertByHousehold.isEmpty()) {
       return serialization.emptyAnswer(methodeName, station);
     } else {
-      return serialization.floodSerialization(floodAlertByHousehold, methodeName, station);
+      int persons = 0;
+      for (FloodAlertByHousehold flood : floodAlertByHousehold) {
+        persons += flood.getFloods().size();
+      }
+      return withResultSize(serialization.floodSerialization(floodAlertByHousehold, methodeName, station), persons);
     }
   }
 
@@ -208,24 +316,36 @@ public class URLSService {
    * 
    * @param city The city for which to retrieve the email addresses of residents.
    */
-  public ResponseEntity<ObjectNode> personInfoByFirstAndLastName(String firstName, String lastName) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+  public ResponseEntity<AlertResponse> personInfoByFirstAndLastName(String firstName, String lastName) {
+    List<Object> key = AlertCache.key(Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME, firstName, lastName);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return personInfoByFirstAndLastName(firstName, lastName, storeData);
+    });
+    return alertMetrics.record(Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> personInfoByFirstAndLastName(String firstName, String lastName,
+      AlertData data) {
+    String methodeName = Endpoint.PERSON_INFO_BY_FIRST_AND_LAST_NAME.getMethodName();
 
     PersonInfoService personInfoService = new PersonInfoService();
-    Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
+    Person person = data.getPersonByFirstAndLastName(firstName, lastName);
     if (person == null) {
       return serialization.emptyAnswer(methodeName, firstName + " "
           + lastName);
     }
-    MedicalRecord medicalRecords = medicalRecordService.getMedicalRecordByPerson(person);
-    Household household = houseHoldService.getHouseholdById(person.getIdHousehold());
+    MedicalRecord medicalRecords = data.getMedicalRecordByPerson(person);
+    Household household = data.getHouseholdById(person.getIdHousehold());
     List<PersonInfoAlert> personInfo = personInfoService.getPersonInfo(person, medicalRecords, household);
+    alertMetrics.stage(AlertStage.GROUPING);
     if (personInfo == null) {
       return serialization.emptyAnswer(methodeName, firstName + " "
           + lastName);
     } else {
-      return serialization.personInfoSerialization(personInfo,
-          methodeName, firstName, lastName);
+      return withResultSize(serialization.personInfoSerialization(personInfo, methodeName, firstName, lastName),
+          personInfo.size());
     }
   }
 
@@ -237,16 +357,512 @@ public class URLSService {
    * @param city The city for which to retrieve the email addresses of residents.
    * 
    */
-  public ResponseEntity<ObjectNode> allResidentsEmailsFromCity(String city) {
-    String methodeName = DataManipulationUtils.getCurrentMethodName();
+  public ResponseEntity<AlertResponse> allResidentsEmailsFromCity(String city) {
+    List<Object> key = AlertCache.key(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, city);
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = alertCache.get(key, () -> {
+      alertMetrics.stage(AlertStage.CACHE);
+      return allResidentsEmailsFromCity(city, storeData);
+    });
+    return alertMetrics.record(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, start, answer);
+  }
+
+  private ResponseEntity<AlertResponse> allResidentsEmailsFromCity(String city, AlertData data) {
+    String methodeName = Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY.getMethodName();
 
-    List<Person> persons = personService.getPersonsByCity(city);
+    List<Person> persons = data.getPersonsByCity(city);
     if (persons.isEmpty()) {
       return serialization.emptyAnswer(methodeName, city);
 
     } else {
-      return serialization.communityEmailSerialization(persons,
-          methodeName, city);
+      return withResultSize(serialization.communityEmailSerialization(persons, methodeName, city),
+          persons.size());
+    }
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Answers a batch of alert queries on the same version of the data. The
+   * households, persons and medical records of all the queries are resolved
+   * once for the whole batch, then each query is answered from them like the
+   * GET endpoint it names. A query repeated in the batch is answered once, and
+   * only the batch is recorded in the metrics.
+   *
+   * @param queries The alert queries, all answerable.
+   * @return The answers, in the order of the queries.
+   */
+  public ResponseEntity<AlertResponse> batch(List<BatchQueryDeserialization> queries) {
+    long start = alertMetrics.start();
+    ResponseEntity<AlertResponse> answer = versionedStore.read(() -> {
+      Set<BatchQueryDeserialization> distinctQueries = new LinkedHashSet<>(queries);
+      BatchData data = new BatchData(distinctQueries);
+      Map<BatchQueryDeserialization, AlertResponse> answered = new HashMap<>();
+      for (BatchQueryDeserialization query : distinctQueries) {
+        answered.put(query, answer(query.getEndpoint(), query.getParameters(), data).getBody());
+      }
+      List<AlertResponse> answers = new ArrayList<>(queries.size());
+      for (BatchQueryDeserialization query : queries) {
+        answers.add(answered.get(query));
+      }
+      ResponseEntity<AlertResponse> batch = serialization.batchSerialization(answers, Endpoint.BATCH.getMethodName());
+      if (batch != null && batch.getBody() != null) {
+        batch.getBody().setVersion(versionedStore.getVersion());
+      }
+      return withResultSize(batch, answers.size());
+    });
+    return alertMetrics.record(Endpoint.BATCH, start, answer);
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Checks that a batch query names an alert endpoint and gives all its
+   * parameters.
+   *
+   * @param query The batch query.
+   * @return True if the query can be answered.
+   */
+  public boolean isAnswerable(BatchQueryDeserialization query) {
+    if (query == null || query.getEndpoint() == null || query.getParameters() == null) {
+      return false;
+    }
+    List<String> parameters = BATCH_PARAMETERS.get(query.getEndpoint());
+    if (parameters == null) {
+      return false;
+    }
+    for (String parameter : parameters) {
+      if (query.getParameters().get(parameter) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Answers one query of a batch like the GET endpoint it names, from the data
+   * resolved for the batch.
+   *
+   * @param endpoint   The path of the endpoint.
+   * @param parameters The request parameters.
+   * @param data       The data of the batch.
+   * @return The answer.
+   */
+  private ResponseEntity<AlertResponse> answer(String endpoint, Map<String, String> parameters, AlertData data) {
+    switch (endpoint) {
+      case "firestation":
+        return personCoveredByFireStation(parameters.get("stationNumber"), data);
+      case "childAlert":
+        return childrenLivingAtThisAddress(parameters.get("address"), data);
+      case "phoneAlert":
+        return personsPhoneNumbersCoveredByStation(parameters.get("firestation"), data);
+      case "fire":
+        return stationAndPersonsByAddress(parameters.get("address"), data);
+      case "flood/stations":
+        String stations = parameters.get("stations");
+        return personsByHouseholdsFromStation(stations, splitStations(stations), data);
+      case "personInfo":
+        return personInfoByFirstAndLastName(parameters.get("firstName"), parameters.get("lastName"), data);
+      case "communityEmail":
+        return allResidentsEmailsFromCity(parameters.get("city"), data);
+      default:
+        throw new IllegalArgumentException("Unknown alert endpoint : " + endpoint);
+    }
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Ends the serialization stage of an answer, and keeps the number of results
+   * it lists in its body, for the metrics.
+   *
+   * @param answer     The answer.
+   * @param resultSize The number of persons, or queries for a batch.
+   * @return The answer.
+   */
+  private ResponseEntity<AlertResponse> withResultSize(ResponseEntity<AlertResponse> answer, int resultSize) {
+    alertMetrics.stage(AlertStage.SERIALIZATION);
+    if (answer != null && answer.getBody() != null) {
+      answer.getBody().setResultSize(resultSize);
+    }
+    return answer;
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Retrieves the persons of a list of households with their medical records,
+   * grouped by household.
+   *
+   * @param households The list of households.
+   * @param data       The data the persons and records are retrieved from.
+   * @return A list of FloodAlertByHousehold, without the empty households.
+   */
+  private List<FloodAlertByHousehold> getFloodAlertByHousehold(List<Household> households, AlertData data) {
+    FloodService floodService = new FloodService();
+    List<Person> persons = data.getPersonsByHouseholds(households);
+    List<MedicalRecord> medicalRecords = data.getMedicalRecordsByPersons(persons);
+    List<FloodAlertByHousehold> floods = floodService.getFloodAlertByHousehold(persons, medicalRecords, households);
+    alertMetrics.stage(AlertStage.GROUPING);
+    return floods;
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Merges the FloodAlertByHousehold lists of several stations, in the order of
+   * the stations, keeping a household covered by several of them once.
+   *
+   * @param floodsByStation The FloodAlertByHousehold list of each station.
+   * @return The merged list.
+   */
+  private static List<FloodAlertByHousehold> mergeFloodAlertsByHousehold(
+      List<List<FloodAlertByHousehold>> floodsByStation) {
+    Map<Integer, FloodAlertByHousehold> floodsByHousehold = new LinkedHashMap<>();
+    for (List<FloodAlertByHousehold> floods : floodsByStation) {
+      for (FloodAlertByHousehold flood : floods) {
+        floodsByHousehold.putIfAbsent(flood.getHousehold().getId(), flood);
+      }
+    }
+    return new ArrayList<>(floodsByHousehold.values());
+  }
+
+  /**
+   * Some javadoc.
+   * 
+   * Splits a list of station numbers separated by commas, without blanks nor
+   * duplicates.
+   *
+   * @param stations The station numbers.
+   * @return The list of station numbers.
+   */
+  private static List<String> splitStations(String stations) {
+    Set<String> split = new LinkedHashSet<>();
+    for (String station : stations.split(",")) {
+      if (!station.isBlank()) {
+        split.add(station.trim());
+      }
+    }
+    return new ArrayList<>(split);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the households covered by several stations by walking the station
+   * coverage graph. A household covered by several stations is listed once.
+   *
+   * @param stations   The fire station numbers.
+   * @param households The function retrieving a household by ID.
+   * @return A list of households covered by these stations.
+   */
+  private List<Household> getHouseholdsByStations(List<String> stations, IntFunction<Household> households) {
+    Set<Integer> idHouseholds = new LinkedHashSet<>();
+    for (String station : stations) {
+      for (int idHousehold : coverageGraph.getIdHouseholds(station)) {
+        idHouseholds.add(idHousehold);
+      }
+    }
+    List<Household> covered = new ArrayList<>(idHouseholds.size());
+    for (int idHousehold : idHouseholds) {
+      Household household = households.apply(idHousehold);
+      if (household != null) {
+        covered.add(household);
+      }
+    }
+    return covered;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves the persons living in a list of households by walking the station
+   * coverage graph.
+   *
+   * @param households The list of households.
+   * @param persons    The function retrieving a person by ID.
+   * @return A list of persons living in these households.
+   */
+  private List<Person> getPersonsByHouseholds(List<Household> households, IntFunction<Person> persons) {
+    List<Person> residents = new ArrayList<>();
+    for (Household household : households) {
+      for (int idPerson : coverageGraph.getIdPersons(household.getId())) {
+        Person person = persons.apply(idPerson);
+        if (person != null) {
+          residents.add(person);
+        }
+      }
+    }
+    return residents;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Retrieves a value already resolved for a key, else resolves it once, even
+   * if it is null.
+   *
+   * @param resolved The values already resolved.
+   * @param key      The key.
+   * @param resolver The function resolving the value of a key.
+   * @return The value.
+   */
+  private static <K, V> V resolve(Map<K, V> resolved, K key, Function<K, V> resolver) {
+    if (resolved.containsKey(key)) {
+      return resolved.get(key);
+    }
+    V value = resolver.apply(key);
+    resolved.put(key, value);
+    return value;
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Data the alert queries are answered from.
+   */
+  private interface AlertData {
+    List<Household> getHouseholdsByStations(List<String> stations);
+
+    Household getHouseholdByAddress(String address);
+
+    Household getHouseholdById(int idHousehold);
+
+    List<Firestation> getFirestationsByHousehold(Household household);
+
+    List<Person> getPersonsByHouseholds(List<Household> households);
+
+    List<Person> getResidents(Household household);
+
+    Person getPersonByFirstAndLastName(String firstName, String lastName);
+
+    List<Person> getPersonsByCity(String city);
+
+    List<MedicalRecord> getMedicalRecordsByPersons(List<Person> persons);
+
+    MedicalRecord getMedicalRecordByPerson(Person person);
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Data of a single query, retrieved from the services as it is needed. Each
+   * retrieval ends the stage it belongs to.
+   */
+  private final class StoreData implements AlertData {
+    @Override
+    public List<Household> getHouseholdsByStations(List<String> stations) {
+      List<Household> households = URLSService.this.getHouseholdsByStations(stations,
+          houseHoldService::getHouseholdById);
+      alertMetrics.stage(AlertStage.HOUSEHOLDS);
+      return households;
+    }
+
+    @Override
+    public Household getHouseholdByAddress(String address) {
+      Household household = houseHoldService.getHouseholdByAddress(address);
+      alertMetrics.stage(AlertStage.HOUSEHOLDS);
+      return household;
+    }
+
+    @Override
+    public Household getHouseholdById(int idHousehold) {
+      Household household = houseHoldService.getHouseholdById(idHousehold);
+      alertMetrics.stage(AlertStage.HOUSEHOLDS);
+      return household;
+    }
+
+    @Override
+    public List<Firestation> getFirestationsByHousehold(Household household) {
+      List<Firestation> firestations = firestationService.getFirestationsByHousehold(household);
+      alertMetrics.stage(AlertStage.FIRESTATIONS);
+      return firestations;
+    }
+
+    @Override
+    public List<Person> getPersonsByHouseholds(List<Household> households) {
+      List<Person> persons = URLSService.this.getPersonsByHouseholds(households, personService::getPersonById);
+      alertMetrics.stage(AlertStage.PERSONS);
+      return persons;
+    }
+
+    @Override
+    public List<Person> getResidents(Household household) {
+      List<Person> persons = personService.getPersonsByHousehold(household);
+      alertMetrics.stage(AlertStage.PERSONS);
+      return persons;
+    }
+
+    @Override
+    public Person getPersonByFirstAndLastName(String firstName, String lastName) {
+      Person person = personService.getPersonByFirstAndLastName(firstName, lastName);
+      alertMetrics.stage(AlertStage.PERSONS);
+      return person;
+    }
+
+    @Override
+    public List<Person> getPersonsByCity(String city) {
+      List<Person> persons = personService.getPersonsByCity(city);
+      alertMetrics.stage(AlertStage.PERSONS);
+      return persons;
+    }
+
+    @Override
+    public List<MedicalRecord> getMedicalRecordsByPersons(List<Person> persons) {
+      List<MedicalRecord> medicalRecords = medicalRecordService.getMedicalRecordsByPersons(persons);
+      alertMetrics.stage(AlertStage.MEDICAL_RECORDS);
+      return medicalRecords;
+    }
+
+    @Override
+    public MedicalRecord getMedicalRecordByPerson(Person person) {
+      MedicalRecord medicalRecord = medicalRecordService.getMedicalRecordByPerson(person);
+      alertMetrics.stage(AlertStage.MEDICAL_RECORDS);
+      return medicalRecord;
+    }
+  }
+
+  /**
+   * Some javadoc.
+   *
+   * Data of a batch: the stations, addresses, names and cities of all its
+   * queries are resolved to their households, then to the persons of all these
+   * households, then to the medical records of all these persons, each of them
+   * once. The queries are then answered from these resolutions, without going
+   * through the services again.
+   */
+  private final class BatchData implements AlertData {
+    private final Map<Integer, Household> householdsById = new HashMap<>();
+    private final Map<String, Household> householdsByAddress = new HashMap<>();
+    private final Map<Integer, List<Firestation>> firestationsByHousehold = new HashMap<>();
+    private final Map<Integer, Person> personsById = new HashMap<>();
+    private final Map<Integer, List<Person>> residentsByHousehold = new HashMap<>();
+    private final Map<List<String>, Person> personsByName = new HashMap<>();
+    private final Map<String, List<Person>> personsByCity = new HashMap<>();
+    private final Map<Integer, MedicalRecord> medicalRecordsByPerson = new HashMap<>();
+
+    private BatchData(Collection<BatchQueryDeserialization> queries) {
+      Set<String> stations = new LinkedHashSet<>();
+      Set<String> phoneStations = new LinkedHashSet<>();
+      Set<String> addresses = new LinkedHashSet<>();
+      List<Person> persons = new ArrayList<>();
+      for (BatchQueryDeserialization query : queries) {
+        Map<String, String> parameters = query.getParameters();
+        switch (query.getEndpoint()) {
+          case "firestation":
+            stations.add(parameters.get("stationNumber"));
+            break;
+          case "flood/stations":
+            stations.addAll(splitStations(parameters.get("stations")));
+            break;
+          case "phoneAlert":
+            phoneStations.add(parameters.get("firestation"));
+            break;
+          case "childAlert":
+          case "fire":
+            addresses.add(parameters.get("address"));
+            break;
+          case "personInfo":
+            Person person = getPersonByFirstAndLastName(parameters.get("firstName"), parameters.get("lastName"));
+            if (person != null) {
+              persons.add(person);
+              getHouseholdById(person.getIdHousehold());
+            }
+            break;
+          case "communityEmail":
+            getPersonsByCity(parameters.get("city"));
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown alert endpoint : " + query.getEndpoint());
+        }
+      }
+      // Households of all the stations and addresses :
+      List<Household> households = getHouseholdsByStations(new ArrayList<>(stations));
+      List<Household> phoneHouseholds = getHouseholdsByStations(new ArrayList<>(phoneStations));
+      List<Household> addressHouseholds = new ArrayList<>();
+      for (String address : addresses) {
+        Household household = getHouseholdByAddress(address);
+        if (household != null) {
+          addressHouseholds.add(household);
+          getFirestationsByHousehold(household);
+        }
+      }
+      alertMetrics.stage(AlertStage.HOUSEHOLDS);
+      // Persons of all these households, the phone numbers needing no medical
+      // record :
+      getPersonsByHouseholds(phoneHouseholds);
+      persons.addAll(getPersonsByHouseholds(households));
+      for (Household household : addressHouseholds) {
+        persons.addAll(getResidents(household));
+      }
+      alertMetrics.stage(AlertStage.PERSONS);
+      // Medical records of all these persons :
+      getMedicalRecordsByPersons(persons);
+      alertMetrics.stage(AlertStage.MEDICAL_RECORDS);
+    }
+
+    @Override
+    public List<Household> getHouseholdsByStations(List<String> stations) {
+      return URLSService.this.getHouseholdsByStations(stations, this::getHouseholdById);
+    }
+
+    @Override
+    public Household getHouseholdByAddress(String address) {
+      return resolve(householdsByAddress, address, houseHoldService::getHouseholdByAddress);
+    }
+
+    @Override
+    public Household getHouseholdById(int idHousehold) {
+      return resolve(householdsById, idHousehold, houseHoldService::getHouseholdById);
+    }
+
+    @Override
+    public List<Firestation> getFirestationsByHousehold(Household household) {
+      return resolve(firestationsByHousehold, household.getId(),
+          idHousehold -> firestationService.getFirestationsByHousehold(household));
+    }
+
+    @Override
+    public List<Person> getPersonsByHouseholds(List<Household> households) {
+      return URLSService.this.getPersonsByHouseholds(households,
+          idPerson -> resolve(personsById, idPerson, personService::getPersonById));
+    }
+
+    @Override
+    public List<Person> getResidents(Household household) {
+      return resolve(residentsByHousehold, household.getId(),
+          idHousehold -> personService.getPersonsByHousehold(household));
+    }
+
+    @Override
+    public Person getPersonByFirstAndLastName(String firstName, String lastName) {
+      return resolve(personsByName, List.of(firstName, lastName),
+          name -> personService.getPersonByFirstAndLastName(firstName, lastName));
+    }
+
+    @Override
+    public List<Person> getPersonsByCity(String city) {
+      return resolve(personsByCity, city, personService::getPersonsByCity);
+    }
+
+    @Override
+    public List<MedicalRecord> getMedicalRecordsByPersons(List<Person> persons) {
+      List<MedicalRecord> medicalRecords = new ArrayList<>();
+      for (Person person : persons) {
+        MedicalRecord medicalRecord = getMedicalRecordByPerson(person);
+        if (medicalRecord != null) {
+          medicalRecords.add(medicalRecord);
+        }
+      }
+      return medicalRecords;
+    }
+
+    @Override
+    public MedicalRecord getMedicalRecordByPerson(Person person) {
+      return resolve(medicalRecordsByPerson, person.getId(),
+          idPerson -> medicalRecordService.getMedicalRecordByPerson(person));
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.safetynet.alerts.web.communUtilts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedFileInputStreamTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testReadAcrossRegions() throws IOException {
+    byte[] content = new byte[10_000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Path file = directory.resolve("data.json");
+    Files.write(file, content);
+
+    try (MappedFileInputStream inputStream = new MappedFileInputStream(file, 3_000)) {
+      assertEquals(content.length, inputStream.getSize());
+      assertEquals(0, inputStream.read());
+      byte[] result = new byte[content.length];
+      result[0] = 0;
+      int offset = 1;
+      int count;
+      while ((count = inputStream.read(result, offset, result.length - offset)) > 0) {
+        offset += count;
+      }
+      assertEquals(content.length, offset);
+      assertArrayEquals(content, result);
+      assertEquals(-1, inputStream.read());
+    }
+  }
+
+  @Test
+  void testReadEmptyFile() throws IOException {
+    Path file = directory.resolve("empty.json");
+    Files.write(file, new byte[0]);
+
+    try (MappedFileInputStream inputStream = new MappedFileInputStream(file)) {
+      assertEquals(-1, inputStream.read());
+      assertEquals(-1, inputStream.read(new byte[8], 0, 8));
+    }
+  }
+}
@@ -2,14 +2,23 @@ package com.safetynet.alerts.web.controller;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 
+import com.safetynet.alerts.web.deserialization.model.BatchQueryDeserialization;
 import com.safetynet.alerts.web.service.URLSService;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,4 +78,21 @@ public class URLSControllerTest {
     urlsController.getStationAndPersonsByAddress(address);
     verify(urlsService, times(1)).stationAndPersonsByAddress(address);
   }
-}
\ No newline at end of file
+
+  @Test
+  void testPostBatch() {
+    List<BatchQueryDeserialization> queries = List.of(
+        new BatchQueryDeserialization("fire", Map.of("address", "Rue de 123")));
+    when(urlsService.isAnswerable(any())).thenReturn(true);
+    urlsController.postBatch(queries);
+    verify(urlsService, times(1)).batch(queries);
+  }
+
+  @Test
+  void testPostBatchWithIncorrectContent() {
+    List<BatchQueryDeserialization> queries = List.of(
+        new BatchQueryDeserialization("unknown", Map.of("address", "Rue de 123")));
+    assertEquals(HttpStatus.BAD_REQUEST, urlsController.postBatch(queries).getStatusCode());
+    verify(urlsService, never()).batch(any());
+  }
+}
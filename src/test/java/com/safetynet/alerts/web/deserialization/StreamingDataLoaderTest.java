@@ -0,0 +1,80 @@
+package com.safetynet.alerts.web.deserialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.safetynet.alerts.web.communUtilts.StageTimer;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+
+public class StreamingDataLoaderTest {
+
+  private StreamingDataLoader dataLoader = new StreamingDataLoader();
+
+  @Test
+  void testLoadConvertsTheModel() throws IOException {
+    String json = "{\"firestations\":[{\"address\":\"ici\",\"station\":\"4\"},"
+        + "{\"address\":\"pas ici\",\"station\":\"1\"}],"
+        + "\"persons\":[{\"firstName\":\"Quentin\",\"lastName\":\"Beraud\",\"address\":\"ici\","
+        + "\"city\":\"Lyon\",\"zip\":\"69000\",\"phone\":\"000\",\"email\":\"qbe@yahoo.com\"},"
+        + "{\"firstName\":\"George\",\"lastName\":\"Galby\",\"address\":\"Encore pas ici\","
+        + "\"city\":\"Astrub\",\"zip\":\"66666\",\"phone\":\"000\",\"email\":\"kama@yahoo.com\"}],"
+        + "\"medicalrecords\":[{\"firstName\":\"Quentin\",\"lastName\":\"Beraud\",\"birthdate\":\"31/12/1997\"},"
+        + "{\"firstName\":\"George\",\"lastName\":\"Galby\",\"birthdate\":\"01/01/4988\"}]}";
+
+    dataLoader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(List.of(new Household(1, "ici"), new Household(2, "pas ici"), new Household(3, "Encore pas ici")),
+        dataLoader.getHouseholds());
+    assertEquals(List.of(new Firestation(1, List.of(1), "4"), new Firestation(2, List.of(2), "1")),
+        dataLoader.getFirestations());
+    assertEquals(List.of(new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com"),
+        new Person(2, 3, "George", "Galby", "Astrub", "66666", "000", "kama@yahoo.com")),
+        dataLoader.getPersons());
+    assertEquals(List.of(new MedicalRecord(1, 1, "31/12/1997", null, null),
+        new MedicalRecord(2, 2, "01/01/4988", null, null)), dataLoader.getMedicalRecords());
+  }
+
+  @Test
+  void testLoadTimesEachStage() throws IOException {
+    StageTimer stageTimer = new StageTimer("Test");
+    dataLoader = new StreamingDataLoader(stageTimer);
+
+    try (InputStream inputStream = getClass().getResourceAsStream("/data.json")) {
+      dataLoader.load(inputStream);
+    }
+
+    assertEquals(List.of("read and convert persons", "read and convert firestations",
+        "read and convert medical records", "link medical records"),
+        new ArrayList<>(stageTimer.getDurations().keySet()));
+    for (MedicalRecord medicalRecord : dataLoader.getMedicalRecords()) {
+      assertNotEquals(0, medicalRecord.getIdPerson());
+    }
+  }
+
+  @Test
+  void testLoadMedicalRecordBeforePerson() throws IOException {
+    String json = "{\"medicalrecords\":[{\"firstName\":\"Quentin\",\"lastName\":\"Beraud\","
+        + "\"birthdate\":\"02/12/1998\",\"medications\":[],\"allergies\":[]}],"
+        + "\"unknown\":{\"key\":[1,2]},"
+        + "\"persons\":[{\"firstName\":\"Jack\",\"lastName\":\"Land\",\"address\":\"Rue du loup\"},"
+        + "{\"firstName\":\"Quentin\",\"lastName\":\"Beraud\",\"address\":\"Rue du loup\"}]}";
+
+    dataLoader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(1, dataLoader.getHouseholds().size());
+    assertEquals(2, dataLoader.getPersons().size());
+    assertEquals(2, dataLoader.getMedicalRecords().get(0).getIdPerson());
+  }
+}
@@ -0,0 +1,155 @@
+package com.safetynet.alerts.web.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.service.MedicalRecordService;
+import com.safetynet.alerts.web.service.PersonService;
+import com.safetynet.alerts.web.service.URLSService;
+
+@SpringBootTest
+public class StoreConcurrencyIT {
+  private static final int WRITERS = 4, READERS = 4, PERSONS_BY_WRITER = 100;
+  private static final String CITY = "Stressville";
+
+  @Autowired
+  PersonService personService;
+
+  @Autowired
+  MedicalRecordService medicalRecordService;
+
+  @Autowired
+  URLSService urlsService;
+
+  @Autowired
+  StationCoverageGraph coverageGraph;
+
+  @Autowired
+  VersionedStore versionedStore;
+
+  // Medical records left by the other tests are not checked :
+  private int lastInitialMedicalRecordId;
+
+  @Test
+  public void readersNeverSeeTornStateTest() throws Exception {
+    int initialPersons = personService.getAllPersons().size();
+    for (MedicalRecord medicalRecord : medicalRecordService.getAllMedicalRecords()) {
+      lastInitialMedicalRecordId = Math.max(lastInitialMedicalRecordId, medicalRecord.getId());
+    }
+    ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch writersDone = new CountDownLatch(WRITERS);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int w = 0; w < WRITERS; w++) {
+      int writer = w;
+      threads.add(new Thread(() -> {
+        try {
+          for (int i = 0; i < PERSONS_BY_WRITER; i++) {
+            String firstName = "Writer" + writer, lastName = "Person" + i;
+            personService.addPerson(new PersonDeserialization(0, firstName, lastName, "Stress street " + (i % 10),
+                CITY, "00000", "000", "stress@email.com"), "addPerson");
+            medicalRecordService.addMedicalRecord(new MedicalRecordDeserialization(0, firstName, lastName,
+                "01/01/2000", new ArrayList<>(), new ArrayList<>()), "addMedicalRecord");
+            if (i % 2 == 1) {
+              personService.deleteByFirstAndLastName(firstName, "Person" + (i - 1), "deleteByFirstAndLastName");
+            }
+          }
+        } catch (Throwable e) {
+          errors.add(e);
+        } finally {
+          writersDone.countDown();
+        }
+      }));
+    }
+    for (int r = 0; r < READERS; r++) {
+      threads.add(new Thread(() -> {
+        try {
+          while (writing.get()) {
+            versionedStore.read(() -> {
+              checkConsistency();
+              return null;
+            });
+            urlsService.stationAndPersonsByAddress("Stress street 3");
+            urlsService.allResidentsEmailsFromCity(CITY);
+          }
+        } catch (Throwable e) {
+          errors.add(e);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    writersDone.await();
+    writing.set(false);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(errors.isEmpty(), () -> "Errors during the stress test : " + errors);
+    // No lost update : every person kept is stored once, with its own ID :
+    List<Person> persons = personService.getAllPersons();
+    assertEquals(initialPersons + WRITERS * PERSONS_BY_WRITER / 2, persons.size());
+    Set<Integer> ids = new HashSet<>();
+    for (Person person : persons) {
+      assertTrue(ids.add(person.getId()));
+    }
+    versionedStore.read(() -> {
+      checkConsistency();
+      return null;
+    });
+
+    for (int w = 0; w < WRITERS; w++) {
+      for (int i = 1; i < PERSONS_BY_WRITER; i += 2) {
+        personService.deleteByFirstAndLastName("Writer" + w, "Person" + i, "deleteByFirstAndLastName");
+      }
+    }
+    assertEquals(initialPersons, personService.getAllPersons().size());
+  }
+
+  // The persons, their medical records and the coverage graph only agree with
+  // each other between two mutations :
+  private void checkConsistency() {
+    Set<Integer> idPersons = new HashSet<>();
+    for (Person person : personService.getAllPersons()) {
+      idPersons.add(person.getId());
+      boolean inGraph = false;
+      for (int idPerson : coverageGraph.getIdPersons(person.getIdHousehold())) {
+        inGraph |= idPerson == person.getId();
+      }
+      assertTrue(inGraph, "Person " + person.getId() + " missing from the coverage graph.");
+    }
+    for (Person person : personService.getAllPersons()) {
+      for (int idPerson : coverageGraph.getIdPersons(person.getIdHousehold())) {
+        assertTrue(idPersons.contains(idPerson), "Person " + idPerson + " deleted but still covered.");
+      }
+    }
+    for (MedicalRecord medicalRecord : medicalRecordService.getAllMedicalRecords()) {
+      if (medicalRecord.getId() <= lastInitialMedicalRecordId) {
+        continue;
+      }
+      assertNotNull(personService.getPersonById(medicalRecord.getIdPerson()),
+          "Medical record " + medicalRecord.getId() + " without person.");
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.safetynet.alerts.web.integration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -209,6 +211,49 @@ public class URLSControllerIT {
     assertTrue(responseContent.contains("\"email\":\"" + email + "\""));
   }
 
+  @Test
+  public void getPersonsByHouseholdsFromSeveralStationsTest() throws Exception {
+    // Send request with the station twice and a station covering nothing :
+    MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/flood/stations?stations=" + station + ",0000," + station))
+        .andExpect(status().isOk()).andReturn();
+
+    // Extract the JSON content from the response:
+    String responseContent = result.getResponse().getContentAsString();
+
+    // Check the household is listed once :
+    assertEquals(responseContent.indexOf("\"address\":\"" + address + "\""),
+        responseContent.lastIndexOf("\"address\":\"" + address + "\""));
+    assertTrue(responseContent.contains("\"lastName\":\"" + lastName + "\""));
+  }
+
+  @Test
+  public void postBatchTest() throws Exception {
+    String queries = "[{\"endpoint\":\"fire\",\"parameters\":{\"address\":\"" + address + "\"}},"
+        + "{\"endpoint\":\"communityEmail\",\"parameters\":{\"city\":\"" + city + "\"}},"
+        + "{\"endpoint\":\"childAlert\",\"parameters\":{\"address\":\"Nowhere 0000\"}}]";
+
+    // Send POST request with the batch of queries :
+    MvcResult result = mvc.perform(MockMvcRequestBuilders.post("/batch")
+        .contentType(MediaType.APPLICATION_JSON).content(queries)).andExpect(status().isOk()).andReturn();
+
+    // Extract the JSON content from the response:
+    String responseContent = result.getResponse().getContentAsString();
+
+    // Check the answers are in the order of the queries :
+    assertTrue(responseContent.startsWith("{\"results\":[{\"persons\":"));
+    assertTrue(responseContent.contains("\"stationServing\""));
+    assertTrue(responseContent.contains("\"email\":\"" + email + "\""));
+    assertTrue(responseContent.endsWith(",null]}"));
+  }
+
+  @Test
+  public void postBatchWithUnknownEndpointTest() throws Exception {
+    String queries = "[{\"endpoint\":\"person\",\"parameters\":{\"address\":\"" + address + "\"}}]";
+
+    mvc.perform(MockMvcRequestBuilders.post("/batch").contentType(MediaType.APPLICATION_JSON).content(queries))
+        .andExpect(status().isBadRequest());
+  }
+
   public String getMostRecentFilePathForEachMethode(String methodNameWithValue) {
     // Get the diretory path
     String projectDirectory = System.getProperty("user.dir");
@@ -0,0 +1,35 @@
+package com.safetynet.alerts.web.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLogWriterTest {
+
+  @Test
+  void testWriterGoesOnAfterAFailure() throws InterruptedException {
+    List<String> written = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(2);
+    AsyncLogWriter writer = new AsyncLogWriter(8, event -> {
+      if (event.getMethodName().equals("failing")) {
+        throw new IllegalStateException("The writer failed.");
+      }
+      written.add(event.getMethodName());
+      done.countDown();
+    });
+
+    writer.log(LogMessage.REQUEST, "first", null, null);
+    writer.log(LogMessage.REQUEST, "failing", null, null);
+    writer.log(LogMessage.REQUEST, "last", null, null);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("first", "last"), written);
+    assertEquals(1, writer.getFailedCount());
+  }
+}
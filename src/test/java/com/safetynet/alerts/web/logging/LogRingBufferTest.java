@@ -0,0 +1,74 @@
+package com.safetynet.alerts.web.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LogRingBufferTest {
+
+  @Test
+  void testDrainInOrder() {
+    LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+    List<Integer> drained = new ArrayList<>();
+    buffer.offer(1);
+    buffer.offer(2);
+    buffer.offer(3);
+
+    assertEquals(2, buffer.drain(drained::add, 2));
+    buffer.offer(4);
+    assertEquals(2, buffer.drain(drained::add, 10));
+
+    assertEquals(List.of(1, 2, 3, 4), drained);
+    assertEquals(0, buffer.drain(drained::add, 10));
+  }
+
+  @Test
+  void testOfferDropsWhenFull() {
+    LogRingBuffer<Integer> buffer = new LogRingBuffer<>(2);
+
+    assertTrue(buffer.offer(1));
+    assertTrue(buffer.offer(2));
+    assertFalse(buffer.offer(3));
+    buffer.drain(element -> {
+    }, 1);
+    assertTrue(buffer.offer(4));
+
+    assertEquals(1, buffer.getDroppedCount());
+  }
+
+  @Test
+  void testConcurrentProducers() throws InterruptedException {
+    LogRingBuffer<Integer> buffer = new LogRingBuffer<>(1 << 16);
+    List<Thread> producers = new ArrayList<>();
+    for (int producer = 0; producer < 4; producer++) {
+      int first = producer * 10000;
+      producers.add(new Thread(() -> {
+        for (int element = first; element < first + 10000; element++) {
+          buffer.offer(element);
+        }
+      }));
+    }
+    Set<Integer> drained = new HashSet<>();
+    producers.forEach(Thread::start);
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    buffer.drain(drained::add, Integer.MAX_VALUE);
+
+    assertEquals(40000, drained.size());
+    assertEquals(0, buffer.getDroppedCount());
+  }
+
+  @Test
+  void testCapacityMustBeAPowerOfTwo() {
+    assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer<>(3));
+  }
+}
@@ -0,0 +1,72 @@
+package com.safetynet.alerts.web.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+
+public class SampledHttpExchangeRepositoryTest {
+
+  private static HttpExchange exchange(long timestamp, long timeTaken) {
+    return new HttpExchange(Instant.ofEpochMilli(timestamp), null, null, null, null, Duration.ofMillis(timeTaken));
+  }
+
+  @Test
+  void testFindAllKeepsTheMostRecentFirst() {
+    SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(1, 1, Duration.ZERO);
+    repository.add(exchange(1, 5));
+    repository.add(exchange(2, 5));
+
+    List<HttpExchange> exchanges = repository.findAll();
+
+    assertEquals(1, exchanges.size());
+    assertEquals(Instant.ofEpochMilli(2), exchanges.get(0).getTimestamp());
+  }
+
+  @Test
+  void testFindAllIsOrderedAndBounded() {
+    SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(64, 1, Duration.ZERO);
+    for (int timestamp = 0; timestamp < 200; timestamp++) {
+      repository.add(exchange(timestamp, 5));
+    }
+
+    List<HttpExchange> exchanges = repository.findAll();
+
+    assertTrue(exchanges.size() <= 64);
+    assertEquals(Instant.ofEpochMilli(199), exchanges.get(0).getTimestamp());
+    for (int i = 1; i < exchanges.size(); i++) {
+      assertTrue(exchanges.get(i - 1).getTimestamp().isAfter(exchanges.get(i).getTimestamp()));
+    }
+  }
+
+  @Test
+  void testAddSkipsTheFastExchanges() {
+    SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(10, 1, Duration.ofMillis(100));
+    repository.add(exchange(1, 99));
+    repository.add(exchange(2, 100));
+
+    List<HttpExchange> exchanges = repository.findAll();
+
+    assertEquals(1, exchanges.size());
+    assertEquals(Instant.ofEpochMilli(2), exchanges.get(0).getTimestamp());
+  }
+
+  @Test
+  void testAddWithoutSampling() {
+    SampledHttpExchangeRepository repository = new SampledHttpExchangeRepository(10, 0, Duration.ZERO);
+    repository.add(exchange(1, 5));
+
+    assertEquals(0, repository.findAll().size());
+  }
+
+  @Test
+  void testCapacityMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new SampledHttpExchangeRepository(0, 1, Duration.ZERO));
+  }
+}
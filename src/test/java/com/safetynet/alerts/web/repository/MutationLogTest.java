@@ -0,0 +1,125 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.model.Mutation;
+import com.safetynet.alerts.web.model.Person;
+
+public class MutationLogTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testConcurrentAppendsAreReadInOrder() throws Exception {
+    Path file = directory.resolve("mutations.log");
+    MutationLog mutationLog = new MutationLog(file.toString());
+    mutationLog.replay(() -> mutationLog.append(Mutation.deletePerson("Not", "Logged")));
+    mutationLog.open();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      String lastName = "Boyd" + t;
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 50; i++) {
+          mutationLog.append(Mutation.deletePerson("John" + i, lastName));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    mutationLog.close();
+
+    List<Mutation> mutations = new MutationLog(file.toString()).readAll();
+    assertEquals(400, mutations.size());
+    Set<String> names = new HashSet<>();
+    for (int i = 0; i < mutations.size(); i++) {
+      assertEquals(i + 1, mutations.get(i).getSequence());
+      assertEquals(Endpoint.DELETE_BY_FIRST_AND_LAST_NAME, mutations.get(i).getEndpoint());
+      names.add(mutations.get(i).getFirstName() + " " + mutations.get(i).getLastName());
+    }
+    assertEquals(400, names.size());
+  }
+
+  @Test
+  void testTornRecordIsTruncated() throws IOException {
+    Path file = directory.resolve("mutations.log");
+    MutationLog mutationLog = new MutationLog(file.toString());
+    mutationLog.open();
+    mutationLog.append(Mutation.deleteFirestationByStation("3"));
+    mutationLog.append(Mutation.deleteStationAtThisAddress("1509 Culver St"));
+    mutationLog.close();
+    long validSize = Files.size(file);
+    Files.write(file, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+    MutationLog reopenedLog = new MutationLog(file.toString());
+    List<Mutation> mutations = reopenedLog.readAll();
+
+    assertEquals(2, mutations.size());
+    assertEquals("3", mutations.get(0).getStation());
+    assertEquals("1509 Culver St", mutations.get(1).getAddress());
+    assertEquals(validSize, Files.size(file));
+    assertEquals(2, reopenedLog.getLastSequence());
+
+    reopenedLog.open();
+    reopenedLog.append(Mutation.deleteFirestationByStation("2"));
+    reopenedLog.close();
+    mutations = new MutationLog(file.toString()).readAll();
+    assertEquals(3, mutations.size());
+    assertEquals(3, mutations.get(2).getSequence());
+    assertTrue(Files.size(file) > validSize);
+  }
+
+  @Test
+  void testFailureStopsTheWrites() throws IOException {
+    Path file = directory.resolve("mutations.log");
+    MutationLog mutationLog = new MutationLog(file.toString());
+    mutationLog.open();
+    VersionedStore versionedStore = new VersionedStore(mutationLog);
+    PersonRepository personRepository = new PersonRepository(versionedStore);
+    versionedStore.write(() -> mutationLog.append(Mutation.deleteFirestationByStation("3")));
+    IOException failure = new IOException("No space left on device");
+
+    mutationLog.fail(failure);
+
+    assertSame(failure, mutationLog.getFailure());
+    assertThrows(UncheckedIOException.class, () -> mutationLog.append(Mutation.deleteFirestationByStation("2")));
+    Person person = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+    assertThrows(UncheckedIOException.class, () -> versionedStore.write(() -> personRepository.save(person)));
+    assertNull(personRepository.findById(1));
+    mutationLog.close();
+    assertEquals(1, new MutationLog(file.toString()).readAll().size());
+  }
+
+  @Test
+  void testAppendBeforeOpenIsRefused() throws IOException {
+    Path file = directory.resolve("mutations.log");
+    MutationLog mutationLog = new MutationLog(file.toString());
+
+    assertThrows(IllegalStateException.class, () -> mutationLog.append(Mutation.deletePerson("John", "Boyd")));
+    new MutationLog("").append(Mutation.deletePerson("John", "Boyd"));
+
+    assertTrue(mutationLog.readAll().isEmpty());
+  }
+}
@@ -0,0 +1,90 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PersistentIntMapTest {
+
+  private PersistentIntMap<String> map;
+
+  @BeforeEach
+  public void setUp() {
+    map = new PersistentIntMap<>(new Object());
+    for (int key = 0; key < 5000; key += 3) {
+      map.put(key, "value" + key);
+    }
+  }
+
+  private static List<String> values(PersistentIntMap<String> map) {
+    List<String> values = new ArrayList<>();
+    map.forEach(values::add);
+    return values;
+  }
+
+  @Test
+  void testValuesAreInTheOrderOfTheKeys() {
+    map.put(100000, "last");
+    map.put(1, "second");
+
+    List<String> values = values(map);
+
+    assertEquals(1669, values.size());
+    assertEquals(List.of("value0", "second", "value3"), values.subList(0, 3));
+    assertEquals("last", values.get(values.size() - 1));
+    assertEquals("value0", map.first());
+  }
+
+  @Test
+  void testCopyIsNotChangedByTheOriginal() {
+    PersistentIntMap<String> copy = map.copy(new Object());
+
+    copy.put(3, "updated");
+    copy.put(4, "added");
+    copy.remove(6);
+
+    assertEquals("value3", map.get(3));
+    assertNull(map.get(4));
+    assertEquals("value6", map.get(6));
+    assertEquals(1667, map.size());
+    assertEquals("updated", copy.get(3));
+    assertEquals("added", copy.get(4));
+    assertNull(copy.get(6));
+    assertEquals(1667, copy.size());
+  }
+
+  @Test
+  void testRemoveAll() {
+    for (int key = 0; key < 5000; key += 3) {
+      assertEquals("value" + key, map.remove(key));
+    }
+
+    assertTrue(map.isEmpty());
+    assertNull(map.first());
+    assertNull(map.remove(3));
+  }
+
+  @Test
+  void testHashMapCopy() {
+    PersistentHashMap<String, Integer> hashMap = new PersistentHashMap<>(new Object());
+    hashMap.put("Aa", 1);
+    hashMap.put("BB", 2);
+    PersistentHashMap<String, Integer> copy = hashMap.copy(new Object());
+
+    // "Aa" and "BB" have the same hash :
+    copy.remove("Aa");
+    copy.put("BB", 3);
+
+    assertEquals(1, hashMap.get("Aa"));
+    assertEquals(2, hashMap.get("BB"));
+    assertNull(copy.get("Aa"));
+    assertEquals(3, copy.get("BB"));
+    assertEquals(1, copy.size());
+  }
+}
@@ -0,0 +1,91 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.safetynet.alerts.web.model.Person;
+
+public class PersonRepositoryTest {
+
+  private PersonRepository personRepository;
+  private Person person_1, person_2;
+
+  @BeforeEach
+  public void setUp() {
+    person_1 = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+    person_2 = new Person(2, 2, "George", "Galby", "Astrub", "66666", "000", "kama@yahoo.com");
+    List<Person> persons = new ArrayList<>();
+    persons.add(person_1);
+    persons.add(person_2);
+
+    personRepository = new PersonRepository(new VersionedStore(new MutationLog("")));
+    personRepository.setAll(persons);
+  }
+
+  @Test
+  void testFindByIndexes() {
+    assertEquals(person_1, personRepository.findById(1));
+    assertEquals(person_2, personRepository.findByFirstAndLastName("George", "Galby"));
+    assertEquals(List.of(person_1), personRepository.findByCity("Lyon"));
+    assertEquals(List.of(person_2), personRepository.findByIdHousehold(2));
+  }
+
+  @Test
+  void testSaveReindexesUpdatedPerson() {
+    person_1.setCity("Paris");
+    person_1.setIdHousehold(2);
+    personRepository.save(person_1);
+
+    assertTrue(personRepository.findByCity("Lyon").isEmpty());
+    assertEquals(List.of(person_1), personRepository.findByCity("Paris"));
+    assertEquals(List.of(person_2, person_1), personRepository.findByIdHousehold(2));
+  }
+
+  @Test
+  void testDeleteRemovesIndexes() {
+    personRepository.delete(person_1);
+
+    assertNull(personRepository.findById(1));
+    assertNull(personRepository.findByFirstAndLastName("Quentin", "Beraud"));
+    assertTrue(personRepository.findByIdHousehold(1).isEmpty());
+    assertEquals(3, personRepository.nextId());
+  }
+
+  @Test
+  void testAllocateIdNeverReusesIds() {
+    personRepository.delete(person_2);
+
+    int firstId = personRepository.allocateId();
+    int secondId = personRepository.allocateId();
+    Person person_3 = new Person(secondId, 2, "Ana", "Ripper", "Lyon", "69000", "000", "ana@yahoo.com");
+    personRepository.save(person_3);
+
+    assertEquals(3, firstId);
+    assertEquals(4, secondId);
+    assertNull(personRepository.findById(2));
+    assertEquals(person_3, personRepository.findById(4));
+    assertEquals(List.of(person_1, person_3), personRepository.findAll());
+    assertEquals(2, personRepository.count());
+    assertEquals(5, personRepository.nextId());
+  }
+
+  @Test
+  void testSetAllRestoresTheLastId() {
+    // The person 3 was deleted before the content was saved :
+    personRepository.setAll(List.of(person_1, person_2), 3);
+
+    assertEquals(3, personRepository.getLastId());
+    assertEquals(4, personRepository.allocateId());
+
+    personRepository.setAll(List.of(person_1, person_2), 0);
+
+    assertEquals(2, personRepository.getLastId());
+  }
+}
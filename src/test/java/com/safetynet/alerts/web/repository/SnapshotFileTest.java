@@ -0,0 +1,66 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.safetynet.alerts.web.model.Dataset;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.MedicalRecord;
+import com.safetynet.alerts.web.model.Person;
+
+public class SnapshotFileTest {
+
+  @TempDir
+  Path directory;
+
+  private Dataset dataset;
+
+  @BeforeEach
+  public void setUp() {
+    List<Household> households = Arrays.asList(new Household(1, "1509 Culver St"), new Household(2, "29 15th St"));
+    List<Firestation> firestations = Arrays.asList(new Firestation(1, Arrays.asList(1, 2), "3"),
+        new Firestation(2, null, "2"));
+    List<Person> persons = Arrays.asList(
+        new Person(1, 1, "John", "Boyd", "Culver", "97451", "841-874-6512", "jaboyd@email.com"),
+        new Person(2, 2, "Jonanathan", "Marrack", "Culver", "97451", null, "drk@email.com"));
+    List<MedicalRecord> medicalRecords = Arrays.asList(
+        new MedicalRecord(1, 1, "03/06/1984", Arrays.asList("aznol:350mg", "hydrapermazol:100mg"),
+            Arrays.asList("nillacilan")),
+        new MedicalRecord(2, 2, "01/03/1989", new ArrayList<>(), null));
+    dataset = new Dataset(households, firestations, persons, medicalRecords, 7, 2, 3, 4, 2);
+  }
+
+  @Test
+  void testWriteAndRead() throws IOException {
+    SnapshotFile snapshotFile = new SnapshotFile(directory.resolve("snapshot.bin"));
+
+    snapshotFile.write(dataset, "data.json|42");
+    Dataset result = snapshotFile.read("data.json|42");
+
+    assertEquals(dataset, result);
+    assertEquals(dataset.getMedicalRecords().get(0).getBirthdateEpochDay(),
+        result.getMedicalRecords().get(0).getBirthdateEpochDay());
+  }
+
+  @Test
+  void testReadStaleOrMissingSnapshot() throws IOException {
+    SnapshotFile snapshotFile = new SnapshotFile(directory.resolve("snapshot.bin"));
+
+    assertNull(snapshotFile.read("data.json|42"));
+
+    snapshotFile.write(dataset, "data.json|42");
+
+    assertNull(snapshotFile.read("data.json|43"));
+  }
+}
@@ -0,0 +1,53 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Person;
+
+public class StationCoverageGraphTest {
+
+  private StationCoverageGraph coverageGraph;
+  private Firestation firestation;
+
+  @BeforeEach
+  public void setUp() {
+    firestation = new Firestation(1, new ArrayList<>(List.of(1, 2)), "3");
+    List<Person> persons = new ArrayList<>();
+    persons.add(new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com"));
+    persons.add(new Person(2, 2, "George", "Galby", "Astrub", "66666", "000", "kama@yahoo.com"));
+    persons.add(new Person(3, 1, "Jack", "Beraud", "Lyon", "69000", "000", "jack@yahoo.com"));
+
+    coverageGraph = new StationCoverageGraph(new VersionedStore(new MutationLog("")));
+    coverageGraph.setFirestations(List.of(firestation));
+    coverageGraph.setPersons(persons);
+  }
+
+  @Test
+  void testGetIdHouseholdsAndPersons() {
+    assertArrayEquals(new int[] { 1, 2 }, coverageGraph.getIdHouseholds("3"));
+    assertArrayEquals(new int[] { 1, 3 }, coverageGraph.getIdPersons(1));
+    assertArrayEquals(new int[0], coverageGraph.getIdHouseholds("99"));
+  }
+
+  @Test
+  void testIncrementalUpdates() {
+    coverageGraph.removePerson(1, 1);
+    coverageGraph.addPerson(2, 1);
+    firestation.setIdHouseholds(List.of(2));
+    coverageGraph.putFirestation(firestation);
+
+    assertArrayEquals(new int[] { 3 }, coverageGraph.getIdPersons(1));
+    assertArrayEquals(new int[] { 2, 1 }, coverageGraph.getIdPersons(2));
+    assertArrayEquals(new int[] { 2 }, coverageGraph.getIdHouseholds("3"));
+
+    coverageGraph.removeFirestation(firestation);
+    assertArrayEquals(new int[0], coverageGraph.getIdHouseholds("3"));
+  }
+}
@@ -0,0 +1,101 @@
+package com.safetynet.alerts.web.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.safetynet.alerts.web.model.Person;
+
+public class VersionedStoreTest {
+
+  private VersionedStore versionedStore;
+  private PersonRepository personRepository;
+  private StationCoverageGraph coverageGraph;
+  private Person person_1, person_2;
+
+  @BeforeEach
+  public void setUp() {
+    person_1 = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+    person_2 = new Person(2, 1, "George", "Galby", "Astrub", "66666", "000", "kama@yahoo.com");
+    List<Person> persons = new ArrayList<>();
+    persons.add(person_1);
+
+    versionedStore = new VersionedStore(new MutationLog(""));
+    personRepository = new PersonRepository(versionedStore);
+    coverageGraph = new StationCoverageGraph(versionedStore);
+    versionedStore.write(() -> {
+      personRepository.setAll(persons);
+      coverageGraph.setPersons(persons);
+    });
+  }
+
+  private void addPerson(Person person) {
+    personRepository.save(person);
+    coverageGraph.addPerson(person.getIdHousehold(), person.getId());
+  }
+
+  @Test
+  void testReadKeepsItsVersionDuringWrite() {
+    versionedStore.read(() -> {
+      Thread writer = new Thread(() -> versionedStore.write(() -> addPerson(person_2)));
+      writer.start();
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      assertNull(personRepository.findByFirstAndLastName("George", "Galby"));
+      assertEquals(List.of(person_1), personRepository.findByIdHousehold(1));
+      assertEquals(1, coverageGraph.getIdPersons(1).length);
+      return null;
+    });
+
+    assertEquals(List.of(person_1, person_2), personRepository.findByIdHousehold(1));
+    assertEquals(2, coverageGraph.getIdPersons(1).length);
+  }
+
+  @Test
+  void testFailedWriteIsNotPublished() {
+    assertThrows(IllegalArgumentException.class, () -> versionedStore.write(() -> {
+      addPerson(person_2);
+      throw new IllegalArgumentException();
+    }));
+
+    assertNull(personRepository.findById(2));
+    assertEquals(1, coverageGraph.getIdPersons(1).length);
+    assertEquals(2, personRepository.nextId());
+  }
+
+  @Test
+  void testWriteDuringReadIsRejected() {
+    assertThrows(IllegalStateException.class, () -> versionedStore.read(() -> {
+      versionedStore.write(() -> addPerson(person_2));
+      return null;
+    }));
+
+    assertNull(personRepository.findById(2));
+  }
+
+  @Test
+  void testStoresHaveTheirOwnVersions() {
+    VersionedStore otherStore = new VersionedStore(new MutationLog(""));
+    PersonRepository otherRepository = new PersonRepository(otherStore);
+    long version = versionedStore.getVersion();
+
+    versionedStore.read(() -> {
+      otherStore.write(() -> otherRepository.save(person_2));
+      return null;
+    });
+
+    assertEquals(person_2, otherRepository.findById(2));
+    assertNull(personRepository.findById(2));
+    assertEquals(version, versionedStore.getVersion());
+  }
+}
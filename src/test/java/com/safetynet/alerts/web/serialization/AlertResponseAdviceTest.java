@@ -0,0 +1,124 @@
+package com.safetynet.alerts.web.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class AlertResponseAdviceTest {
+
+  private AlertResponseAdvice advice = new AlertResponseAdvice();
+  private ObjectMapper objectMapper = new ObjectMapper();
+  private AlertResponse alertResponse;
+  private MockHttpServletRequest servletRequest;
+  private MockHttpServletResponse servletResponse;
+  private ServletServerHttpResponse response;
+
+  @BeforeEach
+  public void setUp() {
+    alertResponse = new AlertResponse().field("emails", gen -> {
+      gen.writeStartArray();
+      gen.writeString("qbe@yahoo.com");
+      gen.writeEndArray();
+    });
+    servletRequest = new MockHttpServletRequest("GET", "/communityEmail");
+    servletRequest.setParameter("city", "Lyon");
+    servletResponse = new MockHttpServletResponse();
+    response = new ServletServerHttpResponse(servletResponse);
+  }
+
+  @Test
+  void testCompactByDefault() throws JsonProcessingException {
+    servletRequest.setQueryString("city=Lyon");
+
+    Object body = advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertFalse(((AlertResponse) body).isPretty());
+    assertEquals("{\"emails\":[\"qbe@yahoo.com\"]}", objectMapper.writeValueAsString(body));
+  }
+
+  @Test
+  void testPrettyRequestParameter() throws JsonProcessingException {
+    servletRequest.setQueryString("city=Lyon&pretty=true");
+
+    Object body = advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertTrue(((AlertResponse) body).isPretty());
+    assertTrue(objectMapper.writeValueAsString(body).contains("\n"));
+    assertFalse(alertResponse.isPretty());
+  }
+
+  @Test
+  void testPrettyAcceptParameter() {
+    servletRequest.setQueryString("city=Lyon");
+    servletRequest.addHeader("Accept", "application/json;pretty=true");
+
+    Object body = advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertTrue(((AlertResponse) body).isPretty());
+  }
+
+  @Test
+  void testOtherBodiesUntouched() {
+    servletRequest.setQueryString("pretty=true");
+
+    Object body = advice.beforeBodyWrite("Content added successfully.", null, MediaType.TEXT_PLAIN, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertEquals("Content added successfully.", body);
+  }
+
+  @Test
+  void testETagOfTheDataVersion() {
+    servletRequest.setQueryString("city=Lyon");
+    alertResponse.setVersion(42);
+
+    advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    String eTag = response.getHeaders().getETag();
+    assertEquals(advice.eTag(alertResponse, false), eTag);
+    assertTrue(eTag.endsWith("-42\""));
+    assertNotEquals(eTag, advice.eTag(alertResponse, true));
+  }
+
+  @Test
+  void testIfNoneMatchGivesNotModified() {
+    servletRequest.setQueryString("city=Lyon");
+    servletRequest.addHeader("If-None-Match", advice.eTag(alertResponse, false));
+
+    Object body = advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertNull(body);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+  }
+
+  @Test
+  void testIfNoneMatchOfAnotherVersion() {
+    servletRequest.setQueryString("city=Lyon");
+    servletRequest.addHeader("If-None-Match", advice.eTag(alertResponse, false));
+    alertResponse.setVersion(1);
+
+    Object body = advice.beforeBodyWrite(alertResponse, null, MediaType.APPLICATION_JSON, null,
+        new ServletServerHttpRequest(servletRequest), response);
+
+    assertEquals(alertResponse, body);
+  }
+}
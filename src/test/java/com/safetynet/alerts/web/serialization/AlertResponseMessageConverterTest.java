@@ -0,0 +1,68 @@
+package com.safetynet.alerts.web.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class AlertResponseMessageConverterTest {
+
+  private AlertResponseMessageConverter converter = new AlertResponseMessageConverter();
+  private ObjectMapper objectMapper = new ObjectMapper();
+  private AlertResponse alertResponse;
+
+  @BeforeEach
+  public void setUp() {
+    alertResponse = new AlertResponse().field("emails", gen -> {
+      gen.writeStartArray();
+      gen.writeString("qbe@yahoo.com");
+      gen.writeEndArray();
+    });
+  }
+
+  @Test
+  void testWritesTheJacksonOutput() throws IOException {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+    converter.write(alertResponse, MediaType.APPLICATION_JSON, outputMessage);
+
+    assertEquals(objectMapper.writeValueAsString(alertResponse), outputMessage.getBodyAsString());
+    assertEquals(outputMessage.getBodyAsBytes().length, outputMessage.getHeaders().getContentLength());
+    assertEquals(objectMapper.writeValueAsString(alertResponse.pretty()),
+        new String(alertResponse.pretty().toBytes(), "UTF-8"));
+  }
+
+  @Test
+  void testEncodesOnce() {
+    assertSame(alertResponse.toBytes(), alertResponse.toBytes());
+    assertSame(alertResponse.pretty(), alertResponse.pretty());
+  }
+
+  @Test
+  void testOnlyWritesAlertResponses() {
+    assertTrue(converter.canWrite(AlertResponse.class, MediaType.APPLICATION_JSON));
+    assertFalse(converter.canWrite(String.class, MediaType.APPLICATION_JSON));
+    assertFalse(converter.canRead(AlertResponse.class, MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void testListenerAddsHeadersOnceEncoded() throws IOException {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    AlertResponseMessageConverter listenedConverter = new AlertResponseMessageConverter(
+        headers -> headers.set("Server-Timing", "serialization;dur=1.0"));
+
+    listenedConverter.write(alertResponse, MediaType.APPLICATION_JSON, outputMessage);
+
+    assertEquals("serialization;dur=1.0", outputMessage.getHeaders().getFirst("Server-Timing"));
+    assertEquals(objectMapper.writeValueAsString(alertResponse), outputMessage.getBodyAsString());
+  }
+}
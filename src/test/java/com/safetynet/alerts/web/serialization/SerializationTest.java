@@ -17,7 +17,6 @@ import org.springframework.http.ResponseEntity;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.safetynet.alerts.web.model.Household;
 import com.safetynet.alerts.web.model.Person;
 import com.safetynet.alerts.web.serialization.model.ChildAlert;
@@ -74,8 +73,8 @@ public class SerializationTest {
     List<ChildAlert> children = Arrays.asList(childAlert_2);
     List<ChildAlert> adults = Arrays.asList(childAlert_1);
 
-    ResponseEntity<ObjectNode> result = serialization.childAlertSerialization(children, adults, method, argument);
-    ObjectNode jsonResponse = result.getBody();
+    ResponseEntity<AlertResponse> result = serialization.childAlertSerialization(children, adults, method, argument);
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -93,8 +92,8 @@ public class SerializationTest {
 
   @Test
   void testCommunityEmailSerialization() {
-    ResponseEntity<ObjectNode> result = serialization.communityEmailSerialization(persons, method, argument);
-    ObjectNode jsonResponse = result.getBody();
+    ResponseEntity<AlertResponse> result = serialization.communityEmailSerialization(persons, method, argument);
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -112,9 +111,9 @@ public class SerializationTest {
 
   @Test
   void testEmptyAnswer() {
-    ResponseEntity<ObjectNode> result = serialization.emptyAnswer(method, argument);
+    ResponseEntity<AlertResponse> result = serialization.emptyAnswer(method, argument);
 
-    ObjectNode jsonResponse = result.getBody();
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -133,8 +132,8 @@ public class SerializationTest {
     List<FireAlert> fires = Arrays.asList(fire_1);
     String firestationNumber = "1";
 
-    ResponseEntity<ObjectNode> result = serialization.fireSerialization(fires, firestationNumber, method, argument);
-    ObjectNode jsonResponse = result.getBody();
+    ResponseEntity<AlertResponse> result = serialization.fireSerialization(fires, firestationNumber, method, argument);
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -155,10 +154,10 @@ public class SerializationTest {
     List<FirestationAlert> firestationAlerts = Arrays.asList(firestationAlert);
     int minorsNumber = 0, adultsNumber = 2;
 
-    ResponseEntity<ObjectNode> result = serialization.firestationAlertSerialization(firestationAlerts, method, argument,
+    ResponseEntity<AlertResponse> result = serialization.firestationAlertSerialization(firestationAlerts, method, argument,
         minorsNumber, adultsNumber);
 
-    ObjectNode jsonResponse = result.getBody();
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -186,9 +185,9 @@ public class SerializationTest {
     FloodAlertByHousehold floodAlertByHousehold = new FloodAlertByHousehold(household, floods_1);
     List<FloodAlertByHousehold> floodAlertByHouseholds = Arrays.asList(floodAlertByHousehold);
 
-    ResponseEntity<ObjectNode> result = serialization.floodSerialization(floodAlertByHouseholds, method, argument);
+    ResponseEntity<AlertResponse> result = serialization.floodSerialization(floodAlertByHouseholds, method, argument);
 
-    ObjectNode jsonResponse = result.getBody();
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -211,10 +210,10 @@ public class SerializationTest {
     String firstName = "someFtName";
     String lastName = "someLtName";
 
-    ResponseEntity<ObjectNode> result = serialization.personInfoSerialization(personsInfos, method, firstName,
+    ResponseEntity<AlertResponse> result = serialization.personInfoSerialization(personsInfos, method, firstName,
         lastName);
 
-    ObjectNode jsonResponse = result.getBody();
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
@@ -233,8 +232,8 @@ public class SerializationTest {
 
   @Test
   void testPhoneAlertSerialization() {
-    ResponseEntity<ObjectNode> result = serialization.phoneAlertSerialization(persons, method, argument);
-    ObjectNode jsonResponse = result.getBody();
+    ResponseEntity<AlertResponse> result = serialization.phoneAlertSerialization(persons, method, argument);
+    AlertResponse jsonResponse = result.getBody();
     ObjectMapper objectMapper = new ObjectMapper();
     ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
 
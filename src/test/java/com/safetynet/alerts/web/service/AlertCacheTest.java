@@ -0,0 +1,163 @@
+package com.safetynet.alerts.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.model.Firestation;
+import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.PersonRepository;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.serialization.AlertResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertCacheTest {
+
+  @Mock
+  private HouseHoldService houseHoldService;
+
+  @Mock
+  private FirestationService firestationService;
+
+  private VersionedStore versionedStore;
+  private AlertCache alertCache;
+  private AtomicInteger loads;
+  private Supplier<ResponseEntity<AlertResponse>> loader;
+
+  private List<Object> KEY_1, KEY_2, KEY_3;
+
+  @BeforeEach
+  public void setUp() {
+    versionedStore = new VersionedStore(new MutationLog(""));
+    alertCache = new AlertCache(versionedStore, houseHoldService, firestationService, 2);
+
+    loads = new AtomicInteger();
+    loader = () -> {
+      loads.incrementAndGet();
+      return new ResponseEntity<>(new AlertResponse(), HttpStatus.OK);
+    };
+
+    KEY_1 = AlertCache.key(Endpoint.PERSON_COVERED_BY_FIRE_STATION, "1");
+    KEY_2 = AlertCache.key(Endpoint.PERSON_COVERED_BY_FIRE_STATION, "2");
+    KEY_3 = AlertCache.key(Endpoint.CHILDREN_LIVING_AT_THIS_ADDRESS, "Rue du chemin");
+  }
+
+  @Test
+  void testGetCachesTheAnswer() {
+    ResponseEntity<AlertResponse> first = alertCache.get(KEY_1, loader);
+    ResponseEntity<AlertResponse> second = alertCache.get(KEY_1, loader);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(1, alertCache.getHitCount());
+    assertEquals(1, alertCache.getMissCount());
+  }
+
+  @Test
+  void testGetEvictsTheLeastRecentlyUsedAnswer() {
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_2, loader);
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_3, loader);
+
+    assertEquals(2, alertCache.size());
+    assertEquals(1, alertCache.getEvictionCount());
+
+    alertCache.get(KEY_1, loader);
+    assertEquals(3, loads.get());
+    alertCache.get(KEY_2, loader);
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void testTombstonesAreNotCountedInTheSize() {
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_2, loader);
+
+    alertCache.invalidate(KEY_3);
+    alertCache.invalidate(AlertCache.key(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, "Lyon"));
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_2, loader);
+
+    assertEquals(2, alertCache.size());
+    assertEquals(0, alertCache.getEvictionCount());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testInvalidatePerson() {
+    Person person = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+    Household household = new Household(1, "Rue du chemin");
+    when(houseHoldService.getHouseholdById(1)).thenReturn(household);
+    when(firestationService.getFirestationsByHousehold(household))
+        .thenReturn(List.of(new Firestation(1, List.of(1), "1")));
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_3, loader);
+
+    alertCache.invalidatePerson(person);
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_3, loader);
+
+    assertEquals(4, loads.get());
+    assertEquals(0, alertCache.getHitCount());
+  }
+
+  @Test
+  void testAnswerComputedBeforeInvalidationIsNotCached() {
+    PersonRepository personRepository = new PersonRepository(versionedStore);
+    Person person = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+
+    alertCache.get(KEY_1, () -> {
+      Thread writer = new Thread(() -> versionedStore.write(() -> {
+        personRepository.save(person);
+        alertCache.invalidate(KEY_1);
+      }));
+      writer.start();
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return loader.get();
+    });
+    alertCache.get(KEY_1, loader);
+    alertCache.get(KEY_1, loader);
+
+    assertEquals(2, loads.get());
+    assertEquals(1, alertCache.getHitCount());
+  }
+
+  @Test
+  void testAnswerIsStaleOnceADependencyIsInvalidated() {
+    PersonRepository personRepository = new PersonRepository(versionedStore);
+    Person person = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+    List<Object> key = AlertCache.key(Endpoint.PERSONS_BY_HOUSEHOLDS_FROM_STATION, "1,2");
+    List<List<Object>> dependencies = List.of(KEY_1, KEY_2);
+    alertCache.get(key, dependencies, loader);
+    alertCache.get(key, dependencies, loader);
+
+    versionedStore.write(() -> {
+      personRepository.save(person);
+      alertCache.invalidate(KEY_2);
+    });
+    alertCache.get(key, dependencies, loader);
+
+    assertEquals(2, loads.get());
+    assertEquals(1, alertCache.getHitCount());
+  }
+}
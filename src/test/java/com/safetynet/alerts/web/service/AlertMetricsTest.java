@@ -0,0 +1,137 @@
+package com.safetynet.alerts.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import com.safetynet.alerts.web.logging.Endpoint;
+import com.safetynet.alerts.web.serialization.AlertResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AlertMetricsTest {
+  private static final String ENDPOINT = Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY.getMethodName();
+
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private HttpHeaders headers = new HttpHeaders();
+
+  private void request(AlertMetrics alertMetrics) {
+    alertMetrics.begin();
+    long start = alertMetrics.start();
+    alertMetrics.stage(AlertStage.PERSONS);
+    alertMetrics.record(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, start, ResponseEntity.ok(new AlertResponse()));
+    alertMetrics.encoded(headers);
+    alertMetrics.end();
+  }
+
+  @Test
+  void testStagesAreRecordedForTheEndpoint() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, true, false);
+
+    request(alertMetrics);
+
+    assertEquals(1, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "persons").timer()
+        .count());
+    assertEquals(1, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "cache").timer()
+        .count());
+    assertEquals(1, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "serialization")
+        .timer().count());
+    assertEquals(0, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "households").timer()
+        .count());
+  }
+
+  @Test
+  void testStagesOutsideOfARequestAreIgnored() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, true, false);
+
+    alertMetrics.stage(AlertStage.PERSONS);
+    alertMetrics.end();
+
+    assertEquals(0, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "persons").timer()
+        .count());
+  }
+
+  @Test
+  void testServerTimingHeader() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, true, true);
+
+    request(alertMetrics);
+
+    String header = headers.getFirst("Server-Timing");
+    assertTrue(header.contains("persons;dur="));
+    assertTrue(header.contains("cache;dur="));
+    assertTrue(header.contains("serialization;dur="));
+  }
+
+  @Test
+  void testTracingDisabled() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, false, true);
+
+    request(alertMetrics);
+
+    assertNull(meterRegistry.find("alerts.stages").timer());
+    assertNull(headers.getFirst("Server-Timing"));
+    assertEquals(1, meterRegistry.get("alerts.requests").tag("endpoint", ENDPOINT).timer().count());
+  }
+
+  @Test
+  void testLatencyIsRecordedOnceTheResponseIsWritten() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, false, false);
+
+    alertMetrics.begin();
+    long start = alertMetrics.start();
+    alertMetrics.record(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, start, ResponseEntity.ok(new AlertResponse()));
+    assertEquals(0, meterRegistry.get("alerts.requests").tag("endpoint", ENDPOINT).timer().count());
+    alertMetrics.end();
+
+    assertEquals(1, meterRegistry.get("alerts.requests").tag("endpoint", ENDPOINT).timer().count());
+    assertEquals(1, meterRegistry.get("alerts.results").tag("endpoint", ENDPOINT).summary().count());
+  }
+
+  @Test
+  void testReplayedMutationsAreNotCounted() {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, false, false);
+
+    alertMetrics.replay(() -> alertMetrics.mutation(Endpoint.ADD_PERSON));
+    alertMetrics.mutation(Endpoint.ADD_PERSON);
+
+    assertEquals(1, meterRegistry.get("alerts.mutations").tag("endpoint", Endpoint.ADD_PERSON.getMethodName())
+        .counter().count());
+  }
+
+  @Test
+  void testStagesOfForkedTasksAreMerged() throws Exception {
+    AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, true, true);
+    alertMetrics.begin();
+    long start = alertMetrics.start();
+
+    Supplier<String> task = alertMetrics.fork(() -> {
+      alertMetrics.stage(AlertStage.HOUSEHOLDS);
+      alertMetrics.stage(AlertStage.PERSONS);
+      return "done";
+    });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    assertEquals("done", CompletableFuture.supplyAsync(task, executor).get());
+    executor.shutdown();
+    alertMetrics.stage(AlertStage.STATIONS);
+    alertMetrics.record(Endpoint.ALL_RESIDENTS_EMAILS_FROM_CITY, start, ResponseEntity.ok(new AlertResponse()));
+    alertMetrics.encoded(headers);
+    alertMetrics.end();
+
+    String header = headers.getFirst("Server-Timing");
+    assertTrue(header.contains("households;dur="));
+    assertTrue(header.contains("persons;dur="));
+    assertTrue(header.contains("stations;dur="));
+    assertEquals(1, meterRegistry.get("alerts.stages").tag("endpoint", ENDPOINT).tag("stage", "households").timer()
+        .count());
+  }
+}
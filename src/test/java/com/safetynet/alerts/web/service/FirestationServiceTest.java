@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +21,10 @@ import com.safetynet.alerts.web.deserialization.model.FirestationDeserialization
 import com.safetynet.alerts.web.httpResponse.ResponseBuilder;
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.repository.FirestationRepository;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 @ExtendWith(MockitoExtension.class)
 public class FirestationServiceTest {
@@ -30,6 +35,24 @@ public class FirestationServiceTest {
   @Mock
   private HouseHoldService houseHoldService;
 
+  @Mock
+  private StationCoverageGraph coverageGraph;
+
+  @Mock
+  private MutationLog mutationLog;
+
+  @Spy
+  private VersionedStore versionedStore = new VersionedStore(new MutationLog(""));
+
+  @Spy
+  private FirestationRepository firestationRepository = new FirestationRepository(versionedStore);
+
+  @Mock
+  private AlertCache alertCache;
+
+  @Mock
+  private AlertMetrics alertMetrics;
+
   @Mock
   private ResponseBuilder response = new ResponseBuilder();
 
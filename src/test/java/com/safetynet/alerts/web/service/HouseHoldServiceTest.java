@@ -9,11 +9,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.HouseholdRepository;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 @ExtendWith(MockitoExtension.class)
 public class HouseHoldServiceTest {
@@ -21,6 +25,12 @@ public class HouseHoldServiceTest {
   @InjectMocks
   private HouseHoldService houseHoldService;
 
+  @Spy
+  private HouseholdRepository householdRepository = new HouseholdRepository(new VersionedStore(new MutationLog("")));
+
+  @Spy
+  private VersionedStore versionedStore = new VersionedStore(new MutationLog(""));
+
   private List<String> addresses = new ArrayList<>();
   private String ADDRESS_1 = "Rue du chemin";
   private String ADDRESS_2 = "Rue du puit";
@@ -42,7 +52,7 @@ public class HouseHoldServiceTest {
 
   @Test
   void testGetAllHouseholds() {
-    houseHoldService.getAllHouseholds();
+    assertEquals(households, houseHoldService.getAllHouseholds());
   }
 
   @Test
@@ -1,23 +1,38 @@
 package com.safetynet.alerts.web.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.safetynet.alerts.web.communUtilts.CurrentDate;
+import com.safetynet.alerts.web.communUtilts.DataManipulationUtils;
 import com.safetynet.alerts.web.deserialization.model.MedicalRecordDeserialization;
+import com.safetynet.alerts.web.model.AgePartition;
 import com.safetynet.alerts.web.model.MedicalRecord;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.MedicalRecordRepository;
+import com.safetynet.alerts.web.repository.VersionedStore;
 
 @ExtendWith(MockitoExtension.class)
 public class MedicalRecordServiceTest {
@@ -25,6 +40,21 @@ public class MedicalRecordServiceTest {
   @Mock
   private PersonService personService;
 
+  @Mock
+  private MutationLog mutationLog;
+
+  @Spy
+  private VersionedStore versionedStore = new VersionedStore(new MutationLog(""));
+
+  @Spy
+  private MedicalRecordRepository medicalRecordRepository = new MedicalRecordRepository(versionedStore);
+
+  @Mock
+  private AlertCache alertCache;
+
+  @Mock
+  private AlertMetrics alertMetrics;
+
   @InjectMocks
   private MedicalRecordService medicalRecordService;
 
@@ -35,6 +65,18 @@ public class MedicalRecordServiceTest {
   private List<MedicalRecord> childMedicalRecords, adultMedicalRecords;
   private Person person;
 
+  @BeforeAll
+  public static void pinCurrentDate() {
+    // The ages expected by these tests are computed at this date :
+    ZoneId zone = ZoneId.systemDefault();
+    CurrentDate.setClock(Clock.fixed(LocalDate.of(2023, 10, 7).atStartOfDay(zone).toInstant(), zone));
+  }
+
+  @AfterAll
+  public static void resetCurrentDate() {
+    CurrentDate.setClock(Clock.systemDefaultZone());
+  }
+
   @BeforeEach
   public void setUp() {
     List<String> medication = new ArrayList<String>();
@@ -90,6 +132,15 @@ public class MedicalRecordServiceTest {
         assertEquals(expected, result);
     }
 
+  @Test
+  void testRemoveMedicalRecord() {
+    medicalRecordService.removeMedicalRecord(person);
+
+    assertEquals(null, medicalRecordService.getMedicalRecordByPerson(person));
+    verify(mutationLog, never()).append(any());
+    verify(alertMetrics, never()).mutation(any());
+  }
+
   @Test
     void testDeleteMedicalRecordWithInexistingPerson() {
         when(personService.getPersonByFirstAndLastName(FIRSTNAME, LASTNAME)).thenReturn(null);
@@ -153,6 +204,47 @@ public class MedicalRecordServiceTest {
     assertEquals(expected, results);
   }
 
+  @Test
+  void testPartitionByAge() {
+    MedicalRecord childMedicalRecord = new MedicalRecord(2, 2, "02/02/2010", null, null);
+    List<MedicalRecord> medicalRecords = new ArrayList<>();
+    medicalRecords.add(medicalRecord);
+    medicalRecords.add(childMedicalRecord);
+
+    AgePartition result = medicalRecordService.partitionByAge(medicalRecords);
+
+    assertEquals(adultMedicalRecords, result.getAdults());
+    assertEquals(List.of(childMedicalRecord), result.getMinors());
+    assertEquals(1, result.getAdultsNumber());
+    assertEquals(1, result.getMinorsNumber());
+  }
+
+  @Test
+  void testPartitionByAgeWithUnknownBirthdate() {
+    MedicalRecord unknownMedicalRecord = new MedicalRecord(2, 2, "2010-02-02", null, null);
+    List<MedicalRecord> medicalRecords = new ArrayList<>();
+    medicalRecords.add(medicalRecord);
+    medicalRecords.add(unknownMedicalRecord);
+
+    AgePartition result = medicalRecordService.partitionByAge(medicalRecords);
+
+    assertEquals(adultMedicalRecords, result.getAdults());
+    assertEquals(0, result.getMinorsNumber());
+    assertEquals(false, medicalRecordService.isMinor(unknownMedicalRecord));
+    assertEquals(false, medicalRecordService.isAdult(unknownMedicalRecord));
+  }
+
+  @Test
+  void testUnknownBirthdateHasUnknownAge() {
+    MedicalRecord unknownMedicalRecord = new MedicalRecord(2, 2, null, null, null);
+    unknownMedicalRecord.setBirthdate("13/02/2010");
+
+    int result = new DataManipulationUtils().convertEpochDayToAge(unknownMedicalRecord.getBirthdateEpochDay());
+
+    assertEquals(MedicalRecord.UNKNOWN_BIRTHDATE, unknownMedicalRecord.getBirthdateEpochDay());
+    assertEquals(DataManipulationUtils.UNKNOWN_AGE, result);
+  }
+
   @Test
   void testIsMinor() {
     Boolean result = medicalRecordService.isMinor("02/02/2005");
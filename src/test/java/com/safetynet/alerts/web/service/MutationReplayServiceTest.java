@@ -0,0 +1,44 @@
+package com.safetynet.alerts.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.safetynet.alerts.web.model.Mutation;
+import com.safetynet.alerts.web.repository.MutationLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MutationReplayServiceTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testRestoreOnALogBehindTheSnapshot() throws IOException {
+    Path file = directory.resolve("mutations.log");
+    MutationLog mutationLog = new MutationLog(file.toString());
+    mutationLog.open();
+    mutationLog.append(Mutation.deleteFirestationByStation("3"));
+    mutationLog.append(Mutation.deleteFirestationByStation("2"));
+    mutationLog.close();
+
+    // The snapshot contains 5 mutations, the last 3 of them cut from the log :
+    MutationReplayService mutationReplayService = new MutationReplayService();
+    mutationReplayService.mutationLog = new MutationLog(file.toString());
+    mutationReplayService.alertMetrics = new AlertMetrics(new SimpleMeterRegistry(), false, false);
+    int replayed = mutationReplayService.replayAndOpen(5);
+    mutationReplayService.mutationLog.append(Mutation.deleteStationAtThisAddress("1509 Culver St"));
+    mutationReplayService.mutationLog.close();
+
+    assertEquals(0, replayed);
+    List<Mutation> mutations = new MutationLog(file.toString()).readAll();
+    assertEquals(3, mutations.size());
+    assertEquals(6, mutations.get(2).getSequence());
+  }
+}
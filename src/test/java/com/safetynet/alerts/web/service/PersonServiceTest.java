@@ -1,6 +1,10 @@
 package com.safetynet.alerts.web.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -12,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +24,10 @@ import org.springframework.http.ResponseEntity;
 import com.safetynet.alerts.web.deserialization.model.PersonDeserialization;
 import com.safetynet.alerts.web.httpResponse.ResponseBuilder;
 import com.safetynet.alerts.web.model.Household;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.PersonRepository;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
 import com.safetynet.alerts.web.model.Person;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +39,24 @@ public class PersonServiceTest {
   @Mock
   private MedicalRecordService medicalRecordService;
 
+  @Mock
+  private StationCoverageGraph coverageGraph;
+
+  @Mock
+  private MutationLog mutationLog;
+
+  @Spy
+  private VersionedStore versionedStore = new VersionedStore(new MutationLog(""));
+
+  @Spy
+  private PersonRepository personRepository = new PersonRepository(versionedStore);
+
+  @Mock
+  private AlertCache alertCache;
+
+  @Mock
+  private AlertMetrics alertMetrics;
+
   @Mock
   private ResponseBuilder response = new ResponseBuilder();
 
@@ -125,6 +152,10 @@ public class PersonServiceTest {
     ResponseEntity<String> excepted = ResponseEntity.status(HttpStatus.OK).body("Content deleted successfully.");
 
     assertEquals(excepted, result);
+    // Only the deletion of the person is logged, its medical record with it :
+    verify(medicalRecordService, times(1)).removeMedicalRecord(person_1);
+    verify(medicalRecordService, never()).deleteMedicalRecord(any(), any(), any());
+    verify(mutationLog, times(1)).append(any());
   }
 
   @Test
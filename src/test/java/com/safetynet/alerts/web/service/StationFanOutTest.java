@@ -0,0 +1,80 @@
+package com.safetynet.alerts.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.PersonRepository;
+import com.safetynet.alerts.web.repository.VersionedStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class StationFanOutTest {
+
+  private VersionedStore versionedStore;
+  private AlertMetrics alertMetrics = new AlertMetrics(new SimpleMeterRegistry(), false, false);
+  private StationFanOut stationFanOut;
+  private PersonRepository personRepository;
+  private Person person;
+
+  @BeforeEach
+  public void setUp() {
+    versionedStore = new VersionedStore(new MutationLog(""));
+    stationFanOut = new StationFanOut(versionedStore, alertMetrics, 2, 2);
+    personRepository = new PersonRepository(versionedStore);
+    person = new Person(1, 1, "Quentin", "Beraud", "Lyon", "69000", "000", "qbe@yahoo.com");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    stationFanOut.close();
+  }
+
+  @Test
+  void testIsParallel() {
+    assertFalse(stationFanOut.isParallel(1));
+    assertTrue(stationFanOut.isParallel(2));
+    assertFalse(new StationFanOut(versionedStore, alertMetrics, 0, 2).isParallel(100));
+  }
+
+  @Test
+  void testMapKeepsTheOrderOfTheStations() {
+    List<String> stations = List.of("1", "2", "3", "4", "5");
+
+    List<String> results = stationFanOut.map(stations, station -> "station " + station);
+
+    assertEquals(List.of("station 1", "station 2", "station 3", "station 4", "station 5"), results);
+  }
+
+  @Test
+  void testMapReadsTheVersionOfTheCallingRead() {
+    String caller = Thread.currentThread().getName();
+
+    List<String> threads = versionedStore.read(() -> {
+      Thread writer = new Thread(() -> versionedStore.write(() -> personRepository.save(person)));
+      writer.start();
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return stationFanOut.map(List.of("1", "2", "3"), station -> {
+        assertNull(personRepository.findById(1));
+        return Thread.currentThread().getName();
+      });
+    });
+
+    assertNotEquals(List.of(caller, caller, caller), threads);
+    assertEquals(person, personRepository.findById(1));
+  }
+}
@@ -1,20 +1,34 @@
 package com.safetynet.alerts.web.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.ResponseEntity;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.core.JsonEncoding;
@@ -22,10 +36,17 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.safetynet.alerts.web.communUtilts.CurrentDate;
+import com.safetynet.alerts.web.deserialization.model.BatchQueryDeserialization;
+import com.safetynet.alerts.web.model.AgePartition;
 import com.safetynet.alerts.web.model.Firestation;
 import com.safetynet.alerts.web.model.Household;
 import com.safetynet.alerts.web.model.MedicalRecord;
 import com.safetynet.alerts.web.model.Person;
+import com.safetynet.alerts.web.repository.MutationLog;
+import com.safetynet.alerts.web.repository.StationCoverageGraph;
+import com.safetynet.alerts.web.repository.VersionedStore;
+import com.safetynet.alerts.web.serialization.AlertResponse;
 import com.safetynet.alerts.web.serialization.Serialization;
 import com.safetynet.alerts.web.serialization.model.ChildAlert;
 import com.safetynet.alerts.web.serialization.model.FireAlert;
@@ -39,6 +60,8 @@ import com.safetynet.alerts.web.serialization.serializer.PersonInfoSerializer;
 import com.safetynet.alerts.web.serialization.service.ChildAlertService;
 import com.safetynet.alerts.web.serialization.service.PersonCoveredService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class URLSServiceTest {
 
@@ -66,6 +89,24 @@ public class URLSServiceTest {
   @Mock
   private PersonCoveredService personCoveredService;
 
+  @Mock
+  private StationCoverageGraph coverageGraph;
+
+  @Spy
+  private AlertCache alertCache = new AlertCache(new VersionedStore(new MutationLog("")), null, null, 0);
+
+  @Spy
+  private VersionedStore versionedStore = new VersionedStore(new MutationLog(""));
+
+  private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Spy
+  private AlertMetrics alertMetrics = new AlertMetrics(meterRegistry, false, false);
+
+  @Spy
+  private StationFanOut stationFanOut = new StationFanOut(new VersionedStore(new MutationLog("")), alertMetrics, 2,
+      2);
+
   // Example of addresses or stations :
   private String ADDRESS_1, ADDRESS_2, ADDRESS_3, STATION_1, STATION_2, CITY_1;
   private String FIRSTNAME_1, LASTNAME_1;
@@ -81,6 +122,18 @@ public class URLSServiceTest {
   private List<MedicalRecord> medicalRecords;
   private MedicalRecord medicalRecord_1, medicalRecord_2;
 
+  @BeforeAll
+  public static void pinCurrentDate() {
+    // The ages expected by these tests are computed at this date :
+    ZoneId zone = ZoneId.systemDefault();
+    CurrentDate.setClock(Clock.fixed(LocalDate.of(2023, 10, 7).atStartOfDay(zone).toInstant(), zone));
+  }
+
+  @AfterAll
+  public static void resetCurrentDate() {
+    CurrentDate.setClock(Clock.systemDefaultZone());
+  }
+
   @BeforeEach
   public void setUp() {
     // Set Adrresses :
@@ -174,8 +227,8 @@ public class URLSServiceTest {
     when(houseHoldService.getHouseholdByAddress(ADDRESS_1)).thenReturn(household_1);
     when(personService.getPersonsByHousehold(household_1)).thenReturn(persons);
     when(medicalRecordService.getMedicalRecordsByPersons(persons)).thenReturn(medicalRecords);
-    when(medicalRecordService.getAdultsMedicalRecords(medicalRecords)).thenReturn(medicalRecords);
-    when(medicalRecordService.getChildrenMedicalRecords(medicalRecords)).thenReturn(emptyMedicalRecords);
+    when(medicalRecordService.partitionByAge(medicalRecords))
+        .thenReturn(new AgePartition(medicalRecords, emptyMedicalRecords));
 
     urlsService.childrenLivingAtThisAddress(ADDRESS_1);
 
@@ -196,12 +249,13 @@ public class URLSServiceTest {
         person_1.getPhone());
     firestationAlerts.add(firestationAlert_1);
 
-    when(firestationService.getFirestationByStation(STATION_1)).thenReturn(firestation_1);
-    when(houseHoldService.getHouseholdsByFirestation(firestation_1)).thenReturn(households_1);
-    when(personService.getPersonsByHouseholds(households_1)).thenReturn(persons_1);
+    when(coverageGraph.getIdHouseholds(STATION_1)).thenReturn(new int[] { household_1.getId() });
+    when(houseHoldService.getHouseholdById(household_1.getId())).thenReturn(household_1);
+    when(coverageGraph.getIdPersons(household_1.getId())).thenReturn(new int[] { person_1.getId() });
+    when(personService.getPersonById(person_1.getId())).thenReturn(person_1);
     when(medicalRecordService.getMedicalRecordsByPersons(persons_1)).thenReturn(medicalRecords_1);
-    when(medicalRecordService.getAdultsNumber(medicalRecords_1)).thenReturn(1);
-    when(medicalRecordService.getMinorsNumber(medicalRecords_1)).thenReturn(0);
+    when(medicalRecordService.partitionByAge(medicalRecords_1))
+        .thenReturn(new AgePartition(medicalRecords_1, new ArrayList<>()));
     when(personCoveredService.getPersonCoveredList(persons_1, households_1)).thenReturn(firestationAlerts);
 
     urlsService.personCoveredByFireStation(STATION_1);
@@ -266,9 +320,10 @@ public class URLSServiceTest {
     FloodAlertByHousehold floodAlertByHousehold = new FloodAlertByHousehold(household_1, FloodsAlert);
     floodsAlertByHousehold.add(floodAlertByHousehold);
 
-    when(firestationService.getFirestationByStation(STATION_1)).thenReturn(firestation_1);
-    when(houseHoldService.getHouseholdsByFirestation(firestation_1)).thenReturn(households_1);
-    when(personService.getPersonsByHouseholds(households_1)).thenReturn(persons_1);
+    when(coverageGraph.getIdHouseholds(STATION_1)).thenReturn(new int[] { household_1.getId() });
+    when(houseHoldService.getHouseholdById(household_1.getId())).thenReturn(household_1);
+    when(coverageGraph.getIdPersons(household_1.getId())).thenReturn(new int[] { person_1.getId() });
+    when(personService.getPersonById(person_1.getId())).thenReturn(person_1);
     when(medicalRecordService.getMedicalRecordsByPersons(persons_1)).thenReturn(medicalRecords_1);
 
     urlsService.personsByHouseholdsFromStation(STATION_1);
@@ -315,9 +370,10 @@ public class URLSServiceTest {
     households_1.add(household_1);
     List<Person> persons_1 = new ArrayList<>();
     persons_1.add(person_1);
-    when(firestationService.getFirestationByStation(STATION_1)).thenReturn(firestation_1);
-    when(houseHoldService.getHouseholdsByFirestation(firestation_1)).thenReturn(households_1);
-    when(personService.getPersonsByHouseholds(households_1)).thenReturn(persons_1);
+    when(coverageGraph.getIdHouseholds(STATION_1)).thenReturn(new int[] { household_1.getId() });
+    when(houseHoldService.getHouseholdById(household_1.getId())).thenReturn(household_1);
+    when(coverageGraph.getIdPersons(household_1.getId())).thenReturn(new int[] { person_1.getId() });
+    when(personService.getPersonById(person_1.getId())).thenReturn(person_1);
     urlsService.personsPhoneNumbersCoveredByStation(STATION_1);
     verify(serialization, times(1)).phoneAlertSerialization(persons_1, "personsPhoneNumbersCoveredByStation",
         STATION_1);
@@ -340,4 +396,112 @@ public class URLSServiceTest {
 
     verify(serialization, times(1)).fireSerialization(firesAlert, "4,1", "stationAndPersonsByAddress", ADDRESS_1);
   }
-}
\ No newline at end of file
+
+  @Test
+  void testPersonsByHouseholdsFromSeveralStations() {
+    when(coverageGraph.getIdHouseholds(STATION_1)).thenReturn(new int[] { household_1.getId() });
+    when(coverageGraph.getIdHouseholds(STATION_2)).thenReturn(new int[] { household_3.getId(), household_1.getId() });
+    when(houseHoldService.getHouseholdById(household_1.getId())).thenReturn(household_1);
+    when(houseHoldService.getHouseholdById(household_3.getId())).thenReturn(household_3);
+    when(coverageGraph.getIdPersons(household_1.getId())).thenReturn(new int[] { person_1.getId() });
+    when(coverageGraph.getIdPersons(household_3.getId())).thenReturn(new int[] { person_3.getId() });
+    when(personService.getPersonById(person_1.getId())).thenReturn(person_1);
+    when(personService.getPersonById(person_3.getId())).thenReturn(person_3);
+    when(medicalRecordService.getMedicalRecordsByPersons(List.of(person_1))).thenReturn(List.of(medicalRecord_1));
+    when(medicalRecordService.getMedicalRecordsByPersons(List.of(person_3, person_1)))
+        .thenReturn(List.of(medicalRecord_2, medicalRecord_1));
+
+    urlsService.personsByHouseholdsFromStation(STATION_1 + ", " + STATION_2 + "," + STATION_1);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<FloodAlertByHousehold>> floods = ArgumentCaptor.forClass(List.class);
+    verify(serialization, times(1)).floodSerialization(floods.capture(), eq("personsByHouseholdsFromStation"),
+        anyString());
+    assertEquals(2, floods.getValue().size());
+    assertEquals(household_1, floods.getValue().get(0).getHousehold());
+    assertEquals(household_3, floods.getValue().get(1).getHousehold());
+  }
+
+  @Test
+  void testBatch() {
+    AlertResponse emails = new AlertResponse();
+    when(personService.getPersonsByCity(CITY_1)).thenReturn(persons);
+    when(serialization.communityEmailSerialization(persons, "allResidentsEmailsFromCity", CITY_1))
+        .thenReturn(ResponseEntity.ok(emails));
+    when(serialization.emptyAnswer(anyString(), anyString())).thenReturn(ResponseEntity.ok(null));
+    BatchQueryDeserialization emailQuery = new BatchQueryDeserialization("communityEmail", Map.of("city", CITY_1));
+    BatchQueryDeserialization personInfoQuery = new BatchQueryDeserialization("personInfo",
+        Map.of("firstName", "Nobody", "lastName", "Here"));
+
+    urlsService.batch(List.of(emailQuery, personInfoQuery, emailQuery));
+
+    verify(serialization, times(1)).communityEmailSerialization(any(), anyString(), anyString());
+    List<AlertResponse> expected = new ArrayList<>();
+    expected.add(emails);
+    expected.add(null);
+    expected.add(emails);
+    verify(serialization, times(1)).batchSerialization(expected, "batch");
+  }
+
+  @Test
+  void testBatchResolvesEachPersonOnce() {
+    when(coverageGraph.getIdHouseholds(STATION_1)).thenReturn(new int[] { household_1.getId() });
+    when(coverageGraph.getIdHouseholds(STATION_2)).thenReturn(new int[] { household_3.getId(), household_1.getId() });
+    when(houseHoldService.getHouseholdById(household_1.getId())).thenReturn(household_1);
+    when(houseHoldService.getHouseholdById(household_3.getId())).thenReturn(household_3);
+    when(coverageGraph.getIdPersons(household_1.getId())).thenReturn(new int[] { person_1.getId() });
+    when(coverageGraph.getIdPersons(household_3.getId())).thenReturn(new int[] { person_3.getId() });
+    when(personService.getPersonById(person_1.getId())).thenReturn(person_1);
+    when(personService.getPersonById(person_3.getId())).thenReturn(person_3);
+    when(medicalRecordService.getMedicalRecordByPerson(person_1)).thenReturn(medicalRecord_1);
+    when(medicalRecordService.getMedicalRecordByPerson(person_3)).thenReturn(medicalRecord_2);
+    when(medicalRecordService.partitionByAge(List.of(medicalRecord_1)))
+        .thenReturn(new AgePartition(List.of(medicalRecord_1), new ArrayList<>()));
+    when(serialization.firestationAlertSerialization(any(), anyString(), anyString(), eq(0), eq(1)))
+        .thenReturn(ResponseEntity.ok(new AlertResponse()));
+    when(serialization.floodSerialization(any(), anyString(), anyString()))
+        .thenReturn(ResponseEntity.ok(new AlertResponse()));
+    when(serialization.phoneAlertSerialization(List.of(person_3, person_1), "personsPhoneNumbersCoveredByStation",
+        STATION_2)).thenReturn(ResponseEntity.ok(new AlertResponse()));
+
+    urlsService.batch(List.of(
+        new BatchQueryDeserialization("firestation", Map.of("stationNumber", STATION_1)),
+        new BatchQueryDeserialization("flood/stations", Map.of("stations", STATION_1 + "," + STATION_2)),
+        new BatchQueryDeserialization("phoneAlert", Map.of("firestation", STATION_2))));
+
+    verify(houseHoldService, times(1)).getHouseholdById(household_1.getId());
+    verify(personService, times(1)).getPersonById(person_1.getId());
+    verify(medicalRecordService, times(1)).getMedicalRecordByPerson(person_1);
+    verify(medicalRecordService, times(1)).getMedicalRecordByPerson(person_3);
+    assertEquals(1, meterRegistry.get("alerts.requests").tag("endpoint", "batch").timer().count());
+    assertEquals(0, meterRegistry.get("alerts.requests").tag("endpoint", "personCoveredByFireStation").timer()
+        .count());
+    assertEquals(0, meterRegistry.get("alerts.results").tag("endpoint", "personsByHouseholdsFromStation").summary()
+        .count());
+  }
+
+  @Test
+  void testIsAnswerable() {
+    assertTrue(urlsService.isAnswerable(new BatchQueryDeserialization("fire", Map.of("address", ADDRESS_1))));
+    assertFalse(urlsService.isAnswerable(new BatchQueryDeserialization("fire", Map.of("city", CITY_1))));
+    assertFalse(urlsService.isAnswerable(new BatchQueryDeserialization("person", Map.of())));
+    assertFalse(urlsService.isAnswerable(null));
+  }
+
+  @Test
+  void testMetrics() {
+    when(personService.getPersonsByCity(CITY_1)).thenReturn(persons);
+    when(serialization.communityEmailSerialization(persons, "allResidentsEmailsFromCity", CITY_1))
+        .thenReturn(ResponseEntity.ok(new AlertResponse()));
+    when(serialization.emptyAnswer(anyString(), anyString())).thenReturn(ResponseEntity.ok(null));
+
+    urlsService.allResidentsEmailsFromCity(CITY_1);
+    urlsService.allResidentsEmailsFromCity("Paris");
+
+    String endpoint = "allResidentsEmailsFromCity";
+    assertEquals(2, meterRegistry.get("alerts.requests").tag("endpoint", endpoint).timer().count());
+    assertEquals(1, meterRegistry.get("alerts.answers.empty").tag("endpoint", endpoint).counter().count());
+    assertEquals(2, meterRegistry.get("alerts.results").tag("endpoint", endpoint).summary().totalAmount());
+    assertEquals(0, meterRegistry.get("alerts.answers.empty").tag("endpoint", "stationAndPersonsByAddress").counter().count());
+  }
+}